@@ -0,0 +1,133 @@
+package customset;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how lookups scale with reader threads for CopyOnWriteCustomSet against a CustomSet behind
+ * Collections.synchronizedSet, and how readers fare while a single writer publishes batches.
+ */
+@SuppressWarnings("unused")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(2)
+public class CopyOnWriteCustomSetBenchmark {
+
+    @Param({"5000", "50000"})
+    public int size;
+
+    private CopyOnWriteCustomSet<Integer> copyOnWriteSet;
+    private Set<Integer> synchronizedSet;
+    private List<Integer> batch;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        Collection<Integer> inputCollection = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            inputCollection.add(i);
+        }
+        copyOnWriteSet = new CopyOnWriteCustomSet<>(inputCollection);
+        synchronizedSet = Collections.synchronizedSet(new CustomSet<>(inputCollection));
+
+        batch = new ArrayList<>(64);
+        for (int i = 0; i < 64; i++) {
+            batch.add(size + i);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean copyOnWriteContainsOneThread() {
+        return copyOnWriteSet.contains(nextKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean copyOnWriteContainsFourThreads() {
+        return copyOnWriteSet.contains(nextKey());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean copyOnWriteContainsEightThreads() {
+        return copyOnWriteSet.contains(nextKey());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean synchronizedContainsOneThread() {
+        return synchronizedSet.contains(nextKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean synchronizedContainsFourThreads() {
+        return synchronizedSet.contains(nextKey());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean synchronizedContainsEightThreads() {
+        return synchronizedSet.contains(nextKey());
+    }
+
+    @Benchmark
+    @Group("copyOnWriteReadWrite")
+    @GroupThreads(7)
+    public boolean copyOnWriteReader() {
+        return copyOnWriteSet.contains(nextKey());
+    }
+
+    @Benchmark
+    @Group("copyOnWriteReadWrite")
+    @GroupThreads(1)
+    public boolean copyOnWriteBatchWriter() {
+        copyOnWriteSet.addAll(batch);
+        return copyOnWriteSet.removeAll(batch);
+    }
+
+    @Benchmark
+    @Group("synchronizedReadWrite")
+    @GroupThreads(7)
+    public boolean synchronizedReader() {
+        return synchronizedSet.contains(nextKey());
+    }
+
+    @Benchmark
+    @Group("synchronizedReadWrite")
+    @GroupThreads(1)
+    public boolean synchronizedBatchWriter() {
+        synchronizedSet.addAll(batch);
+        return synchronizedSet.removeAll(batch);
+    }
+
+    private int nextKey() {
+        return ThreadLocalRandom.current().nextInt(size * 2);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(CopyOnWriteCustomSetBenchmark.class.getSimpleName())
+                .forks(1)
+                .result("copy-on-write-custom-set-results.csv")
+                .resultFormat(ResultFormatType.CSV)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,73 @@
+package customset;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state add/remove churn on a set whose size stays constant. Run with the gc profiler
+ * (enabled in build.gradle) to check gc.alloc.rate.norm, which should stay at zero bytes per operation.
+ */
+@SuppressWarnings("unused")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(2)
+public class CustomSetChurnBenchmark {
+
+    @Param({"5000", "50000"})
+    public int size;
+
+    private CustomSet<Integer> set;
+    private Integer[] values;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        values = new Integer[size * 2];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        set = new CustomSet<>();
+        for (int i = 0; i < size; i++) {
+            set.add(values[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean benchmarkRemoveThenAdd() {
+        int i = cursor;
+        cursor = i + 1 == size ? 0 : i + 1;
+        set.remove(values[i]);
+        return set.add(values[i]);
+    }
+
+    @Benchmark
+    public boolean benchmarkReplace() {
+        int i = cursor;
+        cursor = i + 1 == size ? 0 : i + 1;
+        set.remove(values[i]);
+        set.add(values[size + i]);
+        set.remove(values[size + i]);
+        return set.add(values[i]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(CustomSetChurnBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .forks(1)
+                .result("custom-set-churn-results.csv")
+                .resultFormat(ResultFormatType.CSV)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
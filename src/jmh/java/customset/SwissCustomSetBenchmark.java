@@ -0,0 +1,80 @@
+package customset;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Miss-heavy and hit-heavy contains() on CustomSet, SwissCustomSet and HashSet holding random integers. Run with
+ * -PvectorApi to measure SwissCustomSet with the jdk.incubator.vector control byte scanner instead of the portable one.
+ */
+@SuppressWarnings("unused")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(2)
+public class SwissCustomSetBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"CustomSet", "SwissCustomSet", "HashSet"})
+    public String implementation;
+
+    private Set<Integer> set;
+    private Integer[] hits;
+    private Integer[] misses;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        set = switch(implementation) {
+            case "CustomSet" -> new CustomSet<>();
+            case "SwissCustomSet" -> new SwissCustomSet<>();
+            default -> new HashSet<>();
+        };
+        Random random = new Random(42);
+        hits = new Integer[size];
+        misses = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            hits[i] = random.nextInt() << 1;
+            misses[i] = random.nextInt() | 1;
+            set.add(hits[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean benchmarkContainsHit() {
+        int i = cursor;
+        cursor = i + 1 == size ? 0 : i + 1;
+        return set.contains(hits[i]);
+    }
+
+    @Benchmark
+    public boolean benchmarkContainsMiss() {
+        int i = cursor;
+        cursor = i + 1 == size ? 0 : i + 1;
+        return set.contains(misses[i]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(SwissCustomSetBenchmark.class.getSimpleName())
+                .forks(1)
+                .result("swiss-custom-set-results.csv")
+                .resultFormat(ResultFormatType.CSV)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
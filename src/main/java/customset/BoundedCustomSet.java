@@ -0,0 +1,713 @@
+package customset;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A size-bounded implementation of the {@link Set} interface for "seen recently" de-duplication.
+ * Once the set holds {@code maximumSize} elements, each further insertion evicts one element chosen by the
+ * configured {@link EvictionPolicy}. {@code add} and {@code contains} are O(1) and record an access, and every
+ * eviction is reported to an optional listener. Hit, miss and eviction counts are available from {@link #stats()}.
+ * The table is sized once for {@code maximumSize}, so the set never rehashes.
+ * An element may be evicted by the very insertion that added it when the policy rejects it, as W-TinyLFU does for
+ * one-off elements, so {@code add} returning {@code true} does not guarantee the element is retained.
+ * Null elements are not permitted.
+ *
+ * @param <E> the type of elements maintained by this set
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class BoundedCustomSet<E> implements Set<E> {
+
+    /**
+     * Strategy used to pick the element to evict once the set is full.
+     */
+    public enum EvictionPolicy {
+        /** Evicts the least recently added or accessed element. */
+        LRU,
+        /** Second-chance approximation of LRU: an access only sets a reference bit, so hits never relink nodes. */
+        CLOCK,
+        /** Admission window in front of a segmented LRU, admitting window victims only if they are used more often. */
+        WINDOW_TINY_LFU
+    }
+
+    /**
+     * Snapshot of the hit, miss and eviction counters of a {@link BoundedCustomSet}.
+     *
+     * @param hits number of {@code add} or {@code contains} calls that found the element
+     * @param misses number of {@code add} or {@code contains} calls that did not find the element
+     * @param evictions number of elements evicted to respect the maximum size
+     */
+    public record Stats(long hits, long misses, long evictions) {
+
+        /**
+         * Returns the ratio of hits to all recorded lookups, or {@code 1.0} if nothing has been looked up.
+         *
+         * @return the hit rate
+         */
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 1.0 : (double) hits / requests;
+        }
+    }
+
+    private final int maximumSize;
+    private final Policy<E> policy;
+    private final Consumer<? super E> evictionListener;
+    private final Node<E>[] set;
+    private int size = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * Constructs an empty set holding at most {@code maximumSize} elements, evicting in LRU order.
+     *
+     * @param maximumSize the maximum number of elements
+     * @throws IllegalArgumentException if the maximum size is not positive
+     */
+    public BoundedCustomSet(final int maximumSize) {
+        this(maximumSize, EvictionPolicy.LRU, null);
+    }
+
+    /**
+     * Constructs an empty set holding at most {@code maximumSize} elements using the given eviction policy.
+     *
+     * @param maximumSize the maximum number of elements
+     * @param evictionPolicy the eviction policy
+     * @throws IllegalArgumentException if the maximum size is not positive
+     * @throws NullPointerException if the eviction policy is null
+     */
+    public BoundedCustomSet(final int maximumSize, final EvictionPolicy evictionPolicy) {
+        this(maximumSize, evictionPolicy, null);
+    }
+
+    /**
+     * Constructs an empty set holding at most {@code maximumSize} elements using the given eviction policy,
+     * notifying {@code evictionListener} of every element evicted to respect the bound.
+     *
+     * @param maximumSize the maximum number of elements
+     * @param evictionPolicy the eviction policy
+     * @param evictionListener called with each evicted element, or {@code null}
+     * @throws IllegalArgumentException if the maximum size is not positive
+     * @throws NullPointerException if the eviction policy is null
+     */
+    public BoundedCustomSet(final int maximumSize, final EvictionPolicy evictionPolicy, final Consumer<? super E> evictionListener) {
+        if(maximumSize <= 0)
+            throw new IllegalArgumentException();
+        this.maximumSize = maximumSize;
+        this.evictionListener = evictionListener;
+        this.policy = switch(requireNonNull(evictionPolicy)) {
+            case LRU -> new LruPolicy<>();
+            case CLOCK -> new ClockPolicy<>();
+            case WINDOW_TINY_LFU -> new TinyLfuPolicy<>(maximumSize);
+        };
+        int tableSize = CustomSet.primes[CustomSet.primes.length - 1];
+        for(int prime : CustomSet.primes)
+            if(prime >= maximumSize / 0.75) {
+                tableSize = prime;
+                break;
+            }
+        set = new Node[tableSize];
+    }
+
+    /**
+     * Adds the specified element to this set if it is not already present, evicting another element if the set is full.
+     * If the element is already present this records an access and returns {@code false}.
+     *
+     * @param item element to be added to this set
+     * @return {@code true} if this set did not already contain the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean add(final E item) {
+        requireNonNull(item);
+        int hash = item.hashCode();
+        int index = indexFor(hash);
+        Node<E> node = find(item, hash, index);
+        if(node != null) {
+            hits++;
+            policy.onAccess(node);
+            return false;
+        }
+        misses++;
+        node = new Node<>(item, hash, set[index]);
+        set[index] = node;
+        size++;
+        policy.onInsert(node);
+        while(size > maximumSize)
+            evict(policy.victim());
+        return true;
+    }
+
+    /**
+     * Adds all the elements in the specified collection to this set, evicting as required.
+     *
+     * @param c collection containing elements to be added to this set
+     * @return {@code true} if at least one element was not already present
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean addAll(final Collection<? extends E> c) {
+        requireNonNull(c);
+        boolean changed = false;
+        for(E item : c)
+            if(add(item))
+                changed = true;
+        return changed;
+    }
+
+    /**
+     * Removes all the elements from this set without notifying the eviction listener. Statistics are retained.
+     */
+    public void clear() {
+        Arrays.fill(set, null);
+        size = 0;
+        policy.clear();
+    }
+
+    /**
+     * Returns {@code true} if this set contains the specified element, recording an access if it does.
+     *
+     * @param item element whose presence in this set is to be tested
+     * @return {@code true} if this set contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean contains(final Object item) {
+        requireNonNull(item);
+        int hash = item.hashCode();
+        Node<E> node = find(item, hash, indexFor(hash));
+        if(node == null) {
+            misses++;
+            return false;
+        }
+        hits++;
+        policy.onAccess(node);
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if this set contains all the elements of the specified collection.
+     *
+     * @param c collection to be checked for containment in this set
+     * @return {@code true} if this set contains all the elements of the specified collection
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean containsAll(final Collection<?> c) {
+        requireNonNull(c);
+        for(Object item : c)
+            if(!contains(item))
+                return false;
+        return true;
+    }
+
+    /**
+     * Compares this set with another set for equality. Lookups made by this comparison are not recorded as accesses.
+     *
+     * @param o the object to compare with
+     * @return true if the sets are equal
+     */
+    public boolean equals(final Object o) {
+        if(o == this)
+            return true;
+        if(!(o instanceof Set<?> other) || other.size() != size())
+            return false;
+        for(Object item : other) {
+            if(item == null)
+                return false;
+            int hash = item.hashCode();
+            if(find(item, hash, indexFor(hash)) == null)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code value for this set, defined to be the sum of the hash codes of its elements.
+     *
+     * @return the hash code value for this set
+     */
+    public int hashCode() {
+        int hash = 0;
+        for(Node<E> bucket : set)
+            for(Node<E> node = bucket; node != null; node = node.next)
+                hash += node.hash;
+        return hash;
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in no particular order. Iteration does not record accesses.
+     *
+     * @return an iterator over the elements in this set
+     */
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int bucketIndex = 0;
+            private Node<E> next = advance(null);
+
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            public E next() {
+                if(next == null)
+                    throw new NoSuchElementException();
+                E item = next.item;
+                next = advance(next);
+                return item;
+            }
+
+            private Node<E> advance(final Node<E> current) {
+                if(current != null && current.next != null)
+                    return current.next;
+                while(bucketIndex < set.length)
+                    if(set[bucketIndex++] != null)
+                        return set[bucketIndex - 1];
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Returns the maximum number of elements this set will hold.
+     *
+     * @return the maximum number of elements
+     */
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Removes the specified element from this set if it is present, without notifying the eviction listener.
+     *
+     * @param item object to be removed from this set, if present
+     * @return {@code true} if this set contained the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean remove(final Object item) {
+        requireNonNull(item);
+        int hash = item.hashCode();
+        Node<E> node = find(item, hash, indexFor(hash));
+        if(node == null)
+            return false;
+        unlink(node);
+        policy.onRemove(node);
+        return true;
+    }
+
+    /**
+     * Removes from this set all of its elements that are contained in the specified collection.
+     *
+     * @param c collection containing elements to be removed from this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean removeAll(final Collection<?> c) {
+        requireNonNull(c);
+        boolean changed = false;
+        for(Object item : c)
+            if(remove(item))
+                changed = true;
+        return changed;
+    }
+
+    /**
+     * Retains only the elements in this set that are contained in the specified collection.
+     *
+     * @param c collection containing elements to be retained in this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean retainAll(final Collection<?> c) {
+        requireNonNull(c);
+        boolean modified = false;
+        for(Node<E> bucket : set)
+            for(Node<E> node = bucket; node != null; node = node.next)
+                if(!c.contains(node.item)) {
+                    unlink(node);
+                    policy.onRemove(node);
+                    modified = true;
+                }
+        return modified;
+    }
+
+    /**
+     * Returns the number of elements in this set (its cardinality).
+     *
+     * @return the number of elements in this set (its cardinality)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss and eviction counters.
+     *
+     * @return the current statistics
+     */
+    public Stats stats() {
+        return new Stats(hits, misses, evictions);
+    }
+
+    /**
+     * Returns an array containing all the elements in this set.
+     *
+     * @return an array containing all the elements in this set
+     */
+    public Object[] toArray() {
+        return toArray(new Object[size]);
+    }
+
+    /**
+     * Returns an array containing all the elements in this set; the
+     * runtime type of the returned array is that of the specified array.
+     *
+     * @param a the array into which the elements of this set are to be stored, if it is big enough;
+     *          otherwise, a new array of the same runtime type is allocated
+     * @return an array containing all the elements in this set
+     * @throws NullPointerException if the specified array is null
+     */
+    public <T> T[] toArray(T[] a) {
+        requireNonNull(a);
+        T[] arrayToFill = a.length < size ? (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size) : a;
+        int index = 0;
+        for(Node<E> bucket : set)
+            for(Node<E> node = bucket; node != null; node = node.next)
+                arrayToFill[index++] = (T) node.item;
+        if(a.length > size)
+            arrayToFill[size] = null;
+        return arrayToFill;
+    }
+
+    /**
+     * Returns String representation of BoundedCustomSet
+     *
+     * @return String representation of BoundedCustomSet
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for(Node<E> bucket : set)
+            for(Node<E> node = bucket; node != null; node = node.next) {
+                if(sb.length() > 1)
+                    sb.append(", ");
+                sb.append(node.item);
+            }
+        return sb.append('}').toString();
+    }
+
+    private void evict(final Node<E> victim) {
+        unlink(victim);
+        policy.onRemove(victim);
+        evictions++;
+        if(evictionListener != null)
+            evictionListener.accept(victim.item);
+    }
+
+    private Node<E> find(final Object item, final int hash, final int index) {
+        for(Node<E> node = set[index]; node != null; node = node.next)
+            if(node.hash == hash && node.item.equals(item))
+                return node;
+        return null;
+    }
+
+    private int indexFor(final int hash) {
+        return (hash & 0x7FFFFFFF) % set.length;
+    }
+
+    private void unlink(final Node<E> node) {
+        int index = indexFor(node.hash);
+        if(set[index] == node)
+            set[index] = node.next;
+        else {
+            Node<E> previous = set[index];
+            while(previous.next != node)
+                previous = previous.next;
+            previous.next = node.next;
+        }
+        size--;
+    }
+
+    private static final class Node<E> {
+        final E item;
+        final int hash;
+        Node<E> next;
+        Node<E> before;
+        Node<E> after;
+        AccessQueue<E> queue;
+        boolean referenced;
+
+        Node(final E item, final int hash, final Node<E> next) {
+            this.item = item;
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Doubly-linked queue of nodes ordered from least to most recently used.
+     */
+    private static final class AccessQueue<E> {
+        Node<E> head;
+        Node<E> tail;
+        int size;
+
+        void addLast(final Node<E> node) {
+            node.queue = this;
+            node.before = tail;
+            node.after = null;
+            if(tail == null)
+                head = node;
+            else
+                tail.after = node;
+            tail = node;
+            size++;
+        }
+
+        void addBefore(final Node<E> node, final Node<E> successor) {
+            if(successor == null) {
+                addLast(node);
+                return;
+            }
+            node.queue = this;
+            node.after = successor;
+            node.before = successor.before;
+            if(successor.before == null)
+                head = node;
+            else
+                successor.before.after = node;
+            successor.before = node;
+            size++;
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+
+        void moveToLast(final Node<E> node) {
+            if(node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void remove(final Node<E> node) {
+            if(node.before == null)
+                head = node.after;
+            else
+                node.before.after = node.after;
+            if(node.after == null)
+                tail = node.before;
+            else
+                node.after.before = node.before;
+            node.before = null;
+            node.after = null;
+            size--;
+        }
+    }
+
+    private interface Policy<E> {
+        void clear();
+
+        void onAccess(Node<E> node);
+
+        void onInsert(Node<E> node);
+
+        void onRemove(Node<E> node);
+
+        Node<E> victim();
+    }
+
+    private static final class LruPolicy<E> implements Policy<E> {
+        private final AccessQueue<E> queue = new AccessQueue<>();
+
+        public void clear() {
+            queue.clear();
+        }
+
+        public void onAccess(final Node<E> node) {
+            queue.moveToLast(node);
+        }
+
+        public void onInsert(final Node<E> node) {
+            queue.addLast(node);
+        }
+
+        public void onRemove(final Node<E> node) {
+            queue.remove(node);
+        }
+
+        public Node<E> victim() {
+            return queue.head;
+        }
+    }
+
+    /**
+     * Treats the queue as a ring swept by a hand; referenced nodes get a second chance instead of being relinked.
+     * New nodes are linked just behind the hand so they are the last to be considered.
+     */
+    private static final class ClockPolicy<E> implements Policy<E> {
+        private final AccessQueue<E> ring = new AccessQueue<>();
+        private Node<E> hand;
+
+        public void clear() {
+            ring.clear();
+            hand = null;
+        }
+
+        public void onAccess(final Node<E> node) {
+            node.referenced = true;
+        }
+
+        public void onInsert(final Node<E> node) {
+            ring.addBefore(node, hand);
+        }
+
+        public void onRemove(final Node<E> node) {
+            if(hand == node)
+                hand = node.after;
+            ring.remove(node);
+        }
+
+        public Node<E> victim() {
+            Node<E> node = hand == null ? ring.head : hand;
+            while(node.referenced) {
+                node.referenced = false;
+                node = node.after == null ? ring.head : node.after;
+            }
+            hand = node;
+            return node;
+        }
+    }
+
+    /**
+     * W-TinyLFU: new elements enter a small LRU window; elements leaving the window compete with the
+     * probation segment's LRU victim and the one with the lower estimated frequency is evicted. Elements
+     * accessed while on probation are promoted to a protected segment.
+     */
+    private static final class TinyLfuPolicy<E> implements Policy<E> {
+        private final AccessQueue<E> window = new AccessQueue<>();
+        private final AccessQueue<E> probation = new AccessQueue<>();
+        private final AccessQueue<E> protectedQueue = new AccessQueue<>();
+        private final FrequencySketch sketch;
+        private final int windowMaximum;
+        private final int protectedMaximum;
+        private Node<E> candidate;
+
+        TinyLfuPolicy(final int maximumSize) {
+            windowMaximum = Math.max(1, maximumSize / 100);
+            protectedMaximum = (maximumSize - windowMaximum) * 4 / 5;
+            sketch = new FrequencySketch(maximumSize);
+        }
+
+        public void clear() {
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+            candidate = null;
+        }
+
+        public void onAccess(final Node<E> node) {
+            sketch.increment(node.hash);
+            if(node.queue == probation) {
+                probation.remove(node);
+                protectedQueue.addLast(node);
+                if(protectedQueue.size > protectedMaximum) {
+                    Node<E> demoted = protectedQueue.head;
+                    protectedQueue.remove(demoted);
+                    probation.addLast(demoted);
+                }
+            } else
+                node.queue.moveToLast(node);
+        }
+
+        public void onInsert(final Node<E> node) {
+            sketch.increment(node.hash);
+            window.addLast(node);
+            if(window.size > windowMaximum) {
+                candidate = window.head;
+                window.remove(candidate);
+                probation.addLast(candidate);
+            }
+        }
+
+        public void onRemove(final Node<E> node) {
+            node.queue.remove(node);
+            if(node == candidate)
+                candidate = null;
+        }
+
+        public Node<E> victim() {
+            Node<E> victim = probation.head != null ? probation.head : protectedQueue.head != null ? protectedQueue.head : window.head;
+            if(candidate == null || candidate == victim || candidate.queue != probation)
+                return victim;
+            Node<E> challenger = candidate;
+            candidate = null;
+            return sketch.frequency(challenger.hash) > sketch.frequency(victim.hash) ? victim : challenger;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters packed sixteen to a {@code long}. Every counter is halved once
+     * the number of increments reaches ten times the maximum size, so old popularity decays.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = { 0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L };
+        private final long[] table;
+        private final int sampleSize;
+        private int additions = 0;
+
+        FrequencySketch(final int maximumSize) {
+            int length = Integer.highestOneBit(Math.max(8, Math.min(maximumSize, 1 << 26)) - 1) << 1;
+            table = new long[length];
+            sampleSize = 10 * maximumSize;
+        }
+
+        int frequency(final int hash) {
+            int frequency = Integer.MAX_VALUE;
+            for(long seed : SEEDS) {
+                long h = mix(hash, seed);
+                int index = (int) (h >>> 40) & (table.length - 1);
+                int shift = ((int) h & 15) << 2;
+                frequency = Math.min(frequency, (int) (table[index] >>> shift) & 15);
+            }
+            return frequency;
+        }
+
+        void increment(final int hash) {
+            for(long seed : SEEDS) {
+                long h = mix(hash, seed);
+                int index = (int) (h >>> 40) & (table.length - 1);
+                int shift = ((int) h & 15) << 2;
+                if(((table[index] >>> shift) & 15) != 15)
+                    table[index] += 1L << shift;
+            }
+            if(++additions >= sampleSize) {
+                for(int i = 0; i < table.length; i++)
+                    table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+                additions /= 2;
+            }
+        }
+
+        private static long mix(final int hash, final long seed) {
+            long h = (hash + seed) * 0x9E3779B97F4A7C15L;
+            return h ^ (h >>> 29);
+        }
+    }
+}
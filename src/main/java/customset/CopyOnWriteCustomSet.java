@@ -0,0 +1,393 @@
+package customset;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A thread-safe, read-optimised implementation of the {@link Set} interface for workloads with many concurrent
+ * lookups and rare, batched updates. The contents live in an immutable open-addressed table published through a
+ * single volatile field: {@code contains}, iteration and the other read operations perform one volatile read and then
+ * probe a snapshot that can never change underneath them, without locking or CAS. Writers serialise on a lock, copy
+ * the current table together with their changes into a new table and publish it atomically, so every write costs
+ * O(n) and bulk changes should go through {@code addAll}, {@code removeAll} or {@code retainAll} to pay that once per batch.
+ * Iterators traverse the snapshot taken when they were created and do not support removal. Null elements are not permitted.
+ *
+ * @param <E> the type of elements maintained by this set
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class CopyOnWriteCustomSet<E> implements Set<E> {
+
+    private static final Table EMPTY = new Table(new Object[CustomSet.primes[0]], new int[CustomSet.primes[0]], 0, 0);
+
+    private final Object lock = new Object();
+    private volatile Table table = EMPTY;
+
+    /**
+     * Constructs an empty set.
+     */
+    public CopyOnWriteCustomSet() {
+    }
+
+    /**
+     * Constructs a set containing the elements of the specified collection.
+     *
+     * @param c the collection whose elements are to be placed into this set
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public CopyOnWriteCustomSet(final Collection<? extends E> c) {
+        addAll(requireNonNull(c));
+    }
+
+    /**
+     * Adds the specified element to this set if it is not already present, publishing a new table.
+     *
+     * @param item element to be added to this set
+     * @return {@code true} if this set did not already contain the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean add(final E item) {
+        requireNonNull(item);
+        synchronized(lock) {
+            Table current = table;
+            if(current.contains(item))
+                return false;
+            Table next = Table.allocate(current.size + 1);
+            current.copyInto(next);
+            next.insert(item);
+            table = next;
+            return true;
+        }
+    }
+
+    /**
+     * Adds all the elements in the specified collection that are not already present, publishing a single new table.
+     *
+     * @param c collection containing elements to be added to this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean addAll(final Collection<? extends E> c) {
+        requireNonNull(c);
+        synchronized(lock) {
+            Table current = table;
+            CustomSet<E> added = new CustomSet<>();
+            for(E item : c)
+                if(!current.contains(requireNonNull(item)))
+                    added.add(item);
+            if(added.isEmpty())
+                return false;
+            Table next = Table.allocate(current.size + added.size());
+            current.copyInto(next);
+            for(E item : added)
+                next.insert(item);
+            table = next;
+            return true;
+        }
+    }
+
+    /**
+     * Removes all the elements from this set by publishing an empty table.
+     */
+    public void clear() {
+        synchronized(lock) {
+            table = EMPTY;
+        }
+    }
+
+    /**
+     * Returns {@code true} if this set contains the specified element. This performs a single volatile read and
+     * a lock-free probe of the current snapshot.
+     *
+     * @param item element whose presence in this set is to be tested
+     * @return {@code true} if this set contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean contains(final Object item) {
+        return table.contains(requireNonNull(item));
+    }
+
+    /**
+     * Returns {@code true} if this set contains all the elements of the specified collection, checked against one snapshot.
+     *
+     * @param c collection to be checked for containment in this set
+     * @return {@code true} if this set contains all the elements of the specified collection
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean containsAll(final Collection<?> c) {
+        requireNonNull(c);
+        Table snapshot = table;
+        for(Object item : c)
+            if(!snapshot.contains(requireNonNull(item)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Compares this set with another set for equality, using a single snapshot of this set.
+     *
+     * @param o the object to compare with
+     * @return true if the sets are equal
+     */
+    public boolean equals(final Object o) {
+        if(o == this)
+            return true;
+        if(!(o instanceof Set<?> other))
+            return false;
+        Table snapshot = table;
+        if(other.size() != snapshot.size)
+            return false;
+        for(Object item : other)
+            if(item == null || !snapshot.contains(item))
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns the hash code value for this set, which is computed once per published table.
+     *
+     * @return the hash code value for this set
+     */
+    public int hashCode() {
+        return table.hashCode;
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return table.size == 0;
+    }
+
+    /**
+     * Returns an iterator over the snapshot of this set at the time of the call. The iterator
+     * never throws {@link java.util.ConcurrentModificationException} and does not support removal.
+     *
+     * @return an iterator over the elements in this set
+     */
+    public Iterator<E> iterator() {
+        Table snapshot = table;
+        return new Iterator<>() {
+            private int index = nextIndex(0);
+
+            public boolean hasNext() {
+                return index < snapshot.slots.length;
+            }
+
+            public E next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+                E item = (E) snapshot.slots[index];
+                index = nextIndex(index + 1);
+                return item;
+            }
+
+            private int nextIndex(int from) {
+                while(from < snapshot.slots.length && snapshot.slots[from] == null)
+                    from++;
+                return from;
+            }
+        };
+    }
+
+    /**
+     * Removes the specified element from this set if it is present, publishing a new table.
+     *
+     * @param item object to be removed from this set, if present
+     * @return {@code true} if this set contained the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean remove(final Object item) {
+        requireNonNull(item);
+        synchronized(lock) {
+            Table current = table;
+            if(!current.contains(item))
+                return false;
+            table = current.filter(other -> other.equals(item), current.size - 1);
+            return true;
+        }
+    }
+
+    /**
+     * Removes all of this set's elements that are contained in the specified collection, publishing a single new table.
+     *
+     * @param c collection containing elements to be removed from this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean removeAll(final Collection<?> c) {
+        requireNonNull(c);
+        Collection<?> lookup = c instanceof Set<?> ? c : new CustomSet<>(c);
+        synchronized(lock) {
+            Table current = table;
+            int removed = 0;
+            for(Object item : lookup)
+                if(item != null && current.contains(item))
+                    removed++;
+            if(removed == 0)
+                return false;
+            table = current.filter(lookup::contains, current.size - removed);
+            return true;
+        }
+    }
+
+    /**
+     * Retains only the elements in this set that are contained in the specified collection, publishing a single new table.
+     *
+     * @param c collection containing elements to be retained in this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean retainAll(final Collection<?> c) {
+        requireNonNull(c);
+        Collection<?> lookup = c instanceof Set<?> ? c : new CustomSet<>(c);
+        synchronized(lock) {
+            Table current = table;
+            int retained = 0;
+            for(Object item : current.slots)
+                if(item != null && lookup.contains(item))
+                    retained++;
+            if(retained == current.size)
+                return false;
+            table = current.filter(item -> !lookup.contains(item), retained);
+            return true;
+        }
+    }
+
+    /**
+     * Returns the number of elements in this set (its cardinality).
+     *
+     * @return the number of elements in this set (its cardinality)
+     */
+    public int size() {
+        return table.size;
+    }
+
+    /**
+     * Returns an array containing all the elements of the current snapshot.
+     *
+     * @return an array containing all the elements in this set
+     */
+    public Object[] toArray() {
+        return toArray(new Object[0]);
+    }
+
+    /**
+     * Returns an array containing all the elements of the current snapshot; the
+     * runtime type of the returned array is that of the specified array.
+     *
+     * @param a the array into which the elements of this set are to be stored, if it is big enough;
+     *          otherwise, a new array of the same runtime type is allocated
+     * @return an array containing all the elements in this set
+     * @throws NullPointerException if the specified array is null
+     */
+    public <T> T[] toArray(T[] a) {
+        requireNonNull(a);
+        Table snapshot = table;
+        T[] arrayToFill = a.length < snapshot.size ? (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), snapshot.size) : a;
+        int index = 0;
+        for(Object item : snapshot.slots)
+            if(item != null)
+                arrayToFill[index++] = (T) item;
+        if(a.length > snapshot.size)
+            arrayToFill[snapshot.size] = null;
+        return arrayToFill;
+    }
+
+    /**
+     * Returns String representation of the current snapshot of CopyOnWriteCustomSet
+     *
+     * @return String representation of CopyOnWriteCustomSet
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for(Object item : table.slots)
+            if(item != null) {
+                if(sb.length() > 1)
+                    sb.append(", ");
+                sb.append(item);
+            }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Immutable once published: a linear-probing table kept at most half full, so a miss stops at a nearby empty slot.
+     * {@code size} and {@code hashCode} are fixed when the table is built.
+     */
+    private static final class Table {
+        final Object[] slots;
+        final int[] hashes;
+        int size;
+        int hashCode;
+
+        Table(final Object[] slots, final int[] hashes, final int size, final int hashCode) {
+            this.slots = slots;
+            this.hashes = hashes;
+            this.size = size;
+            this.hashCode = hashCode;
+        }
+
+        static Table allocate(final int expectedSize) {
+            int capacity = CustomSet.primes[CustomSet.primes.length - 1];
+            for(int prime : CustomSet.primes)
+                if(prime >= 2L * expectedSize) {
+                    capacity = prime;
+                    break;
+                }
+            if(capacity < 2L * expectedSize)
+                capacity = (int) Math.min(Integer.MAX_VALUE - 8, 2L * expectedSize + 1);
+            return new Table(new Object[capacity], new int[capacity], 0, 0);
+        }
+
+        boolean contains(final Object item) {
+            int hash = item.hashCode();
+            Object[] slots = this.slots;
+            int index = (hash & 0x7FFFFFFF) % slots.length;
+            for(Object slot = slots[index]; slot != null; slot = slots[index]) {
+                if(hashes[index] == hash && slot.equals(item))
+                    return true;
+                if(++index == slots.length)
+                    index = 0;
+            }
+            return false;
+        }
+
+        void copyInto(final Table target) {
+            for(int i = 0; i < slots.length; i++)
+                if(slots[i] != null)
+                    target.insert(slots[i], hashes[i]);
+        }
+
+        Table filter(final Predicate<Object> removed, final int expectedSize) {
+            Table next = allocate(expectedSize);
+            for(int i = 0; i < slots.length; i++)
+                if(slots[i] != null && !removed.test(slots[i]))
+                    next.insert(slots[i], hashes[i]);
+            return next;
+        }
+
+        void insert(final Object item) {
+            insert(item, item.hashCode());
+        }
+
+        void insert(final Object item, final int hash) {
+            int index = (hash & 0x7FFFFFFF) % slots.length;
+            while(slots[index] != null)
+                if(++index == slots.length)
+                    index = 0;
+            slots[index] = item;
+            hashes[index] = hash;
+            size++;
+            hashCode += hash;
+        }
+    }
+}
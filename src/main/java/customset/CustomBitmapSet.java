@@ -0,0 +1,1110 @@
+package customset;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A compressed implementation of {@link Set}{@code <Integer>} in the style of a Roaring bitmap.
+ * Each value is split into a 16-bit key and a 16-bit low part; every key owns a container holding the low parts.
+ * Sparse containers are sorted {@code char} arrays, dense containers are 65536-bit bitmaps and, after
+ * {@link #runOptimize()}, containers made of long consecutive stretches are stored as runs. A dense range of
+ * integers therefore costs roughly one bit per element rather than the boxed entry and node of a {@link CustomSet}.
+ * Values are ordered by their signed value, so iteration is ascending over {@code Integer.MIN_VALUE..Integer.MAX_VALUE}.
+ * Null elements are not permitted.
+ *
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class CustomBitmapSet implements Set<Integer> {
+
+    private static final int SERIAL_COOKIE = 0x43425331;
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final byte ARRAY = 0;
+    private static final byte BITMAP = 1;
+    private static final byte RUN = 2;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int containerCount = 0;
+    private long cardinality = 0;
+    private int modCount = 0;
+
+    /**
+     * Constructs an empty set.
+     */
+    public CustomBitmapSet() {
+    }
+
+    /**
+     * Constructs a set containing the elements of the specified collection.
+     *
+     * @param c the collection whose elements are to be placed into this set
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public CustomBitmapSet(final Collection<? extends Integer> c) {
+        addAll(requireNonNull(c));
+    }
+
+    /**
+     * Returns a set containing the given values.
+     *
+     * @param values the values to be placed into the set
+     * @return a set containing the given values
+     */
+    public static CustomBitmapSet of(final int... values) {
+        CustomBitmapSet bitmapSet = new CustomBitmapSet();
+        for(int value : values)
+            bitmapSet.add(value);
+        return bitmapSet;
+    }
+
+    /**
+     * Returns a new set holding the intersection of the two given sets. Containers are only
+     * intersected where both sets share a key, so the cost is bounded by the smaller set.
+     *
+     * @param a the first set
+     * @param b the second set
+     * @return a new set containing the values present in both sets
+     */
+    public static CustomBitmapSet and(final CustomBitmapSet a, final CustomBitmapSet b) {
+        CustomBitmapSet result = new CustomBitmapSet();
+        int i = 0;
+        int j = 0;
+        while(i < a.containerCount && j < b.containerCount) {
+            int cmp = Character.compare(a.keys[i], b.keys[j]);
+            if(cmp < 0)
+                i++;
+            else if(cmp > 0)
+                j++;
+            else {
+                result.append(a.keys[i], Container.and(a.containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new set holding the values of {@code a} that are not in {@code b}.
+     *
+     * @param a the set to subtract from
+     * @param b the set whose values are removed
+     * @return a new set containing the asymmetric difference of the two sets
+     */
+    public static CustomBitmapSet andNot(final CustomBitmapSet a, final CustomBitmapSet b) {
+        CustomBitmapSet result = new CustomBitmapSet();
+        int j = 0;
+        for(int i = 0; i < a.containerCount; i++) {
+            while(j < b.containerCount && b.keys[j] < a.keys[i])
+                j++;
+            if(j < b.containerCount && b.keys[j] == a.keys[i])
+                result.append(a.keys[i], Container.andNot(a.containers[i], b.containers[j]));
+            else
+                result.append(a.keys[i], a.containers[i].copy());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new set holding the union of the two given sets.
+     *
+     * @param a the first set
+     * @param b the second set
+     * @return a new set containing the values present in either set
+     */
+    public static CustomBitmapSet or(final CustomBitmapSet a, final CustomBitmapSet b) {
+        CustomBitmapSet result = new CustomBitmapSet();
+        int i = 0;
+        int j = 0;
+        while(i < a.containerCount || j < b.containerCount) {
+            int cmp = i == a.containerCount ? 1 : j == b.containerCount ? -1 : Character.compare(a.keys[i], b.keys[j]);
+            if(cmp < 0) {
+                result.append(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if(cmp > 0) {
+                result.append(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.append(a.keys[i], Container.or(a.containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads a set previously written by {@link #serialize(DataOutput)}.
+     *
+     * @param in the input to read from
+     * @return the deserialized set
+     * @throws IOException if the input cannot be read or is not in the expected format
+     */
+    public static CustomBitmapSet deserialize(final DataInput in) throws IOException {
+        if(in.readInt() != SERIAL_COOKIE)
+            throw new IOException("Not a CustomBitmapSet stream");
+        int count = in.readInt();
+        if(count < 0 || count > 1 << 16)
+            throw new IOException("Invalid container count " + count);
+        CustomBitmapSet bitmapSet = new CustomBitmapSet();
+        int previousKey = -1;
+        for(int i = 0; i < count; i++) {
+            char key = in.readChar();
+            if(key <= previousKey)
+                throw new IOException("Container keys are not strictly ascending");
+            previousKey = key;
+            Container container = switch(in.readByte()) {
+                case ARRAY -> ArrayContainer.read(in);
+                case BITMAP -> BitmapContainer.read(in);
+                case RUN -> RunContainer.read(in);
+                default -> throw new IOException("Unknown container type");
+            };
+            bitmapSet.append(key, container);
+        }
+        return bitmapSet;
+    }
+
+    /**
+     * Adds the specified value to this set if it is not already present.
+     *
+     * @param value value to be added to this set
+     * @return {@code true} if this set did not already contain the specified value
+     */
+    public boolean add(final int value) {
+        char key = highBits(value);
+        int index = indexOf(key);
+        if(index < 0) {
+            index = -index - 1;
+            insertContainerAt(index, key, new ArrayContainer());
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add(lowBits(value));
+        if(containers[index].cardinality() == before)
+            return false;
+        cardinality++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Adds the specified element to this set if it is not already present.
+     *
+     * @param item element to be added to this set
+     * @return {@code true} if this set did not already contain the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean add(final Integer item) {
+        return add(requireNonNull(item).intValue());
+    }
+
+    /**
+     * Adds all the elements in the specified collection to this set. When the collection is
+     * another {@code CustomBitmapSet} the union is computed container by container.
+     *
+     * @param c collection containing elements to be added to this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean addAll(final Collection<? extends Integer> c) {
+        requireNonNull(c);
+        long before = cardinality;
+        if(c instanceof CustomBitmapSet other)
+            replaceWith(or(this, other));
+        else
+            for(Integer item : c)
+                add(item);
+        return cardinality != before;
+    }
+
+    /**
+     * Returns the number of values in this set. Unlike {@link #size()} this is not capped at {@code Integer.MAX_VALUE}.
+     *
+     * @return the number of values in this set
+     */
+    public long cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Removes all the elements from this set.
+     */
+    public void clear() {
+        keys = new char[4];
+        containers = new Container[4];
+        containerCount = 0;
+        cardinality = 0;
+        modCount++;
+    }
+
+    public CustomBitmapSet clone() {
+        CustomBitmapSet copy = new CustomBitmapSet();
+        for(int i = 0; i < containerCount; i++)
+            copy.append(keys[i], containers[i].copy());
+        return copy;
+    }
+
+    /**
+     * Returns {@code true} if this set contains the specified value.
+     *
+     * @param value value whose presence in this set is to be tested
+     * @return {@code true} if this set contains the specified value
+     */
+    public boolean contains(final int value) {
+        int index = indexOf(highBits(value));
+        return index >= 0 && containers[index].contains(lowBits(value));
+    }
+
+    /**
+     * Returns {@code true} if this set contains the specified element.
+     *
+     * @param item element whose presence in this set is to be tested
+     * @return {@code true} if this set contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean contains(final Object item) {
+        return requireNonNull(item) instanceof Integer value && contains(value.intValue());
+    }
+
+    /**
+     * Returns {@code true} if this set contains all the elements of the specified collection.
+     *
+     * @param c collection to be checked for containment in this set
+     * @return {@code true} if this set contains all the elements of the specified collection
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean containsAll(final Collection<?> c) {
+        requireNonNull(c);
+        if(c instanceof CustomBitmapSet other)
+            return andNot(other, this).isEmpty();
+        for(Object item : c)
+            if(!contains(item))
+                return false;
+        return true;
+    }
+
+    /**
+     * Compares this set with another set for equality. Two {@code CustomBitmapSet}s are compared container by container.
+     *
+     * @param o the object to compare with
+     * @return true if the sets are equal
+     */
+    public boolean equals(final Object o) {
+        if(o == this)
+            return true;
+        if(o instanceof CustomBitmapSet other) {
+            if(other.cardinality != cardinality || other.containerCount != containerCount)
+                return false;
+            for(int i = 0; i < containerCount; i++)
+                if(keys[i] != other.keys[i] || !Arrays.equals(containers[i].toBitmap(), other.containers[i].toBitmap()))
+                    return false;
+            return true;
+        }
+        if(!(o instanceof Set<?> other) || other.size() != size())
+            return false;
+        return containsAll(other);
+    }
+
+    /**
+     * Performs the given action for each value in this set in ascending order without boxing.
+     *
+     * @param action the action to be performed for each value
+     * @throws NullPointerException if the specified action is null
+     */
+    public void forEachInt(final IntConsumer action) {
+        requireNonNull(action);
+        for(int i = 0; i < containerCount; i++) {
+            int high = keys[i] << 16;
+            Container container = containers[i];
+            for(int low = container.nextValue(0); low >= 0; low = container.nextValue(low + 1))
+                action.accept(toValue(high, low));
+        }
+    }
+
+    /**
+     * Returns the hash code value for this set, defined to be the sum of its values as for any {@code Set<Integer>}.
+     *
+     * @return the hash code value for this set
+     */
+    public int hashCode() {
+        int[] hash = {0};
+        forEachInt(value -> hash[0] += value);
+        return hash[0];
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in ascending order.
+     * Prefer {@link #forEachInt(IntConsumer)} on hot paths, as this iterator boxes every value.
+     *
+     * @return an iterator over the elements in this set
+     */
+    public Iterator<Integer> iterator() {
+        return new Iterator<>() {
+            private int containerIndex = 0;
+            private int low = containerCount == 0 ? -1 : containers[0].nextValue(0);
+            private boolean canRemove = false;
+            private int lastReturned;
+            private int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return low >= 0;
+            }
+
+            public Integer next() {
+                if(modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if(low < 0)
+                    throw new NoSuchElementException();
+                lastReturned = toValue(keys[containerIndex] << 16, low);
+                canRemove = true;
+                low = containers[containerIndex].nextValue(low + 1);
+                if(low < 0 && ++containerIndex < containerCount)
+                    low = containers[containerIndex].nextValue(0);
+                return lastReturned;
+            }
+
+            public void remove() {
+                if(!canRemove)
+                    throw new IllegalStateException();
+                if(modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                char nextKey = low < 0 ? 0 : keys[containerIndex];
+                CustomBitmapSet.this.remove(lastReturned);
+                if(low >= 0)
+                    containerIndex = indexOf(nextKey);
+                else
+                    containerIndex = containerCount;
+                canRemove = false;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of values in this set that are less than or equal to the given value.
+     * Whole containers before the value's key contribute their cached cardinality.
+     *
+     * @param value the upper bound (inclusive)
+     * @return the number of values less than or equal to {@code value}
+     */
+    public long rank(final int value) {
+        char key = highBits(value);
+        long rank = 0;
+        for(int i = 0; i < containerCount && keys[i] <= key; i++)
+            rank += keys[i] < key ? containers[i].cardinality() : containers[i].rank(lowBits(value));
+        return rank;
+    }
+
+    /**
+     * Removes the specified value from this set if it is present.
+     *
+     * @param value value to be removed from this set, if present
+     * @return {@code true} if this set contained the specified value
+     */
+    public boolean remove(final int value) {
+        int index = indexOf(highBits(value));
+        if(index < 0)
+            return false;
+        Container container = containers[index];
+        int before = container.cardinality();
+        container = container.remove(lowBits(value));
+        if(container.cardinality() == before)
+            return false;
+        if(container.cardinality() == 0)
+            removeContainerAt(index);
+        else
+            containers[index] = container;
+        cardinality--;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes the specified element from this set if it is present.
+     *
+     * @param item object to be removed from this set, if present
+     * @return {@code true} if this set contained the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean remove(final Object item) {
+        return requireNonNull(item) instanceof Integer value && remove(value.intValue());
+    }
+
+    /**
+     * Removes from this set all of its elements that are contained in the specified collection.
+     * When the collection is another {@code CustomBitmapSet} the difference is computed container by container.
+     *
+     * @param c collection containing elements to be removed from this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean removeAll(final Collection<?> c) {
+        requireNonNull(c);
+        long before = cardinality;
+        if(c instanceof CustomBitmapSet other)
+            replaceWith(andNot(this, other));
+        else
+            for(Object item : c)
+                remove(item);
+        return cardinality != before;
+    }
+
+    /**
+     * Retains only the elements in this set that are contained in the specified collection.
+     * When the collection is another {@code CustomBitmapSet} the intersection is computed container by container.
+     *
+     * @param c collection containing elements to be retained in this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean retainAll(final Collection<?> c) {
+        requireNonNull(c);
+        long before = cardinality;
+        if(c instanceof CustomBitmapSet other)
+            replaceWith(and(this, other));
+        else {
+            CustomBitmapSet retained = new CustomBitmapSet();
+            forEachInt(value -> {
+                if(c.contains(value))
+                    retained.add(value);
+            });
+            replaceWith(retained);
+        }
+        return cardinality != before;
+    }
+
+    /**
+     * Converts each container to whichever of the array, bitmap or run representations is smallest.
+     * Call this once a set has been populated; long stretches of consecutive values then cost a few bytes per stretch.
+     *
+     * @return {@code true} if at least one container was converted to runs
+     */
+    public boolean runOptimize() {
+        boolean changed = false;
+        for(int i = 0; i < containerCount; i++) {
+            Container optimized = containers[i].runOptimize();
+            changed |= optimized instanceof RunContainer && !(containers[i] instanceof RunContainer);
+            containers[i] = optimized;
+        }
+        return changed;
+    }
+
+    /**
+     * Writes this set to the given output. The format is a cookie, the container count and then, for every
+     * container, its 16-bit key, a type byte and the container payload.
+     *
+     * @param out the output to write to
+     * @throws IOException if the output cannot be written
+     */
+    public void serialize(final DataOutput out) throws IOException {
+        out.writeInt(SERIAL_COOKIE);
+        out.writeInt(containerCount);
+        for(int i = 0; i < containerCount; i++) {
+            out.writeChar(keys[i]);
+            containers[i].write(out);
+        }
+    }
+
+    /**
+     * Returns the number of bytes {@link #serialize(DataOutput)} will write for this set.
+     *
+     * @return the serialized size of this set in bytes
+     */
+    public int serializedSizeInBytes() {
+        int bytes = 8;
+        for(int i = 0; i < containerCount; i++)
+            bytes += 3 + containers[i].serializedSize();
+        return bytes;
+    }
+
+    /**
+     * Returns the number of elements in this set, capped at {@code Integer.MAX_VALUE}.
+     *
+     * @return the number of elements in this set
+     */
+    public int size() {
+        return (int) Math.min(cardinality, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns an array containing all the values in this set in ascending order.
+     *
+     * @return an array containing all the values in this set
+     */
+    public int[] toIntArray() {
+        int[] arr = new int[size()];
+        int[] index = {0};
+        forEachInt(value -> arr[index[0]++] = value);
+        return arr;
+    }
+
+    /**
+     * Returns an array containing all the elements in this set in ascending order.
+     *
+     * @return an array containing all the elements in this set
+     */
+    public Object[] toArray() {
+        return toArray(new Integer[size()]);
+    }
+
+    /**
+     * Returns an array containing all the elements in this set in ascending order; the
+     * runtime type of the returned array is that of the specified array.
+     *
+     * @param a the array into which the elements of this set are to be stored, if it is big enough;
+     *          otherwise, a new array of the same runtime type is allocated
+     * @return an array containing all the elements in this set
+     * @throws ArrayStoreException if the runtime type of the specified array is not a supertype of {@code Integer}
+     * @throws NullPointerException if the specified array is null
+     */
+    public <T> T[] toArray(T[] a) {
+        requireNonNull(a);
+        int n = size();
+        T[] arrayToFill = a.length < n ? (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), n) : a;
+        int[] index = {0};
+        forEachInt(value -> arrayToFill[index[0]++] = (T) Integer.valueOf(value));
+        if(a.length > n)
+            arrayToFill[n] = null;
+        return arrayToFill;
+    }
+
+    /**
+     * Returns String representation of CustomBitmapSet in ascending order
+     *
+     * @return String representation of CustomBitmapSet
+     */
+    public String toString() {
+        if(cardinality == 0)
+            return "{}";
+        StringBuilder sb = new StringBuilder("{");
+        forEachInt(value -> {
+            if(sb.length() > 1)
+                sb.append(", ");
+            sb.append(value);
+        });
+        return sb.append('}').toString();
+    }
+
+    private void append(final char key, final Container container) {
+        if(container == null || container.cardinality() == 0)
+            return;
+        insertContainerAt(containerCount, key, container);
+        cardinality += container.cardinality();
+    }
+
+    private static char highBits(final int value) {
+        return (char) ((value ^ Integer.MIN_VALUE) >>> 16);
+    }
+
+    private int indexOf(final char key) {
+        int low = 0;
+        int high = containerCount - 1;
+        while(low <= high) {
+            int mid = (low + high) >>> 1;
+            if(keys[mid] < key)
+                low = mid + 1;
+            else if(keys[mid] > key)
+                high = mid - 1;
+            else
+                return mid;
+        }
+        return -(low + 1);
+    }
+
+    private void insertContainerAt(final int index, final char key, final Container container) {
+        if(containerCount == keys.length) {
+            keys = Arrays.copyOf(keys, containerCount * 2);
+            containers = Arrays.copyOf(containers, containerCount * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, containerCount - index);
+        System.arraycopy(containers, index, containers, index + 1, containerCount - index);
+        keys[index] = key;
+        containers[index] = container;
+        containerCount++;
+    }
+
+    private static char lowBits(final int value) {
+        return (char) value;
+    }
+
+    private void removeContainerAt(final int index) {
+        containerCount--;
+        System.arraycopy(keys, index + 1, keys, index, containerCount - index);
+        System.arraycopy(containers, index + 1, containers, index, containerCount - index);
+        containers[containerCount] = null;
+    }
+
+    private void replaceWith(final CustomBitmapSet other) {
+        keys = other.keys;
+        containers = other.containers;
+        containerCount = other.containerCount;
+        cardinality = other.cardinality;
+        modCount++;
+    }
+
+    private static int toValue(final int high, final int low) {
+        return (high | low) ^ Integer.MIN_VALUE;
+    }
+
+    /**
+     * Holds the low 16 bits of every value sharing one key. Mutators return the container that should
+     * replace this one, which allows an array to grow into a bitmap and a bitmap to shrink back.
+     */
+    private abstract static class Container {
+
+        static Container and(final Container a, final Container b) {
+            if(a instanceof ArrayContainer array)
+                return array.filter(b, true);
+            if(b instanceof ArrayContainer array)
+                return array.filter(a, true);
+            long[] words = a.toBitmap();
+            long[] other = b.toBitmap();
+            for(int i = 0; i < BITMAP_WORDS; i++)
+                words[i] &= other[i];
+            return BitmapContainer.normalize(words);
+        }
+
+        static Container andNot(final Container a, final Container b) {
+            if(a instanceof ArrayContainer array)
+                return array.filter(b, false);
+            long[] words = a.toBitmap();
+            long[] other = b.toBitmap();
+            for(int i = 0; i < BITMAP_WORDS; i++)
+                words[i] &= ~other[i];
+            return BitmapContainer.normalize(words);
+        }
+
+        static Container or(final Container a, final Container b) {
+            if(a instanceof ArrayContainer x && b instanceof ArrayContainer y && x.size + y.size <= ARRAY_MAX)
+                return x.merge(y);
+            long[] words = a.toBitmap();
+            b.orInto(words);
+            return BitmapContainer.normalize(words);
+        }
+
+        abstract Container add(char low);
+
+        abstract int cardinality();
+
+        abstract boolean contains(char low);
+
+        abstract Container copy();
+
+        abstract int nextValue(int from);
+
+        abstract void orInto(long[] words);
+
+        abstract int rank(char low);
+
+        abstract Container remove(char low);
+
+        abstract int runCount();
+
+        abstract int serializedSize();
+
+        abstract void write(DataOutput out) throws IOException;
+
+        Container runOptimize() {
+            int runs = runCount();
+            int runBytes = 2 + 4 * runs;
+            int card = cardinality();
+            if(runBytes < (card <= ARRAY_MAX ? 2 + 2 * card : BITMAP_WORDS * 8))
+                return this instanceof RunContainer ? this : RunContainer.from(this, runs);
+            return this instanceof RunContainer ? BitmapContainer.normalize(toBitmap()) : this;
+        }
+
+        long[] toBitmap() {
+            long[] words = new long[BITMAP_WORDS];
+            orInto(words);
+            return words;
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int size;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(final char[] values, final int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        static ArrayContainer read(final DataInput in) throws IOException {
+            int size = in.readChar() + 1;
+            if(size > ARRAY_MAX)
+                throw new IOException("Array container too large");
+            char[] values = new char[size];
+            for(int i = 0; i < size; i++) {
+                values[i] = in.readChar();
+                if(i > 0 && values[i] <= values[i - 1])
+                    throw new IOException("Array container values are not strictly ascending");
+            }
+            return new ArrayContainer(values, size);
+        }
+
+        Container add(final char low) {
+            int index = Arrays.binarySearch(values, 0, size, low);
+            if(index >= 0)
+                return this;
+            if(size == ARRAY_MAX) {
+                BitmapContainer bitmap = new BitmapContainer(toBitmap(), size);
+                return bitmap.add(low);
+            }
+            index = -index - 1;
+            if(size == values.length)
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size * 2));
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = low;
+            size++;
+            return this;
+        }
+
+        int cardinality() {
+            return size;
+        }
+
+        boolean contains(final char low) {
+            return Arrays.binarySearch(values, 0, size, low) >= 0;
+        }
+
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(size, 1)), size);
+        }
+
+        ArrayContainer filter(final Container other, final boolean keep) {
+            char[] result = new char[Math.max(size, 1)];
+            int n = 0;
+            for(int i = 0; i < size; i++)
+                if(other.contains(values[i]) == keep)
+                    result[n++] = values[i];
+            return new ArrayContainer(result, n);
+        }
+
+        ArrayContainer merge(final ArrayContainer other) {
+            char[] result = new char[Math.max(size + other.size, 1)];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while(i < size && j < other.size) {
+                if(values[i] < other.values[j])
+                    result[n++] = values[i++];
+                else if(values[i] > other.values[j])
+                    result[n++] = other.values[j++];
+                else {
+                    result[n++] = values[i++];
+                    j++;
+                }
+            }
+            while(i < size)
+                result[n++] = values[i++];
+            while(j < other.size)
+                result[n++] = other.values[j++];
+            return new ArrayContainer(result, n);
+        }
+
+        int nextValue(final int from) {
+            if(from > Character.MAX_VALUE)
+                return -1;
+            int index = Arrays.binarySearch(values, 0, size, (char) from);
+            if(index < 0)
+                index = -index - 1;
+            return index < size ? values[index] : -1;
+        }
+
+        void orInto(final long[] words) {
+            for(int i = 0; i < size; i++)
+                words[values[i] >>> 6] |= 1L << values[i];
+        }
+
+        int rank(final char low) {
+            int index = Arrays.binarySearch(values, 0, size, low);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        Container remove(final char low) {
+            int index = Arrays.binarySearch(values, 0, size, low);
+            if(index < 0)
+                return this;
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            return this;
+        }
+
+        int runCount() {
+            int runs = size == 0 ? 0 : 1;
+            for(int i = 1; i < size; i++)
+                if(values[i] != values[i - 1] + 1)
+                    runs++;
+            return runs;
+        }
+
+        int serializedSize() {
+            return 2 + 2 * size;
+        }
+
+        void write(final DataOutput out) throws IOException {
+            out.writeByte(ARRAY);
+            out.writeChar(size - 1);
+            for(int i = 0; i < size; i++)
+                out.writeChar(values[i]);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(final long[] words, final int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        static Container normalize(final long[] words) {
+            int cardinality = 0;
+            for(long word : words)
+                cardinality += Long.bitCount(word);
+            if(cardinality > ARRAY_MAX)
+                return new BitmapContainer(words, cardinality);
+            char[] values = new char[Math.max(cardinality, 1)];
+            int n = 0;
+            for(int i = 0; i < BITMAP_WORDS; i++)
+                for(long word = words[i]; word != 0; word &= word - 1)
+                    values[n++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+            return new ArrayContainer(values, cardinality);
+        }
+
+        static Container read(final DataInput in) throws IOException {
+            long[] words = new long[BITMAP_WORDS];
+            for(int i = 0; i < BITMAP_WORDS; i++)
+                words[i] = in.readLong();
+            return normalize(words);
+        }
+
+        Container add(final char low) {
+            long before = words[low >>> 6];
+            words[low >>> 6] = before | 1L << low;
+            if(before != words[low >>> 6])
+                cardinality++;
+            return this;
+        }
+
+        int cardinality() {
+            return cardinality;
+        }
+
+        boolean contains(final char low) {
+            return (words[low >>> 6] & 1L << low) != 0;
+        }
+
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        int nextValue(final int from) {
+            if(from > Character.MAX_VALUE)
+                return -1;
+            int index = from >>> 6;
+            long word = words[index] & -1L << from;
+            while(word == 0) {
+                if(++index == BITMAP_WORDS)
+                    return -1;
+                word = words[index];
+            }
+            return (index << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        void orInto(final long[] target) {
+            for(int i = 0; i < BITMAP_WORDS; i++)
+                target[i] |= words[i];
+        }
+
+        int rank(final char low) {
+            int rank = 0;
+            int index = low >>> 6;
+            for(int i = 0; i < index; i++)
+                rank += Long.bitCount(words[i]);
+            return rank + Long.bitCount(words[index] & -1L >>> 63 - (low & 63));
+        }
+
+        Container remove(final char low) {
+            long before = words[low >>> 6];
+            words[low >>> 6] = before & ~(1L << low);
+            if(before == words[low >>> 6])
+                return this;
+            if(--cardinality <= ARRAY_MAX)
+                return normalize(words);
+            return this;
+        }
+
+        int runCount() {
+            int runs = 0;
+            long previous = 0;
+            for(long word : words) {
+                runs += Long.bitCount(word & ~(word << 1 | previous >>> 63));
+                previous = word;
+            }
+            return runs;
+        }
+
+        int serializedSize() {
+            return BITMAP_WORDS * 8;
+        }
+
+        long[] toBitmap() {
+            return words.clone();
+        }
+
+        void write(final DataOutput out) throws IOException {
+            out.writeByte(BITMAP);
+            for(long word : words)
+                out.writeLong(word);
+        }
+    }
+
+    private static final class RunContainer extends Container {
+        private final char[] starts;
+        private final char[] lengths;
+        private final int runs;
+        private final int cardinality;
+
+        RunContainer(final char[] starts, final char[] lengths, final int runs) {
+            this.starts = starts;
+            this.lengths = lengths;
+            this.runs = runs;
+            int cardinality = 0;
+            for(int i = 0; i < runs; i++)
+                cardinality += lengths[i] + 1;
+            this.cardinality = cardinality;
+        }
+
+        static RunContainer from(final Container container, final int runs) {
+            char[] starts = new char[runs];
+            char[] lengths = new char[runs];
+            int run = -1;
+            int previous = -2;
+            for(int value = container.nextValue(0); value >= 0; value = container.nextValue(value + 1)) {
+                if(value != previous + 1)
+                    starts[++run] = (char) value;
+                else
+                    lengths[run]++;
+                previous = value;
+            }
+            return new RunContainer(starts, lengths, runs);
+        }
+
+        static RunContainer read(final DataInput in) throws IOException {
+            int runs = in.readChar();
+            char[] starts = new char[runs];
+            char[] lengths = new char[runs];
+            int end = -2;
+            for(int i = 0; i < runs; i++) {
+                starts[i] = in.readChar();
+                lengths[i] = in.readChar();
+                if(starts[i] <= end + 1 || starts[i] + lengths[i] > Character.MAX_VALUE)
+                    throw new IOException("Run container runs overlap or overflow");
+                end = starts[i] + lengths[i];
+            }
+            return new RunContainer(starts, lengths, runs);
+        }
+
+        Container add(final char low) {
+            return contains(low) ? this : BitmapContainer.normalize(toBitmap()).add(low);
+        }
+
+        int cardinality() {
+            return cardinality;
+        }
+
+        boolean contains(final char low) {
+            int index = runIndex(low);
+            return index >= 0 && low <= starts[index] + lengths[index];
+        }
+
+        Container copy() {
+            return this;
+        }
+
+        int nextValue(final int from) {
+            if(from > Character.MAX_VALUE)
+                return -1;
+            int index = runIndex(from);
+            if(index >= 0 && from <= starts[index] + lengths[index])
+                return from;
+            return index + 1 < runs ? starts[index + 1] : -1;
+        }
+
+        void orInto(final long[] words) {
+            for(int i = 0; i < runs; i++)
+                for(int value = starts[i], end = starts[i] + lengths[i]; value <= end; value++)
+                    words[value >>> 6] |= 1L << value;
+        }
+
+        int rank(final char low) {
+            int rank = 0;
+            for(int i = 0; i < runs && starts[i] <= low; i++)
+                rank += Math.min(low, starts[i] + lengths[i]) - starts[i] + 1;
+            return rank;
+        }
+
+        Container remove(final char low) {
+            return contains(low) ? BitmapContainer.normalize(toBitmap()).remove(low) : this;
+        }
+
+        int runCount() {
+            return runs;
+        }
+
+        int serializedSize() {
+            return 2 + 4 * runs;
+        }
+
+        void write(final DataOutput out) throws IOException {
+            out.writeByte(RUN);
+            out.writeChar(runs);
+            for(int i = 0; i < runs; i++) {
+                out.writeChar(starts[i]);
+                out.writeChar(lengths[i]);
+            }
+        }
+
+        private int runIndex(final int low) {
+            int lowIndex = 0;
+            int highIndex = runs - 1;
+            while(lowIndex <= highIndex) {
+                int mid = (lowIndex + highIndex) >>> 1;
+                if(starts[mid] <= low)
+                    lowIndex = mid + 1;
+                else
+                    highIndex = mid - 1;
+            }
+            return lowIndex - 1;
+        }
+    }
+}
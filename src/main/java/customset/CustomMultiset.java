@@ -0,0 +1,569 @@
+package customset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.ObjIntConsumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A multiset (bag) built on the same prime-sized chained table as {@link CustomSet}, with the count of each distinct
+ * element stored inline next to it in a parallel {@code int[]}. Counting an element therefore hashes it once and
+ * stores it once, where a {@code CustomSet} paired with a {@code HashMap<E, Integer>} would do both twice and box
+ * every count. {@link #add(Object, int)}, {@link #remove(Object, int)}, {@link #setCount(Object, int)} and
+ * {@link #count(Object)} take and return primitive counts, so updating the count of an element already present
+ * allocates nothing, and {@link #forEachEntry(ObjIntConsumer)} visits every element with its count in the same way.
+ * {@link #topK(int)} returns the most frequent elements.
+ * <p>
+ * As a {@link Collection}, the multiset holds every occurrence: {@link #size()} is the total count and the iterator
+ * returns each element as many times as it occurs. Null elements are not permitted and iterators do not support removal.
+ *
+ * @param <E> the type of elements counted
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class CustomMultiset<E> implements Collection<E> {
+
+    private static final double LOAD_FACTOR = 0.75;
+
+    private int distinct = 0;
+    private int primesIndex = 0;
+    private int setSize = CustomSet.primes[0];
+    private long total = 0;
+
+    private int[] buckets;
+    private Object[] items;
+    private int[] hashes;
+    private int[] counts;
+    private int[] next;
+    private int freeSlot = 0;
+    private int usedSlots = 0;
+
+    /**
+     * An element of a multiset together with its count.
+     *
+     * @param element the element
+     * @param count the number of occurrences of the element
+     * @param <E> the type of the element
+     */
+    public record Entry<E>(E element, int count) { }
+
+    /**
+     * Constructs an empty multiset with default initial capacity (17).
+     */
+    public CustomMultiset() {
+        generateSet(CustomSet.primes[0]);
+    }
+
+    /**
+     * Constructs a multiset containing every occurrence of the elements of the specified collection.
+     *
+     * @param c the collection whose elements are to be counted
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public CustomMultiset(final Collection<? extends E> c) {
+        requireNonNull(c);
+        generateSet((int) (c.size() / LOAD_FACTOR) + 1);
+        addAll(c);
+    }
+
+    /**
+     * Constructs an empty multiset with the specified initial capacity.
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public CustomMultiset(final int initialCapacity) {
+        if(initialCapacity < 0)
+            throw new IllegalArgumentException();
+        generateSet(initialCapacity);
+    }
+
+    /**
+     * Adds one occurrence of the specified element.
+     *
+     * @param item element to be added
+     * @return {@code true}, as the multiset always changes
+     * @throws IllegalArgumentException if the count of the element would exceed {@link Integer#MAX_VALUE}
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean add(final E item) {
+        add(item, 1);
+        return true;
+    }
+
+    /**
+     * Adds {@code occurrences} occurrences of the specified element.
+     *
+     * @param item element to be added
+     * @param occurrences the number of occurrences to add, may be zero
+     * @return the count of the element before the call
+     * @throws IllegalArgumentException if {@code occurrences} is negative or the count would exceed {@link Integer#MAX_VALUE}
+     * @throws NullPointerException if the specified element is null
+     */
+    public int add(final E item, final int occurrences) {
+        if(occurrences < 0)
+            throw new IllegalArgumentException();
+        int hash = requireNonNull(item).hashCode();
+        int index = indexFor(hash);
+        int slot = find(item, hash, index);
+        if(slot >= 0) {
+            int previous = counts[slot];
+            if(previous + (long) occurrences > Integer.MAX_VALUE)
+                throw new IllegalArgumentException();
+            counts[slot] = previous + occurrences;
+            total += occurrences;
+            return previous;
+        }
+        if(occurrences > 0)
+            insert(item, hash, index, occurrences);
+        return 0;
+    }
+
+    /**
+     * Adds every occurrence of the elements of the specified collection.
+     *
+     * @param c collection containing elements to be added
+     * @return {@code true} if the multiset changed as a result of the call
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean addAll(final Collection<? extends E> c) {
+        requireNonNull(c);
+        if(c instanceof CustomMultiset<? extends E> other) {
+            other.forEachEntry(this::add);
+            return !other.isEmpty();
+        }
+        for(E item : c)
+            add(item, 1);
+        return !c.isEmpty();
+    }
+
+    /**
+     * Removes every occurrence of every element.
+     */
+    public void clear() {
+        distinct = 0;
+        total = 0;
+        generateSet(CustomSet.primes[0]);
+    }
+
+    /**
+     * Returns {@code true} if the multiset contains at least one occurrence of the specified element.
+     *
+     * @param item element whose presence is to be tested
+     * @return {@code true} if the count of the element is positive
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean contains(final Object item) {
+        return count(item) > 0;
+    }
+
+    /**
+     * Returns {@code true} if the multiset contains at least one occurrence of every element of the specified collection.
+     *
+     * @param c collection to be checked for containment
+     * @return {@code true} if every element of the collection is present
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean containsAll(final Collection<?> c) {
+        requireNonNull(c);
+        for(Object item : c)
+            if(!contains(item))
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns the number of occurrences of the specified element.
+     *
+     * @param item element to be counted
+     * @return the count of the element, zero if it is absent
+     * @throws NullPointerException if the specified element is null
+     */
+    public int count(final Object item) {
+        int hash = requireNonNull(item).hashCode();
+        int slot = find(item, hash, indexFor(hash));
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    /**
+     * Returns the number of distinct elements.
+     *
+     * @return the number of distinct elements
+     */
+    public int distinctCount() {
+        return distinct;
+    }
+
+    /**
+     * Compares this multiset with another object for equality. Returns true if the other object is a
+     * {@code CustomMultiset} holding the same elements with the same counts.
+     *
+     * @param o the object to compare with
+     * @return true if the multisets are equal
+     */
+    public boolean equals(final Object o) {
+        if(o == this)
+            return true;
+        if(!(o instanceof CustomMultiset<?> other) || other.distinct != distinct || other.total != total)
+            return false;
+        for(int slot = 0; slot < usedSlots; slot++)
+            if(items[slot] != null && other.count(items[slot]) != counts[slot])
+                return false;
+        return true;
+    }
+
+    /**
+     * Calls the action with every distinct element and its count, without allocating an entry per element.
+     *
+     * @param action the action to be performed for each element
+     * @throws NullPointerException if the specified action is null
+     */
+    public void forEachEntry(final ObjIntConsumer<? super E> action) {
+        requireNonNull(action);
+        for(int slot = 0; slot < usedSlots; slot++)
+            if(items[slot] != null)
+                action.accept((E) items[slot], counts[slot]);
+    }
+
+    /**
+     * Returns the hash code value for this multiset, the sum over its distinct elements of the element's
+     * hash code XOR its count.
+     *
+     * @return the hash code value for this multiset
+     */
+    public int hashCode() {
+        int hash = 0;
+        for(int slot = 0; slot < usedSlots; slot++)
+            if(items[slot] != null)
+                hash += hashes[slot] ^ counts[slot];
+        return hash;
+    }
+
+    /**
+     * Returns {@code true} if this multiset contains no elements.
+     *
+     * @return {@code true} if this multiset contains no elements
+     */
+    public boolean isEmpty() {
+        return distinct == 0;
+    }
+
+    /**
+     * Returns an iterator returning each element as many times as it occurs, with all occurrences of an
+     * element together. The iterator does not support removal.
+     *
+     * @return an iterator over every occurrence in this multiset
+     */
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int slot = -1;
+            private int remaining = 0;
+
+            public boolean hasNext() {
+                while(remaining == 0 && ++slot < usedSlots)
+                    if(items[slot] != null)
+                        remaining = counts[slot];
+                return remaining > 0;
+            }
+
+            public E next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+                remaining--;
+                return (E) items[slot];
+            }
+        };
+    }
+
+    /**
+     * Removes one occurrence of the specified element, if present.
+     *
+     * @param item element to be removed
+     * @return {@code true} if an occurrence was removed
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean remove(final Object item) {
+        return remove(item, 1) > 0;
+    }
+
+    /**
+     * Removes up to {@code occurrences} occurrences of the specified element. The element is removed entirely
+     * once its count reaches zero.
+     *
+     * @param item element to be removed
+     * @param occurrences the number of occurrences to remove, may be zero
+     * @return the count of the element before the call
+     * @throws IllegalArgumentException if {@code occurrences} is negative
+     * @throws NullPointerException if the specified element is null
+     */
+    public int remove(final Object item, final int occurrences) {
+        if(occurrences < 0)
+            throw new IllegalArgumentException();
+        int hash = requireNonNull(item).hashCode();
+        int index = indexFor(hash);
+        for(int previous = -1, slot = buckets[index] - 1; slot >= 0; previous = slot, slot = next[slot] - 1)
+            if(hashes[slot] == hash && item.equals(items[slot])) {
+                int count = counts[slot];
+                if(occurrences < count) {
+                    counts[slot] = count - occurrences;
+                    total -= occurrences;
+                } else
+                    unlink(index, previous, slot);
+                return count;
+            }
+        return 0;
+    }
+
+    /**
+     * Removes every occurrence of each element of the specified collection.
+     *
+     * @param c collection containing elements to be removed
+     * @return {@code true} if the multiset changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean removeAll(final Collection<?> c) {
+        requireNonNull(c);
+        boolean changed = false;
+        for(Object item : c)
+            if(item != null && remove(item, Integer.MAX_VALUE) > 0)
+                changed = true;
+        return changed;
+    }
+
+    /**
+     * Removes every occurrence of each element not contained in the specified collection.
+     *
+     * @param c collection containing elements to be retained
+     * @return {@code true} if the multiset changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean retainAll(final Collection<?> c) {
+        requireNonNull(c);
+        boolean modified = false;
+        for(int index = 0; index < setSize; index++) {
+            int previous = -1;
+            int slot = buckets[index] - 1;
+            while(slot >= 0) {
+                int following = next[slot] - 1;
+                if(!c.contains(items[slot])) {
+                    unlink(index, previous, slot);
+                    modified = true;
+                } else
+                    previous = slot;
+                slot = following;
+            }
+        }
+        return modified;
+    }
+
+    /**
+     * Sets the count of the specified element, adding or removing occurrences as needed. A count of zero removes the element.
+     *
+     * @param item element whose count is set
+     * @param count the new count
+     * @return the count of the element before the call
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws NullPointerException if the specified element is null
+     */
+    public int setCount(final E item, final int count) {
+        if(count < 0)
+            throw new IllegalArgumentException();
+        int hash = requireNonNull(item).hashCode();
+        int index = indexFor(hash);
+        for(int previous = -1, slot = buckets[index] - 1; slot >= 0; previous = slot, slot = next[slot] - 1)
+            if(hashes[slot] == hash && item.equals(items[slot])) {
+                int old = counts[slot];
+                if(count == 0)
+                    unlink(index, previous, slot);
+                else {
+                    counts[slot] = count;
+                    total += count - old;
+                }
+                return old;
+            }
+        if(count > 0)
+            insert(item, hash, index, count);
+        return 0;
+    }
+
+    /**
+     * Returns the total number of occurrences, or {@link Integer#MAX_VALUE} if that is larger.
+     *
+     * @return the total count of all elements
+     */
+    public int size() {
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns an array containing every occurrence in this multiset.
+     *
+     * @return an array containing every occurrence in this multiset
+     */
+    public Object[] toArray() {
+        return toArray(new Object[0]);
+    }
+
+    /**
+     * Returns an array containing every occurrence in this multiset; the runtime type of the returned
+     * array is that of the specified array.
+     *
+     * @param a the array into which the occurrences are to be stored, if it is big enough;
+     *          otherwise, a new array of the same runtime type is allocated
+     * @return an array containing every occurrence in this multiset
+     * @throws NullPointerException if the specified array is null
+     */
+    public <T> T[] toArray(T[] a) {
+        requireNonNull(a);
+        int size = size();
+        T[] arrayToFill = a.length < size ? (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size) : a;
+        int index = 0;
+        for(int slot = 0; slot < usedSlots; slot++)
+            if(items[slot] != null) {
+                Arrays.fill(arrayToFill, index, index + counts[slot], items[slot]);
+                index += counts[slot];
+            }
+        if(a.length > size)
+            arrayToFill[size] = null;
+        return arrayToFill;
+    }
+
+    /**
+     * Returns the {@code k} elements with the highest counts, most frequent first. Ties are broken arbitrarily.
+     * Runs in O(n log k) for n distinct elements.
+     *
+     * @param k the maximum number of entries returned
+     * @return up to {@code k} entries in descending order of count
+     * @throws IllegalArgumentException if {@code k} is negative
+     */
+    public List<Entry<E>> topK(final int k) {
+        if(k < 0)
+            throw new IllegalArgumentException();
+        PriorityQueue<Entry<E>> heap = new PriorityQueue<>(Math.max(1, Math.min(k, distinct)), Comparator.comparingInt(Entry::count));
+        for(int slot = 0; slot < usedSlots && k > 0; slot++)
+            if(items[slot] != null) {
+                if(heap.size() < k)
+                    heap.add(new Entry<>((E) items[slot], counts[slot]));
+                else if(counts[slot] > heap.peek().count()) {
+                    heap.poll();
+                    heap.add(new Entry<>((E) items[slot], counts[slot]));
+                }
+            }
+        List<Entry<E>> top = new ArrayList<>(heap);
+        top.sort(Comparator.comparingInt(Entry<E>::count).reversed());
+        return top;
+    }
+
+    /**
+     * Returns String representation of CustomMultiset, each element followed by its count.
+     *
+     * @return String representation of CustomMultiset
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for(int slot = 0; slot < usedSlots; slot++)
+            if(items[slot] != null) {
+                if(sb.length() > 1)
+                    sb.append(", ");
+                sb.append(items[slot]).append('=').append(counts[slot]);
+            }
+        return sb.append('}').toString();
+    }
+
+    private int allocateSlot() {
+        if(freeSlot != 0) {
+            int slot = freeSlot - 1;
+            freeSlot = next[slot];
+            return slot;
+        }
+        if(usedSlots == items.length)
+            resizeEntries((int) Math.min(Integer.MAX_VALUE - 8, Math.max(2L * items.length, CustomSet.primes[0])));
+        return usedSlots++;
+    }
+
+    private int find(final Object item, final int hash, final int index) {
+        for(int slot = buckets[index] - 1; slot >= 0; slot = next[slot] - 1)
+            if(hashes[slot] == hash && item.equals(items[slot]))
+                return slot;
+        return -1;
+    }
+
+    private void generateSet(final int initialCapacity) {
+        int[] primes = CustomSet.primes;
+        primesIndex = primes.length - 1;
+        for(int i = 0; i < primes.length; i++)
+            if(primes[i] >= initialCapacity) {
+                primesIndex = i;
+                break;
+            }
+        setSize = primes[primesIndex];
+        buckets = new int[setSize];
+        int capacity = (int) (setSize * LOAD_FACTOR) + 1;
+        items = new Object[capacity];
+        hashes = new int[capacity];
+        counts = new int[capacity];
+        next = new int[capacity];
+        freeSlot = 0;
+        usedSlots = 0;
+    }
+
+    private int indexFor(final int hash) {
+        return (hash & 0x7FFFFFFF) % setSize;
+    }
+
+    private void insert(final E item, final int hash, final int index, final int count) {
+        int slot = allocateSlot();
+        items[slot] = item;
+        hashes[slot] = hash;
+        counts[slot] = count;
+        next[slot] = buckets[index];
+        buckets[index] = slot + 1;
+        distinct++;
+        total += count;
+        if((double) distinct / setSize > LOAD_FACTOR && primesIndex < CustomSet.primes.length - 1)
+            rehash(CustomSet.primes[++primesIndex]);
+    }
+
+    /**
+     * Relinks every live entry into a new bucket array of the given size; free slots keep their free-list links.
+     */
+    private void rehash(final int newSize) {
+        setSize = newSize;
+        buckets = new int[setSize];
+        for(int slot = 0; slot < usedSlots; slot++)
+            if(items[slot] != null) {
+                int index = indexFor(hashes[slot]);
+                next[slot] = buckets[index];
+                buckets[index] = slot + 1;
+            }
+    }
+
+    private void resizeEntries(final int capacity) {
+        items = Arrays.copyOf(items, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        next = Arrays.copyOf(next, capacity);
+    }
+
+    private void unlink(final int index, final int previous, final int slot) {
+        if(previous < 0)
+            buckets[index] = next[slot];
+        else
+            next[previous] = next[slot];
+        total -= counts[slot];
+        items[slot] = null;
+        counts[slot] = 0;
+        next[slot] = freeSlot;
+        freeSlot = slot + 1;
+        distinct--;
+    }
+}
@@ -4,9 +4,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 import java.util.Set;
 import java.util.stream.IntStream;
 
@@ -24,18 +23,33 @@ import static java.util.Objects.requireNonNull;
  */
 public class CustomSet<E> implements Set<E> {
 
+    private static final int CHAIN_SAMPLES = 512;
+
     private double LOAD_FACTOR = 0.75;
+    private double maxLoadFactor = 0;
+    private double minLoadFactor = 0;
     private int primesIndex = 0;
+    private int setHash = 0;
     private int size = 0;
     private int setSize = primes[primesIndex];
 
-    private LinkedList<E>[] set;
+    /*
+     * Buckets and entries use slot + 1, so 0 marks an empty bucket or the end of a chain. Entry slots are
+     * parallel arrays; a removed slot is pushed onto the free list through next[] and reused by the next add,
+     * so a steady add/remove workload does not allocate.
+     */
+    private int[] buckets;
+    private Object[] items;
+    private int[] hashes;
+    private int[] next;
+    private int freeSlot = 0;
+    private int usedSlots = 0;
 
     /**
      * Constructs an empty set with default initial capacity (17) and load factor (0.75).
      */
     public CustomSet() {
-        set = new LinkedList[setSize];
+        generateSet(primes[0]);
     }
 
     /**
@@ -78,6 +92,28 @@ public class CustomSet<E> implements Set<E> {
         generateSet(initialCapacity);
     }
 
+    /**
+     * Constructs an empty set whose load factor adapts to how well the elements' hash codes spread. On every
+     * {@code expand()} up to 512 buckets are sampled and their mean chain length is compared with the length
+     * expected from uniform hashing at the current load. Keys that spread as well as expected raise the load
+     * factor by up to 25% per expansion, so the table grows more slowly; keys that collide lower it in proportion,
+     * so the next table is chosen larger. The load factor starts at 0.75 and always stays within the given bounds.
+     *
+     * @param initialCapacity the initial capacity
+     * @param minLoadFactor the lowest load factor the set may adopt
+     * @param maxLoadFactor the highest load factor the set may adopt
+     * @throws IllegalArgumentException if the initial capacity is negative, either bound is non-positive, NaN or
+     *         infinite, or {@code minLoadFactor} is greater than {@code maxLoadFactor}
+     */
+    public CustomSet(final int initialCapacity, final double minLoadFactor, final double maxLoadFactor) {
+        this(initialCapacity, minLoadFactor);
+        if(Double.isNaN(maxLoadFactor) || Double.isInfinite(maxLoadFactor) || maxLoadFactor < minLoadFactor)
+            throw new IllegalArgumentException();
+        this.minLoadFactor = minLoadFactor;
+        this.maxLoadFactor = maxLoadFactor;
+        this.LOAD_FACTOR = Math.min(Math.max(0.75, minLoadFactor), maxLoadFactor);
+    }
+
     /**
      * Adds the specified element to this set if it is not already present.
      * If this set already contains the element, the call leaves the set unchanged
@@ -87,14 +123,18 @@ public class CustomSet<E> implements Set<E> {
      * @return {@code true} if this set did not already contain the specified element
      */
     public boolean add(final E item) {
-        int index = Math.abs(item.hashCode()) % setSize;
-        if(contains(item, index))
+        int hash = item.hashCode();
+        int index = indexFor(hash);
+        if(find(item, hash, index) >= 0)
             return false;
-        if(set[index] == null)
-            set[index] = new LinkedList<>();
-        set[index].add(item);
+        int slot = allocateSlot();
+        items[slot] = item;
+        hashes[slot] = hash;
+        next[slot] = buckets[index];
+        buckets[index] = slot + 1;
+        setHash += hash;
         size++;
-        if((double) size / (double) setSize > LOAD_FACTOR && primesIndex < primes.length)
+        if((double) size / (double) setSize > LOAD_FACTOR && primesIndex < primes.length - 1)
             expand();
         return true;
     }
@@ -121,10 +161,9 @@ public class CustomSet<E> implements Set<E> {
      * The set will be empty after this call returns.
      */
     public void clear() {
-        primesIndex = 0;
-        setSize = primes[primesIndex];
+        setHash = 0;
         size = 0;
-        set = new LinkedList[setSize];
+        generateSet(primes[0]);
     }
 
     public CustomSet<E> clone() {
@@ -140,10 +179,8 @@ public class CustomSet<E> implements Set<E> {
      */
     public boolean contains(final Object item) {
         requireNonNull(item);
-        int index = Math.abs(item.hashCode()) % setSize;
-        if(set[index] == null)
-            return false;
-        return set[index].contains(item);
+        int hash = item.hashCode();
+        return find(item, hash, indexFor(hash)) >= 0;
     }
 
     /**
@@ -156,12 +193,18 @@ public class CustomSet<E> implements Set<E> {
      */
     public boolean containsAll(final Collection<?> c) {
         requireNonNull(c);
-        return c.stream().allMatch(this::contains);
+        if(c instanceof SortedIdSetView<?> view && mergesWith(view))
+            return view.size() <= size && view.intersect(sortedKeys(view)) == view.size();
+        for(Object item : c)
+            if(!contains(item))
+                return false;
+        return true;
     }
 
     /**
      * Compares this set with another customset for equality. Returns true if the other
-     * set has the same size and contains all the same elements.
+     * set has the same size and contains all the same elements. Another {@code CustomSet}
+     * whose cached hash code differs is rejected without looking at any element.
      *
      * @param o the object to compare with
      * @return true if the sets are equal
@@ -171,6 +214,10 @@ public class CustomSet<E> implements Set<E> {
             return true;
         if(!(o instanceof Set<?> other) || other.size() != size())
             return false;
+        if(o instanceof CustomSet<?> customSet && customSet.setHash != setHash)
+            return false;
+        if(o instanceof SortedIdSetView<?> view && view.hashCode() != setHash)
+            return false;
         return containsAll(other);
     }
 
@@ -178,15 +225,12 @@ public class CustomSet<E> implements Set<E> {
      * Returns the hash code value for this set. The hash code of a set is
      * defined to be the sum of the hash codes of the elements in the set,
      * where the hash code of a {@code null} element is defined to be zero.
+     * The sum is maintained on every insertion and removal, so this is O(1).
      *
      * @return the hash code value for this set
      */
     public int hashCode() {
-        return Arrays.stream(set)
-                .filter(Objects::nonNull)
-                .flatMap(Collection::stream)
-                .mapToInt(Object::hashCode)
-                .sum();
+        return setHash;
     }
 
     /**
@@ -206,8 +250,7 @@ public class CustomSet<E> implements Set<E> {
      */
     public Iterator<E> iterator() {
         return new Iterator<>() {
-            private int bucketIndex = 0;
-            private Iterator<E> currentIterator = null;
+            private int slot = 0;
             private int elementsReturned = 0;
 
             public boolean hasNext() {
@@ -217,15 +260,12 @@ public class CustomSet<E> implements Set<E> {
             public E next() {
                 if(!hasNext())
                     throw new NoSuchElementException();
-                while(currentIterator == null || !currentIterator.hasNext()) {
-                    while (bucketIndex < set.length && set[bucketIndex] == null)
-                        bucketIndex++;
-                    if(bucketIndex >= set.length)
-                        throw new NoSuchElementException();
-                    currentIterator = set[bucketIndex++].iterator();
-                }
+                while(slot < usedSlots && items[slot] == null)
+                    slot++;
+                if(slot >= usedSlots)
+                    throw new NoSuchElementException();
                 elementsReturned++;
-                return currentIterator.next();
+                return (E) items[slot++];
             }
         };
     }
@@ -240,16 +280,16 @@ public class CustomSet<E> implements Set<E> {
      */
     public boolean remove(final Object item) {
         requireNonNull(item);
-        int index = Math.abs(item.hashCode()) % setSize;
-        if(!contains(item, index))
-            return false;
-        set[index].remove(item);
-        if(set[index].isEmpty())
-            set[index] = null;
-        size--;
-        if(setSize > primes[0] && size <= setSize / 4)
-            reduce();
-        return true;
+        int hash = item.hashCode();
+        int index = indexFor(hash);
+        for(int previous = -1, slot = buckets[index] - 1; slot >= 0; previous = slot, slot = next[slot] - 1)
+            if(hashes[slot] == hash && item.equals(items[slot])) {
+                unlink(index, previous, slot);
+                if(setSize > primes[0] && size <= setSize / 4)
+                    reduce();
+                return true;
+            }
+        return false;
     }
 
     /**
@@ -286,12 +326,26 @@ public class CustomSet<E> implements Set<E> {
      */
     public boolean retainAll(final Collection<?> c) {
         requireNonNull(c);
-        if(c.contains(null))
+        if(!(c instanceof SortedIdSetView) && c.contains(null))
             throw new NullPointerException();
+        SortedIdSetView<?> view = c instanceof SortedIdSetView<?> sortedView && mergesWith(sortedView) ? sortedView : null;
+        long[] keys = view == null ? null : sortedKeys(view);
+        int retained = view == null ? 0 : view.intersect(keys);
         boolean modified = false;
-        for(int i = 0; i < set.length; i++)
-            if(set[i] != null)
-                modified = retainBucket(c, i) || modified;
+        for(int index = 0; index < setSize; index++) {
+            int previous = -1;
+            int slot = buckets[index] - 1;
+            while(slot >= 0) {
+                int following = next[slot] - 1;
+                Object item = items[slot];
+                if(view == null ? !c.contains(item) : !view.isKey(item) || Arrays.binarySearch(keys, 0, retained, ((Number) item).longValue()) < 0) {
+                    unlink(index, previous, slot);
+                    modified = true;
+                } else
+                    previous = slot;
+                slot = following;
+            }
+        }
         if(setSize > primes[0] && size <= setSize / 4)
             reduce();
         return modified;
@@ -315,11 +369,10 @@ public class CustomSet<E> implements Set<E> {
      */
     public E[] toArray() {
         E[] arr = (E[]) new Object[size];
-        int[] index = {0};
-        Arrays.stream(set)
-                .filter(Objects::nonNull)
-                .flatMap(Collection::stream)
-                .forEach(item -> arr[index[0]++] = item);
+        int index = 0;
+        for(int slot = 0; slot < usedSlots; slot++)
+            if(items[slot] != null)
+                arr[index++] = (E) items[slot];
         return arr;
     }
 
@@ -341,11 +394,10 @@ public class CustomSet<E> implements Set<E> {
         requireNonNull(a);
         T[] arrayToFill;
         arrayToFill = a.length < size ? (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size) : a;
-        int[] index = {0};
-        Arrays.stream(set)
-                .filter(Objects::nonNull)
-                .flatMap(Collection::stream)
-                .forEach(item -> arrayToFill[index[0]++] = (T) item);
+        int index = 0;
+        for(int slot = 0; slot < usedSlots; slot++)
+            if(items[slot] != null)
+                arrayToFill[index++] = (T) items[slot];
         if(a.length > size)
             arrayToFill[size] = null;
         return arrayToFill;
@@ -360,36 +412,160 @@ public class CustomSet<E> implements Set<E> {
         if(size == 0)
             return "{}";
         StringBuilder sb = new StringBuilder("{");
-        boolean[] first = {true};
-        Arrays.stream(set)
-                .filter(Objects::nonNull)
-                .flatMap(Collection::stream)
-                .forEach(item -> {
-                    if(!first[0])
-                        sb.append(", ");
-                    sb.append(item);
-                    first[0] = false;
-                });
+        for(int slot = 0; slot < usedSlots; slot++)
+            if(items[slot] != null) {
+                if(sb.length() > 1)
+                    sb.append(", ");
+                sb.append(items[slot]);
+            }
         return sb.append('}').toString();
     }
 
-    private boolean contains(final Object item, final int index) {
-        return set[index] != null && set[index].contains(item);
+    /**
+     * Returns the current number of buckets in the table.
+     *
+     * @return the bucket count
+     */
+    int capacity() {
+        return setSize;
     }
 
-    private void expand() {
-        setSize = primes[++primesIndex];
-        LinkedList<E>[] newSet = new LinkedList[setSize];
-        Arrays.stream(set)
-                .filter(Objects::nonNull)
-                .flatMap(Collection::stream)
-                .forEach(item -> {
-                    int index = Math.abs(item.hashCode()) % setSize;
-                    if(newSet[index] == null)
-                        newSet[index] = new LinkedList<>();
-                    newSet[index].add(item);
+    /**
+     * Builds a set from elements gathered in chunks, sizing the table once for the total element count. The bucket
+     * array is split into {@code partitions} contiguous ranges that are filled in parallel: every partition owns its
+     * buckets and a slot range as long as the number of elements hashing into them, so no two workers touch the same
+     * bucket or slot. A counting sort first scatters every element into its partition's slot range, so each worker
+     * walks only its own elements, compacting out duplicates as it links them. Slots left empty by duplicates are put
+     * on the free list afterwards.
+     *
+     * @param chunks arrays filled with the elements to add
+     * @param partitions the number of bucket ranges built in parallel
+     * @return a new set containing the distinct elements of all chunks
+     * @throws NullPointerException if any element is null
+     */
+    static <E> CustomSet<E> fromChunks(final List<Object[]> chunks, final int partitions) {
+        long total = 0;
+        for(Object[] chunk : chunks)
+            total += chunk.length;
+        if(total > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException();
+        CustomSet<E> customSet = new CustomSet<>(0);
+        customSet.generateSet((int) Math.min(Integer.MAX_VALUE - 8, (long) (total / customSet.LOAD_FACTOR) + 1));
+        if(customSet.items.length < total)
+            customSet.resizeEntries((int) total);
+        int setSize = customSet.setSize;
+        int[][] chunkHashes = new int[chunks.size()][];
+        int[][] partitionCounts = new int[chunks.size()][partitions];
+        parallel(chunks.size(), partitions).forEach(c -> {
+            Object[] chunk = chunks.get(c);
+            int[] hashes = new int[chunk.length];
+            for(int i = 0; i < chunk.length; i++) {
+                hashes[i] = chunk[i].hashCode();
+                partitionCounts[c][partitionOf(customSet.indexFor(hashes[i]), setSize, partitions)]++;
+            }
+            chunkHashes[c] = hashes;
+        });
+        int[] slotBase = new int[partitions + 1];
+        for(int p = 0; p < partitions; p++) {
+            slotBase[p + 1] = slotBase[p];
+            for(int[] counts : partitionCounts)
+                slotBase[p + 1] += counts[p];
+        }
+        int[] cursor = Arrays.copyOf(slotBase, partitions);
+        for(int[] counts : partitionCounts)
+            for(int p = 0; p < partitions; p++) {
+                int count = counts[p];
+                counts[p] = cursor[p];
+                cursor[p] += count;
+            }
+        parallel(chunks.size(), partitions).forEach(c -> {
+            Object[] chunk = chunks.get(c);
+            int[] hashes = chunkHashes[c];
+            int[] nextSlot = partitionCounts[c];
+            for(int i = 0; i < chunk.length; i++) {
+                int slot = nextSlot[partitionOf(customSet.indexFor(hashes[i]), setSize, partitions)]++;
+                customSet.items[slot] = chunk[i];
+                customSet.hashes[slot] = hashes[i];
+            }
+        });
+        int[] inserted = new int[partitions];
+        int[] hashSums = new int[partitions];
+        parallel(partitions, partitions).forEach(p -> {
+            int slot = slotBase[p];
+            int hashSum = 0;
+            for(int read = slotBase[p]; read < slotBase[p + 1]; read++) {
+                Object item = customSet.items[read];
+                int hash = customSet.hashes[read];
+                int index = customSet.indexFor(hash);
+                if(customSet.find(item, hash, index) >= 0)
+                    continue;
+                customSet.items[slot] = item;
+                customSet.hashes[slot] = hash;
+                customSet.next[slot] = customSet.buckets[index];
+                customSet.buckets[index] = slot + 1;
+                hashSum += hash;
+                slot++;
+            }
+            inserted[p] = slot - slotBase[p];
+            hashSums[p] = hashSum;
         });
-        set = newSet;
+        customSet.usedSlots = (int) total;
+        for(int p = 0; p < partitions; p++) {
+            customSet.size += inserted[p];
+            customSet.setHash += hashSums[p];
+            for(int slot = slotBase[p] + inserted[p]; slot < slotBase[p + 1]; slot++) {
+                customSet.items[slot] = null;
+                customSet.next[slot] = customSet.freeSlot;
+                customSet.freeSlot = slot + 1;
+            }
+        }
+        return customSet;
+    }
+
+    /**
+     * Returns the load factor currently in effect, which only changes for an adaptive set.
+     *
+     * @return the load factor
+     */
+    double loadFactor() {
+        return LOAD_FACTOR;
+    }
+
+    private int allocateSlot() {
+        if(freeSlot != 0) {
+            int slot = freeSlot - 1;
+            freeSlot = next[slot];
+            return slot;
+        }
+        if(usedSlots == items.length)
+            resizeEntries((int) Math.min(Integer.MAX_VALUE - 8, Math.max(2L * items.length, primes[0])));
+        return usedSlots++;
+    }
+
+    private int entryCapacity() {
+        return Math.max(primes[0], (int) (setSize * Math.min(LOAD_FACTOR, 1.0)) + 1);
+    }
+
+    private void expand() {
+        if(maxLoadFactor == 0) {
+            setSize = primes[++primesIndex];
+            rehash();
+            return;
+        }
+        tuneLoadFactor();
+        double target = size / LOAD_FACTOR;
+        do
+            primesIndex++;
+        while(primes[primesIndex] < target && primesIndex < primes.length - 1);
+        setSize = primes[primesIndex];
+        rehash();
+    }
+
+    private int find(final Object item, final int hash, final int index) {
+        for(int slot = buckets[index] - 1; slot >= 0; slot = next[slot] - 1)
+            if(hashes[slot] == hash && item.equals(items[slot]))
+                return slot;
+        return -1;
     }
 
     private void generateSet(final int initialCapacity) {
@@ -406,37 +582,133 @@ public class CustomSet<E> implements Set<E> {
                     break;
                 }
             }
-        set = new LinkedList[setSize];
+        buckets = new int[setSize];
+        int capacity = entryCapacity();
+        items = new Object[capacity];
+        hashes = new int[capacity];
+        next = new int[capacity];
+        freeSlot = 0;
+        usedSlots = 0;
     }
 
+    private int indexFor(final int hash) {
+        return (hash & 0x7FFFFFFF) % setSize;
+    }
+
+    /**
+     * Returns {@code true} if the view is large enough that sorting this set's keys and merging them with it, in
+     * O(n log n), costs no more than looking up each of its m elements, which is O(m) hashed or O(n log m) in the view.
+     */
+    private boolean mergesWith(final SortedIdSetView<?> view) {
+        return (long) view.size() * (32 - Integer.numberOfLeadingZeros(size)) >= size;
+    }
+
+    private static IntStream parallel(final int count, final int partitions) {
+        IntStream range = IntStream.range(0, count);
+        return partitions > 1 ? range.parallel() : range;
+    }
+
+    private static int partitionOf(final int index, final int setSize, final int partitions) {
+        return (int) ((long) index * partitions / setSize);
+    }
+
+    /**
+     * Shrinks the bucket array and compacts the live entries into entry arrays sized for the new table.
+     */
     private void reduce() {
         primesIndex--;
         setSize = primes[primesIndex];
-        LinkedList<E>[] newSet = new LinkedList[setSize];
-        IntStream.range(0, set.length)
-                .filter(i -> set[i] != null)
-                .forEach(i -> set[i].forEach(item -> {
-                    int index = Math.abs(item.hashCode()) % setSize;
-                    if(newSet[index] == null)
-                        newSet[index] = new LinkedList<>();
-                    newSet[index].add(item);
-                }));
-        set = newSet;
-    }
-
-    private boolean retainBucket(final Collection<?> c, int index) {
-        LinkedList<E> list = set[index];
-        Iterator<E> iterator = list.iterator();
-        boolean modified = false;
-        while(iterator.hasNext())
-            if(!c.contains(iterator.next())) {
-                iterator.remove();
-                size--;
-                modified = true;
+        resizeEntries(Math.max(size, entryCapacity()));
+        rehash();
+    }
+
+    /**
+     * Relinks every live entry into a new bucket array; free slots keep their free-list links.
+     */
+    private void rehash() {
+        buckets = new int[setSize];
+        for(int slot = 0; slot < usedSlots; slot++)
+            if(items[slot] != null) {
+                int index = indexFor(hashes[slot]);
+                next[slot] = buckets[index];
+                buckets[index] = slot + 1;
             }
-        if(list.isEmpty())
-            set[index] = null;
-        return modified;
+    }
+
+    /**
+     * Grows the entry arrays in place, or compacts live entries to the front of smaller ones. Compaction
+     * drops the free list, so callers must relink the buckets afterwards.
+     */
+    private void resizeEntries(final int capacity) {
+        if(capacity >= usedSlots) {
+            items = Arrays.copyOf(items, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            next = Arrays.copyOf(next, capacity);
+            return;
+        }
+        Object[] newItems = new Object[capacity];
+        int[] newHashes = new int[capacity];
+        int count = 0;
+        for(int slot = 0; slot < usedSlots; slot++)
+            if(items[slot] != null) {
+                newItems[count] = items[slot];
+                newHashes[count++] = hashes[slot];
+            }
+        items = newItems;
+        hashes = newHashes;
+        next = new int[capacity];
+        freeSlot = 0;
+        usedSlots = count;
+    }
+
+    /**
+     * Returns, in ascending order, the keys of the elements that have the view's ID type. Their count is at most
+     * {@code size}, so intersecting them with the view gallops through it rather than probing it once per element.
+     */
+    private long[] sortedKeys(final SortedIdSetView<?> view) {
+        long[] keys = new long[size];
+        int count = 0;
+        for(int slot = 0; slot < usedSlots; slot++)
+            if(items[slot] != null && view.isKey(items[slot]))
+                keys[count++] = ((Number) items[slot]).longValue();
+        keys = Arrays.copyOf(keys, count);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Scales the load factor by 1.25 / quality, where quality is the sampled mean length of non-empty chains divided
+     * by alpha / (1 - e^-alpha), its expected value under uniform hashing at load alpha. The step is capped at 1.25,
+     * so quality 1 or better, as with sequential keys, raises the load factor by 25%, quality 1.25 keeps it, and
+     * anything worse lowers it.
+     */
+    private void tuneLoadFactor() {
+        int stride = Math.max(1, setSize / CHAIN_SAMPLES);
+        long chained = 0;
+        int occupied = 0;
+        for(int index = 0; index < setSize; index += stride) {
+            if(buckets[index] != 0)
+                occupied++;
+            for(int slot = buckets[index] - 1; slot >= 0; slot = next[slot] - 1)
+                chained++;
+        }
+        if(occupied < CHAIN_SAMPLES / 16)
+            return;
+        double alpha = (double) size / setSize;
+        double quality = ((double) chained / occupied) / (alpha / -Math.expm1(-alpha));
+        LOAD_FACTOR = Math.min(Math.max(LOAD_FACTOR * Math.min(1.25 / quality, 1.25), minLoadFactor), maxLoadFactor);
+    }
+
+    private void unlink(final int index, final int previous, final int slot) {
+        if(previous < 0)
+            buckets[index] = next[slot];
+        else
+            next[previous] = next[slot];
+        setHash -= hashes[slot];
+        items[slot] = null;
+        next[slot] = freeSlot;
+        freeSlot = slot + 1;
+        size--;
     }
 
     protected static final int[] primes = { 17, 23, 29, 37, 47, 59, 71, 89, 107, 131, 163, 197, 239, 293, 353, 431, 521, 631, 761, 919,
@@ -0,0 +1,182 @@
+package customset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collects elements from any number of producer threads and builds a {@link CustomSet} from them in one pass.
+ * Each producing thread appends to its own chunk, so adding takes no lock and producers never contend on a shared
+ * table. {@link #build(int)} counts the elements once, creates the table at the prime capacity for that count and
+ * fills it, optionally splitting the bucket array into ranges filled in parallel, so the set never rehashes while
+ * loading. No {@code synchronized} block is entered on the add path, which keeps producers running on virtual
+ * threads from pinning their carrier. {@link #addAllAsync(Iterable, Executor)} and {@link #buildAsync(int)} expose
+ * the same steps as {@link CompletableFuture}s. A builder builds exactly one set; adding after the build has started
+ * throws {@link IllegalStateException}.
+ *
+ * @param <E> the type of elements collected
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class CustomSetBuilder<E> {
+
+    private static final int FIRST_CHUNK = 16;
+    private static final int MAX_CHUNK = 4096;
+
+    private final ConcurrentLinkedQueue<Chunk> chunks = new ConcurrentLinkedQueue<>();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final ThreadLocal<Chunk> local = new ThreadLocal<>();
+    private final ConcurrentLinkedQueue<CompletableFuture<?>> producers = new ConcurrentLinkedQueue<>();
+    private volatile boolean sealed = false;
+
+    /**
+     * Adds the specified element to the set being built. Duplicates are accepted and dropped by the build.
+     *
+     * @param item element to be added
+     * @return this builder
+     * @throws IllegalStateException if the set has already been built
+     * @throws NullPointerException if the specified element is null
+     */
+    public CustomSetBuilder<E> add(final E item) {
+        requireNonNull(item);
+        inFlight.incrementAndGet();
+        try {
+            if(sealed)
+                throw new IllegalStateException();
+            chunk().append(item);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        return this;
+    }
+
+    /**
+     * Adds every element of the specified iterable to the set being built, from the calling thread.
+     *
+     * @param items elements to be added
+     * @return this builder
+     * @throws IllegalStateException if the set has already been built
+     * @throws NullPointerException if the specified iterable is null or contains null elements
+     */
+    public CustomSetBuilder<E> addAll(final Iterable<? extends E> items) {
+        requireNonNull(items);
+        for(E item : items)
+            add(item);
+        return this;
+    }
+
+    /**
+     * Adds every element of the specified iterable on the given executor, for example one that starts a virtual
+     * thread per task. {@link #buildAsync(int)} waits for every producer started this way.
+     *
+     * @param items elements to be added
+     * @param executor the executor running the producer
+     * @return a future completed once every element has been added, or exceptionally if adding failed
+     * @throws NullPointerException if the specified iterable or executor is null
+     */
+    public CompletableFuture<Void> addAllAsync(final Iterable<? extends E> items, final Executor executor) {
+        requireNonNull(items);
+        requireNonNull(executor);
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> addAll(items), executor);
+        producers.add(producer);
+        return producer;
+    }
+
+    /**
+     * Builds the set on the calling thread.
+     *
+     * @return a new set containing the distinct elements added
+     * @throws IllegalStateException if the set has already been built
+     */
+    public CustomSet<E> build() {
+        return build(1);
+    }
+
+    /**
+     * Builds the set, filling {@code partitions} ranges of the bucket array in parallel on the common fork/join pool.
+     * Every add that returned before this call is included; adds racing with it either complete first or throw.
+     *
+     * @param partitions the number of bucket ranges filled in parallel, 1 to build on the calling thread
+     * @return a new set containing the distinct elements added
+     * @throws IllegalArgumentException if {@code partitions} is less than 1
+     * @throws IllegalStateException if the set has already been built
+     */
+    public CustomSet<E> build(final int partitions) {
+        if(partitions < 1)
+            throw new IllegalArgumentException();
+        synchronized(chunks) {
+            if(sealed)
+                throw new IllegalStateException();
+            sealed = true;
+        }
+        // One counter, not a LongAdder: its sum is not a snapshot, so it could read 0 while an add is still appending.
+        while(inFlight.get() != 0)
+            Thread.onSpinWait();
+        List<Object[]> filled = new ArrayList<>(chunks.size());
+        for(Chunk chunk : chunks)
+            if(chunk.count > 0)
+                filled.add(chunk.count == chunk.items.length ? chunk.items : Arrays.copyOf(chunk.items, chunk.count));
+        chunks.clear();
+        return CustomSet.fromChunks(filled, partitions);
+    }
+
+    /**
+     * Builds the set once every producer started by {@link #addAllAsync(Iterable, Executor)} has finished.
+     *
+     * @return a future completed with the set
+     */
+    public CompletableFuture<CustomSet<E>> buildAsync() {
+        return buildAsync(1);
+    }
+
+    /**
+     * Builds the set in {@code partitions} parallel ranges once every producer started by
+     * {@link #addAllAsync(Iterable, Executor)} has finished. The future completes exceptionally if a producer failed.
+     *
+     * @param partitions the number of bucket ranges filled in parallel
+     * @return a future completed with the set
+     * @throws IllegalArgumentException if {@code partitions} is less than 1
+     */
+    public CompletableFuture<CustomSet<E>> buildAsync(final int partitions) {
+        if(partitions < 1)
+            throw new IllegalArgumentException();
+        return CompletableFuture.allOf(producers.toArray(CompletableFuture[]::new)).thenApply(v -> build(partitions));
+    }
+
+    private Chunk chunk() {
+        Chunk chunk = local.get();
+        if(chunk == null || chunk.count == chunk.items.length) {
+            chunk = new Chunk(chunk == null ? FIRST_CHUNK : Math.min(MAX_CHUNK, chunk.items.length * 2));
+            local.set(chunk);
+            chunks.add(chunk);
+        }
+        return chunk;
+    }
+
+    /**
+     * Elements appended by one thread. {@code count} is volatile so the building thread sees every write that
+     * happened before the producer's in-flight counter was released.
+     */
+    private static final class Chunk {
+
+        private final Object[] items;
+        private volatile int count = 0;
+
+        private Chunk(final int capacity) {
+            items = new Object[capacity];
+        }
+
+        private void append(final Object item) {
+            items[count] = item;
+            count = count + 1;
+        }
+    }
+}
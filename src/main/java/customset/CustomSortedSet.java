@@ -0,0 +1,1222 @@
+package customset;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedSet;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A sorted implementation of the {@link NavigableSet} interface backed by a B+tree.
+ * Elements are kept in leaves of up to {@value #MAX} entries that are chained to their neighbours, so
+ * {@code ceiling}, {@code floor}, {@code higher}, {@code lower}, {@code add}, {@code remove} and
+ * {@code contains} cost O(log n) and range iteration walks contiguous arrays rather than tree nodes.
+ * {@code subSet}, {@code headSet} and {@code tailSet} return live views backed by this set.
+ * Sets built from a collection are bulk loaded bottom-up in O(n) when the input is already sorted.
+ * Like {@link java.util.TreeSet}, null elements are not permitted.
+ *
+ * @param <E> the type of elements maintained by this set
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class CustomSortedSet<E> implements NavigableSet<E> {
+
+    private static final int MAX = 64;
+    private static final int MIN = MAX / 2;
+
+    private final Comparator<? super E> comparator;
+    private Node root = new Leaf();
+    private int size = 0;
+    private int modCount = 0;
+
+    /**
+     * Constructs an empty set sorted according to the natural ordering of its elements.
+     */
+    public CustomSortedSet() {
+        this.comparator = null;
+    }
+
+    /**
+     * Constructs an empty set sorted according to the specified comparator.
+     *
+     * @param comparator the comparator used to order this set, or {@code null} for natural ordering
+     */
+    public CustomSortedSet(final Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Constructs a set containing the elements of the specified collection, sorted according to their natural ordering.
+     * The tree is built bottom-up in a single pass once the elements are sorted.
+     *
+     * @param c the collection whose elements are to be placed into this set
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     * @throws ClassCastException if the elements are not mutually comparable
+     */
+    public CustomSortedSet(final Collection<? extends E> c) {
+        this((Comparator<? super E>) null);
+        requireNonNull(c);
+        build(c.toArray(), false);
+    }
+
+    /**
+     * Constructs a set containing the elements of the specified sorted set, using the same ordering.
+     * As the input is already sorted and distinct the tree is built in O(n).
+     *
+     * @param s the sorted set whose elements are to be placed into this set
+     * @throws NullPointerException if the specified set is null or contains null elements
+     */
+    public CustomSortedSet(final SortedSet<E> s) {
+        this(requireNonNull(s).comparator());
+        build(s.toArray(), true);
+    }
+
+    /**
+     * Adds the specified element to this set if it is not already present.
+     *
+     * @param item element to be added to this set
+     * @return {@code true} if this set did not already contain the specified element
+     * @throws NullPointerException if the specified element is null
+     * @throws ClassCastException if the element cannot be compared with the elements in this set
+     */
+    public boolean add(final E item) {
+        requireNonNull(item);
+        if(size == 0)
+            compare(item, item);
+        int before = size;
+        Node split = insert(root, item);
+        if(split != null) {
+            Branch newRoot = new Branch();
+            newRoot.children[0] = root;
+            newRoot.children[1] = split;
+            newRoot.keys[1] = minKey(split);
+            newRoot.count = 2;
+            root = newRoot;
+        }
+        if(size == before)
+            return false;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Adds all the elements in the specified collection to this set if they're not already present.
+     * If this set is empty the tree is bulk loaded from the sorted contents of the collection.
+     *
+     * @param c collection containing elements to be added to this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean addAll(final Collection<? extends E> c) {
+        requireNonNull(c);
+        if(size == 0 && !c.isEmpty()) {
+            boolean sorted = c instanceof SortedSet<?> s && sameOrdering(s.comparator());
+            build(c.toArray(), sorted);
+            return true;
+        }
+        int n = size;
+        for(E item : c)
+            add(item);
+        return n < size;
+    }
+
+    /**
+     * Returns the least element in this set greater than or equal to the given element, or {@code null} if there is no such element.
+     *
+     * @param item the value to match
+     * @return the least element greater than or equal to {@code item}, or {@code null}
+     * @throws NullPointerException if the specified element is null
+     */
+    public E ceiling(final E item) {
+        return ceilingKey(requireNonNull(item), true);
+    }
+
+    /**
+     * Removes all the elements from this set.
+     */
+    public void clear() {
+        root = new Leaf();
+        size = 0;
+        modCount++;
+    }
+
+    public CustomSortedSet<E> clone() {
+        return new CustomSortedSet<>(this);
+    }
+
+    /**
+     * Returns the comparator used to order the elements in this set, or {@code null} if natural ordering is used.
+     *
+     * @return the comparator used to order the elements in this set
+     */
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns {@code true} if this set contains the specified element.
+     *
+     * @param item element whose presence in this set is to be tested
+     * @return {@code true} if this set contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean contains(final Object item) {
+        requireNonNull(item);
+        Leaf leaf = findLeaf(item);
+        return search(leaf.keys, leaf.count, item) >= 0;
+    }
+
+    /**
+     * Returns {@code true} if this set contains all the elements of the specified collection.
+     *
+     * @param c collection to be checked for containment in this set
+     * @return {@code true} if this set contains all the elements of the specified collection
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean containsAll(final Collection<?> c) {
+        requireNonNull(c);
+        for(Object item : c)
+            if(!contains(item))
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in descending order.
+     *
+     * @return an iterator over the elements in this set in descending order
+     */
+    public Iterator<E> descendingIterator() {
+        return new Itr(lastKey(), true, null);
+    }
+
+    /**
+     * Returns a reverse order view of the elements contained in this set.
+     *
+     * @return a reverse order view of this set
+     */
+    public NavigableSet<E> descendingSet() {
+        return new View(null, true, true, null, true, true, true);
+    }
+
+    /**
+     * Compares this set with another set for equality.
+     *
+     * @param o the object to compare with
+     * @return true if the sets are equal
+     */
+    public boolean equals(final Object o) {
+        if(o == this)
+            return true;
+        if(!(o instanceof Set<?> other) || other.size() != size())
+            return false;
+        try {
+            return containsAll(other);
+        } catch(ClassCastException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the first (lowest) element currently in this set.
+     *
+     * @return the first (lowest) element currently in this set
+     * @throws NoSuchElementException if this set is empty
+     */
+    public E first() {
+        if(size == 0)
+            throw new NoSuchElementException();
+        return (E) firstLeaf().keys[0];
+    }
+
+    /**
+     * Returns the greatest element in this set less than or equal to the given element, or {@code null} if there is no such element.
+     *
+     * @param item the value to match
+     * @return the greatest element less than or equal to {@code item}, or {@code null}
+     * @throws NullPointerException if the specified element is null
+     */
+    public E floor(final E item) {
+        return floorKey(requireNonNull(item), true);
+    }
+
+    /**
+     * Returns the hash code value for this set, defined to be the sum of the hash codes of its elements.
+     *
+     * @return the hash code value for this set
+     */
+    public int hashCode() {
+        int hash = 0;
+        for(Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next)
+            for(int i = 0; i < leaf.count; i++)
+                hash += leaf.keys[i].hashCode();
+        return hash;
+    }
+
+    /**
+     * Returns a view of the portion of this set whose elements are strictly less than {@code toElement}.
+     *
+     * @param toElement high endpoint (exclusive) of the returned set
+     * @return a view of the portion of this set whose elements are strictly less than {@code toElement}
+     */
+    public SortedSet<E> headSet(final E toElement) {
+        return headSet(toElement, false);
+    }
+
+    /**
+     * Returns a view of the portion of this set whose elements are less than (or equal to, if {@code inclusive} is true) {@code toElement}.
+     *
+     * @param toElement high endpoint of the returned set
+     * @param inclusive {@code true} if the high endpoint is to be included in the returned view
+     * @return a view of the portion of this set whose elements are less than {@code toElement}
+     * @throws NullPointerException if {@code toElement} is null
+     */
+    public NavigableSet<E> headSet(final E toElement, final boolean inclusive) {
+        compare(requireNonNull(toElement), toElement);
+        return new View(null, true, true, toElement, inclusive, false, false);
+    }
+
+    /**
+     * Returns the least element in this set strictly greater than the given element, or {@code null} if there is no such element.
+     *
+     * @param item the value to match
+     * @return the least element greater than {@code item}, or {@code null}
+     * @throws NullPointerException if the specified element is null
+     */
+    public E higher(final E item) {
+        return ceilingKey(requireNonNull(item), false);
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in ascending order.
+     *
+     * @return an iterator over the elements in this set in ascending order
+     */
+    public Iterator<E> iterator() {
+        return new Itr(size == 0 ? null : first(), false, null);
+    }
+
+    /**
+     * Returns the last (highest) element currently in this set.
+     *
+     * @return the last (highest) element currently in this set
+     * @throws NoSuchElementException if this set is empty
+     */
+    public E last() {
+        if(size == 0)
+            throw new NoSuchElementException();
+        return lastKey();
+    }
+
+    /**
+     * Returns the greatest element in this set strictly less than the given element, or {@code null} if there is no such element.
+     *
+     * @param item the value to match
+     * @return the greatest element less than {@code item}, or {@code null}
+     * @throws NullPointerException if the specified element is null
+     */
+    public E lower(final E item) {
+        return floorKey(requireNonNull(item), false);
+    }
+
+    /**
+     * Retrieves and removes the first (lowest) element, or returns {@code null} if this set is empty.
+     *
+     * @return the first element, or {@code null} if this set is empty
+     */
+    public E pollFirst() {
+        if(size == 0)
+            return null;
+        E item = first();
+        remove(item);
+        return item;
+    }
+
+    /**
+     * Retrieves and removes the last (highest) element, or returns {@code null} if this set is empty.
+     *
+     * @return the last element, or {@code null} if this set is empty
+     */
+    public E pollLast() {
+        if(size == 0)
+            return null;
+        E item = last();
+        remove(item);
+        return item;
+    }
+
+    /**
+     * Removes the specified element from this set if it is present.
+     *
+     * @param item object to be removed from this set, if present
+     * @return {@code true} if this set contained the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean remove(final Object item) {
+        requireNonNull(item);
+        if(size == 0 || !delete(root, item))
+            return false;
+        if(root instanceof Branch branch && branch.count == 1)
+            root = branch.children[0];
+        size--;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes from this set all of its elements that are contained in the specified collection.
+     *
+     * @param c collection containing elements to be removed from this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean removeAll(final Collection<?> c) {
+        requireNonNull(c);
+        boolean changed = false;
+        for(Object item : c)
+            if(remove(item))
+                changed = true;
+        return changed;
+    }
+
+    /**
+     * Retains only the elements in this set that are contained in the specified collection.
+     * The surviving elements are already in order, so the tree is rebuilt bottom-up in a single pass.
+     *
+     * @param c collection containing elements to be retained in this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean retainAll(final Collection<?> c) {
+        requireNonNull(c);
+        Object[] kept = new Object[size];
+        int n = 0;
+        for(Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next)
+            for(int i = 0; i < leaf.count; i++)
+                if(c.contains(leaf.keys[i]))
+                    kept[n++] = leaf.keys[i];
+        if(n == size)
+            return false;
+        build(Arrays.copyOf(kept, n), true);
+        return true;
+    }
+
+    /**
+     * Returns the number of elements in this set (its cardinality).
+     *
+     * @return the number of elements in this set (its cardinality)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a view of the portion of this set whose elements range from {@code fromElement} to {@code toElement}.
+     *
+     * @param fromElement low endpoint of the returned set
+     * @param fromInclusive {@code true} if the low endpoint is to be included in the returned view
+     * @param toElement high endpoint of the returned set
+     * @param toInclusive {@code true} if the high endpoint is to be included in the returned view
+     * @return a view of the portion of this set whose elements range from {@code fromElement} to {@code toElement}
+     * @throws NullPointerException if {@code fromElement} or {@code toElement} is null
+     * @throws IllegalArgumentException if {@code fromElement} is greater than {@code toElement}
+     */
+    public NavigableSet<E> subSet(final E fromElement, final boolean fromInclusive, final E toElement, final boolean toInclusive) {
+        if(compare(requireNonNull(fromElement), requireNonNull(toElement)) > 0)
+            throw new IllegalArgumentException();
+        return new View(fromElement, fromInclusive, false, toElement, toInclusive, false, false);
+    }
+
+    /**
+     * Returns a view of the portion of this set whose elements range from {@code fromElement}, inclusive, to {@code toElement}, exclusive.
+     *
+     * @param fromElement low endpoint (inclusive) of the returned set
+     * @param toElement high endpoint (exclusive) of the returned set
+     * @return a view of the portion of this set whose elements range from {@code fromElement} to {@code toElement}
+     */
+    public SortedSet<E> subSet(final E fromElement, final E toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    /**
+     * Returns a view of the portion of this set whose elements are greater than or equal to {@code fromElement}.
+     *
+     * @param fromElement low endpoint (inclusive) of the returned set
+     * @return a view of the portion of this set whose elements are greater than or equal to {@code fromElement}
+     */
+    public SortedSet<E> tailSet(final E fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    /**
+     * Returns a view of the portion of this set whose elements are greater than (or equal to, if {@code inclusive} is true) {@code fromElement}.
+     *
+     * @param fromElement low endpoint of the returned set
+     * @param inclusive {@code true} if the low endpoint is to be included in the returned view
+     * @return a view of the portion of this set whose elements are greater than {@code fromElement}
+     * @throws NullPointerException if {@code fromElement} is null
+     */
+    public NavigableSet<E> tailSet(final E fromElement, final boolean inclusive) {
+        compare(requireNonNull(fromElement), fromElement);
+        return new View(fromElement, inclusive, false, null, true, true, false);
+    }
+
+    /**
+     * Returns an array containing all the elements in this set in ascending order.
+     *
+     * @return an array containing all the elements in this set
+     */
+    public Object[] toArray() {
+        Object[] arr = new Object[size];
+        int index = 0;
+        for(Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            System.arraycopy(leaf.keys, 0, arr, index, leaf.count);
+            index += leaf.count;
+        }
+        return arr;
+    }
+
+    /**
+     * Returns an array containing all the elements in this set in ascending order; the
+     * runtime type of the returned array is that of the specified array.
+     *
+     * @param a the array into which the elements of this set are to be stored, if it is big enough;
+     *          otherwise, a new array of the same runtime type is allocated
+     * @return an array containing all the elements in this set
+     * @throws NullPointerException if the specified array is null
+     */
+    public <T> T[] toArray(T[] a) {
+        requireNonNull(a);
+        T[] arrayToFill = a.length < size ? (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size) : a;
+        int index = 0;
+        for(Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            System.arraycopy(leaf.keys, 0, arrayToFill, index, leaf.count);
+            index += leaf.count;
+        }
+        if(a.length > size)
+            arrayToFill[size] = null;
+        return arrayToFill;
+    }
+
+    /**
+     * Returns String representation of CustomSortedSet in ascending order
+     *
+     * @return String representation of CustomSortedSet
+     */
+    public String toString() {
+        if(size == 0)
+            return "{}";
+        StringBuilder sb = new StringBuilder("{");
+        for(Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next)
+            for(int i = 0; i < leaf.count; i++) {
+                if(sb.length() > 1)
+                    sb.append(", ");
+                sb.append(leaf.keys[i]);
+            }
+        return sb.append('}').toString();
+    }
+
+    private void build(final Object[] items, final boolean sorted) {
+        for(Object item : items)
+            requireNonNull(item);
+        Object[] keys = items;
+        if(!sorted) {
+            Arrays.sort(keys, (Comparator<Object>) this::compare);
+            int n = 0;
+            for(int i = 0; i < keys.length; i++)
+                if(n == 0 || compare(keys[n - 1], keys[i]) != 0)
+                    keys[n++] = keys[i];
+            keys = Arrays.copyOf(keys, n);
+        }
+        modCount++;
+        size = keys.length;
+        if(size <= MAX) {
+            Leaf leaf = new Leaf();
+            System.arraycopy(keys, 0, leaf.keys, 0, size);
+            leaf.count = size;
+            root = leaf;
+            return;
+        }
+        int leafCount = (size + MAX - 1) / MAX;
+        Node[] level = new Node[leafCount];
+        Object[] mins = new Object[leafCount];
+        Leaf previous = null;
+        for(int i = 0, from = 0; i < leafCount; i++) {
+            int to = (int) ((long) size * (i + 1) / leafCount);
+            Leaf leaf = new Leaf();
+            System.arraycopy(keys, from, leaf.keys, 0, to - from);
+            leaf.count = to - from;
+            leaf.prev = previous;
+            if(previous != null)
+                previous.next = leaf;
+            previous = leaf;
+            level[i] = leaf;
+            mins[i] = keys[from];
+            from = to;
+        }
+        while(level.length > 1) {
+            int branchCount = (level.length + MAX - 1) / MAX;
+            Node[] parents = new Node[branchCount];
+            Object[] parentMins = new Object[branchCount];
+            for(int i = 0, from = 0; i < branchCount; i++) {
+                int to = (int) ((long) level.length * (i + 1) / branchCount);
+                Branch branch = new Branch();
+                System.arraycopy(level, from, branch.children, 0, to - from);
+                System.arraycopy(mins, from, branch.keys, 0, to - from);
+                branch.count = to - from;
+                parents[i] = branch;
+                parentMins[i] = mins[from];
+                from = to;
+            }
+            level = parents;
+            mins = parentMins;
+        }
+        root = level[0];
+    }
+
+    private E ceilingKey(final Object item, final boolean inclusive) {
+        Leaf leaf = findLeaf(item);
+        int index = search(leaf.keys, leaf.count, item);
+        index = index >= 0 ? (inclusive ? index : index + 1) : -index - 1;
+        if(index < leaf.count)
+            return (E) leaf.keys[index];
+        return leaf.next == null ? null : (E) leaf.next.keys[0];
+    }
+
+    private int compare(final Object a, final Object b) {
+        return comparator == null ? ((Comparable<Object>) a).compareTo(b) : comparator.compare((E) a, (E) b);
+    }
+
+    private boolean delete(final Node node, final Object item) {
+        if(node instanceof Leaf leaf) {
+            int index = search(leaf.keys, leaf.count, item);
+            if(index < 0)
+                return false;
+            System.arraycopy(leaf.keys, index + 1, leaf.keys, index, leaf.count - index - 1);
+            leaf.keys[--leaf.count] = null;
+            return true;
+        }
+        Branch branch = (Branch) node;
+        int childIndex = childIndex(branch, item);
+        if(!delete(branch.children[childIndex], item))
+            return false;
+        if(branch.children[childIndex].count < MIN && branch.count > 1)
+            rebalance(branch, childIndex);
+        return true;
+    }
+
+    private Leaf findLeaf(final Object item) {
+        Node node = root;
+        while(node instanceof Branch branch)
+            node = branch.children[childIndex(branch, item)];
+        return (Leaf) node;
+    }
+
+    private Leaf firstLeaf() {
+        Node node = root;
+        while(node instanceof Branch branch)
+            node = branch.children[0];
+        return (Leaf) node;
+    }
+
+    private E floorKey(final Object item, final boolean inclusive) {
+        Leaf leaf = findLeaf(item);
+        int index = search(leaf.keys, leaf.count, item);
+        index = index >= 0 ? (inclusive ? index : index - 1) : -index - 2;
+        if(index >= 0)
+            return (E) leaf.keys[index];
+        return leaf.prev == null ? null : (E) leaf.prev.keys[leaf.prev.count - 1];
+    }
+
+    private Node insert(final Node node, final E item) {
+        if(node instanceof Leaf leaf) {
+            int index = search(leaf.keys, leaf.count, item);
+            if(index >= 0)
+                return null;
+            size++;
+            return insertAt(leaf, -index - 1, item);
+        }
+        Branch branch = (Branch) node;
+        int childIndex = childIndex(branch, item);
+        Node split = insert(branch.children[childIndex], item);
+        if(split == null)
+            return null;
+        return insertChild(branch, childIndex + 1, minKey(split), split);
+    }
+
+    private Node insertAt(final Leaf leaf, final int index, final E item) {
+        if(leaf.count < MAX) {
+            System.arraycopy(leaf.keys, index, leaf.keys, index + 1, leaf.count - index);
+            leaf.keys[index] = item;
+            leaf.count++;
+            return null;
+        }
+        Leaf right = new Leaf();
+        System.arraycopy(leaf.keys, MIN, right.keys, 0, MAX - MIN);
+        Arrays.fill(leaf.keys, MIN, MAX, null);
+        leaf.count = MIN;
+        right.count = MAX - MIN;
+        right.next = leaf.next;
+        right.prev = leaf;
+        if(leaf.next != null)
+            leaf.next.prev = right;
+        leaf.next = right;
+        if(index <= MIN)
+            insertAt(leaf, index, item);
+        else
+            insertAt(right, index - MIN, item);
+        return right;
+    }
+
+    private Node insertChild(final Branch branch, final int index, final Object key, final Node child) {
+        if(branch.count < MAX) {
+            System.arraycopy(branch.keys, index, branch.keys, index + 1, branch.count - index);
+            System.arraycopy(branch.children, index, branch.children, index + 1, branch.count - index);
+            branch.keys[index] = key;
+            branch.children[index] = child;
+            branch.count++;
+            return null;
+        }
+        Branch right = new Branch();
+        System.arraycopy(branch.keys, MIN, right.keys, 0, MAX - MIN);
+        System.arraycopy(branch.children, MIN, right.children, 0, MAX - MIN);
+        Arrays.fill(branch.keys, MIN, MAX, null);
+        Arrays.fill(branch.children, MIN, MAX, null);
+        branch.count = MIN;
+        right.count = MAX - MIN;
+        if(index <= MIN)
+            insertChild(branch, index, key, child);
+        else
+            insertChild(right, index - MIN, key, child);
+        return right;
+    }
+
+    private E lastKey() {
+        if(size == 0)
+            return null;
+        Node node = root;
+        while(node instanceof Branch branch)
+            node = branch.children[branch.count - 1];
+        Leaf leaf = (Leaf) node;
+        return (E) leaf.keys[leaf.count - 1];
+    }
+
+    private Object minKey(final Node node) {
+        return node instanceof Leaf leaf ? leaf.keys[0] : ((Branch) node).keys[0];
+    }
+
+    private void rebalance(final Branch parent, final int index) {
+        int leftIndex = index > 0 ? index - 1 : index;
+        Node left = parent.children[leftIndex];
+        Node right = parent.children[leftIndex + 1];
+        if(left.count + right.count <= MAX) {
+            merge(parent, leftIndex, left, right);
+            return;
+        }
+        if(left instanceof Leaf leftLeaf) {
+            Leaf rightLeaf = (Leaf) right;
+            if(index > 0) {
+                System.arraycopy(rightLeaf.keys, 0, rightLeaf.keys, 1, rightLeaf.count);
+                rightLeaf.keys[0] = leftLeaf.keys[--leftLeaf.count];
+                leftLeaf.keys[leftLeaf.count] = null;
+                rightLeaf.count++;
+            } else {
+                leftLeaf.keys[leftLeaf.count++] = rightLeaf.keys[0];
+                System.arraycopy(rightLeaf.keys, 1, rightLeaf.keys, 0, --rightLeaf.count);
+                rightLeaf.keys[rightLeaf.count] = null;
+            }
+            parent.keys[leftIndex + 1] = rightLeaf.keys[0];
+            return;
+        }
+        Branch leftBranch = (Branch) left;
+        Branch rightBranch = (Branch) right;
+        if(index > 0) {
+            System.arraycopy(rightBranch.keys, 0, rightBranch.keys, 1, rightBranch.count);
+            System.arraycopy(rightBranch.children, 0, rightBranch.children, 1, rightBranch.count);
+            rightBranch.keys[1] = parent.keys[leftIndex + 1];
+            leftBranch.count--;
+            rightBranch.children[0] = leftBranch.children[leftBranch.count];
+            rightBranch.keys[0] = leftBranch.keys[leftBranch.count];
+            leftBranch.children[leftBranch.count] = null;
+            leftBranch.keys[leftBranch.count] = null;
+            rightBranch.count++;
+            parent.keys[leftIndex + 1] = rightBranch.keys[0];
+        } else {
+            leftBranch.children[leftBranch.count] = rightBranch.children[0];
+            leftBranch.keys[leftBranch.count++] = parent.keys[leftIndex + 1];
+            parent.keys[leftIndex + 1] = rightBranch.keys[1];
+            rightBranch.count--;
+            System.arraycopy(rightBranch.keys, 1, rightBranch.keys, 0, rightBranch.count);
+            System.arraycopy(rightBranch.children, 1, rightBranch.children, 0, rightBranch.count);
+            rightBranch.keys[rightBranch.count] = null;
+            rightBranch.children[rightBranch.count] = null;
+        }
+    }
+
+    private void merge(final Branch parent, final int leftIndex, final Node left, final Node right) {
+        if(left instanceof Leaf leftLeaf) {
+            Leaf rightLeaf = (Leaf) right;
+            System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.count, rightLeaf.count);
+            leftLeaf.count += rightLeaf.count;
+            leftLeaf.next = rightLeaf.next;
+            if(rightLeaf.next != null)
+                rightLeaf.next.prev = leftLeaf;
+        } else {
+            Branch leftBranch = (Branch) left;
+            Branch rightBranch = (Branch) right;
+            System.arraycopy(rightBranch.keys, 0, leftBranch.keys, leftBranch.count, rightBranch.count);
+            System.arraycopy(rightBranch.children, 0, leftBranch.children, leftBranch.count, rightBranch.count);
+            leftBranch.keys[leftBranch.count] = parent.keys[leftIndex + 1];
+            leftBranch.count += rightBranch.count;
+        }
+        parent.count--;
+        System.arraycopy(parent.keys, leftIndex + 2, parent.keys, leftIndex + 1, parent.count - leftIndex - 1);
+        System.arraycopy(parent.children, leftIndex + 2, parent.children, leftIndex + 1, parent.count - leftIndex - 1);
+        parent.keys[parent.count] = null;
+        parent.children[parent.count] = null;
+    }
+
+    private int childIndex(final Branch branch, final Object item) {
+        int low = 1;
+        int high = branch.count - 1;
+        while(low <= high) {
+            int mid = (low + high) >>> 1;
+            if(compare(branch.keys[mid], item) <= 0)
+                low = mid + 1;
+            else
+                high = mid - 1;
+        }
+        return low - 1;
+    }
+
+    private boolean sameOrdering(final Comparator<?> other) {
+        return other == comparator || (other != null && other.equals(comparator));
+    }
+
+    private int search(final Object[] keys, final int count, final Object item) {
+        int low = 0;
+        int high = count - 1;
+        while(low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(keys[mid], item);
+            if(cmp < 0)
+                low = mid + 1;
+            else if(cmp > 0)
+                high = mid - 1;
+            else
+                return mid;
+        }
+        return -(low + 1);
+    }
+
+    private abstract static class Node {
+        int count;
+    }
+
+    private static final class Leaf extends Node {
+        final Object[] keys = new Object[MAX];
+        Leaf next;
+        Leaf prev;
+    }
+
+    private static final class Branch extends Node {
+        final Object[] keys = new Object[MAX];
+        final Node[] children = new Node[MAX];
+    }
+
+    /**
+     * Walks the leaf chain from a starting element, optionally bounded by a view.
+     * Removal re-seeks the cursor by key, as rebalancing may move entries between leaves.
+     */
+    private final class Itr implements Iterator<E> {
+        private final boolean descending;
+        private final View view;
+        private Leaf leaf;
+        private int index;
+        private E lastReturned;
+        private int expectedModCount = modCount;
+
+        Itr(final E start, final boolean descending, final View view) {
+            this.descending = descending;
+            this.view = view;
+            seek(start);
+        }
+
+        public boolean hasNext() {
+            return leaf != null;
+        }
+
+        public E next() {
+            if(modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if(leaf == null)
+                throw new NoSuchElementException();
+            lastReturned = (E) leaf.keys[index];
+            advance();
+            return lastReturned;
+        }
+
+        public void remove() {
+            if(lastReturned == null)
+                throw new IllegalStateException();
+            if(modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            CustomSortedSet.this.remove(lastReturned);
+            expectedModCount = modCount;
+            seek(descending ? floorKey(lastReturned, false) : ceilingKey(lastReturned, false));
+            lastReturned = null;
+        }
+
+        private void advance() {
+            if(descending) {
+                if(--index < 0) {
+                    leaf = leaf.prev;
+                    index = leaf == null ? 0 : leaf.count - 1;
+                }
+            } else if(++index >= leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            if(leaf != null && view != null && !view.inRange(leaf.keys[index]))
+                leaf = null;
+        }
+
+        private void seek(final E start) {
+            if(start == null || (view != null && !view.inRange(start))) {
+                leaf = null;
+                return;
+            }
+            leaf = findLeaf(start);
+            index = search(leaf.keys, leaf.count, start);
+        }
+    }
+
+    /**
+     * A live range view over this set. Bounds are held in ascending terms; {@code descending}
+     * flips the direction of navigation and iteration.
+     */
+    private final class View implements NavigableSet<E> {
+        private final E low;
+        private final boolean lowInclusive;
+        private final boolean fromStart;
+        private final E high;
+        private final boolean highInclusive;
+        private final boolean toEnd;
+        private final boolean descending;
+
+        View(final E low, final boolean lowInclusive, final boolean fromStart,
+             final E high, final boolean highInclusive, final boolean toEnd, final boolean descending) {
+            this.low = low;
+            this.lowInclusive = lowInclusive;
+            this.fromStart = fromStart;
+            this.high = high;
+            this.highInclusive = highInclusive;
+            this.toEnd = toEnd;
+            this.descending = descending;
+        }
+
+        public boolean add(final E item) {
+            if(!inRange(requireNonNull(item)))
+                throw new IllegalArgumentException();
+            return CustomSortedSet.this.add(item);
+        }
+
+        public boolean addAll(final Collection<? extends E> c) {
+            boolean changed = false;
+            for(E item : requireNonNull(c))
+                if(add(item))
+                    changed = true;
+            return changed;
+        }
+
+        public E ceiling(final E item) {
+            return descending ? absFloor(item, true) : absCeiling(item, true);
+        }
+
+        public void clear() {
+            for(Iterator<E> iterator = iterator(); iterator.hasNext();) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+
+        public Comparator<? super E> comparator() {
+            if(!descending)
+                return comparator;
+            return comparator == null ? (Comparator<? super E>) Collections.reverseOrder() : Collections.reverseOrder(comparator);
+        }
+
+        public boolean contains(final Object item) {
+            return inRange(requireNonNull(item)) && CustomSortedSet.this.contains(item);
+        }
+
+        public boolean containsAll(final Collection<?> c) {
+            for(Object item : requireNonNull(c))
+                if(!contains(item))
+                    return false;
+            return true;
+        }
+
+        public Iterator<E> descendingIterator() {
+            return descending ? new Itr(absLowest(), false, this) : new Itr(absHighest(), true, this);
+        }
+
+        public NavigableSet<E> descendingSet() {
+            return new View(low, lowInclusive, fromStart, high, highInclusive, toEnd, !descending);
+        }
+
+        public boolean equals(final Object o) {
+            if(o == this)
+                return true;
+            if(!(o instanceof Set<?> other) || other.size() != size())
+                return false;
+            try {
+                return containsAll(other);
+            } catch(ClassCastException e) {
+                return false;
+            }
+        }
+
+        public E first() {
+            E item = descending ? absHighest() : absLowest();
+            if(item == null)
+                throw new NoSuchElementException();
+            return item;
+        }
+
+        public E floor(final E item) {
+            return descending ? absCeiling(item, true) : absFloor(item, true);
+        }
+
+        public int hashCode() {
+            int hash = 0;
+            for(E item : this)
+                hash += item.hashCode();
+            return hash;
+        }
+
+        public SortedSet<E> headSet(final E toElement) {
+            return headSet(toElement, false);
+        }
+
+        public NavigableSet<E> headSet(final E toElement, final boolean inclusive) {
+            checkBound(toElement, inclusive);
+            if(descending)
+                return new View(toElement, inclusive, false, high, highInclusive, toEnd, true);
+            return new View(low, lowInclusive, fromStart, toElement, inclusive, false, false);
+        }
+
+        public E higher(final E item) {
+            return descending ? absFloor(item, false) : absCeiling(item, false);
+        }
+
+        public boolean isEmpty() {
+            return absLowest() == null;
+        }
+
+        public Iterator<E> iterator() {
+            return descending ? new Itr(absHighest(), true, this) : new Itr(absLowest(), false, this);
+        }
+
+        public E last() {
+            E item = descending ? absLowest() : absHighest();
+            if(item == null)
+                throw new NoSuchElementException();
+            return item;
+        }
+
+        public E lower(final E item) {
+            return descending ? absCeiling(item, false) : absFloor(item, false);
+        }
+
+        public E pollFirst() {
+            E item = descending ? absHighest() : absLowest();
+            if(item != null)
+                CustomSortedSet.this.remove(item);
+            return item;
+        }
+
+        public E pollLast() {
+            E item = descending ? absLowest() : absHighest();
+            if(item != null)
+                CustomSortedSet.this.remove(item);
+            return item;
+        }
+
+        public boolean remove(final Object item) {
+            return inRange(requireNonNull(item)) && CustomSortedSet.this.remove(item);
+        }
+
+        public boolean removeAll(final Collection<?> c) {
+            boolean changed = false;
+            for(Object item : requireNonNull(c))
+                if(remove(item))
+                    changed = true;
+            return changed;
+        }
+
+        public boolean retainAll(final Collection<?> c) {
+            requireNonNull(c);
+            boolean changed = false;
+            for(Iterator<E> iterator = iterator(); iterator.hasNext();)
+                if(!c.contains(iterator.next())) {
+                    iterator.remove();
+                    changed = true;
+                }
+            return changed;
+        }
+
+        /**
+         * Counts the elements in range by summing whole leaves between the two endpoints,
+         * costing O(log n + k / {@value CustomSortedSet#MAX}) rather than a per-element walk.
+         */
+        public int size() {
+            E lowest = absLowest();
+            E highest = absHighest();
+            if(lowest == null || highest == null)
+                return 0;
+            Leaf from = findLeaf(lowest);
+            Leaf to = findLeaf(highest);
+            int fromIndex = search(from.keys, from.count, lowest);
+            int toIndex = search(to.keys, to.count, highest);
+            if(from == to)
+                return toIndex - fromIndex + 1;
+            int count = from.count - fromIndex + toIndex + 1;
+            for(Leaf leaf = from.next; leaf != to; leaf = leaf.next)
+                count += leaf.count;
+            return count;
+        }
+
+        public NavigableSet<E> subSet(final E fromElement, final boolean fromInclusive, final E toElement, final boolean toInclusive) {
+            checkBound(fromElement, fromInclusive);
+            checkBound(toElement, toInclusive);
+            if(descending) {
+                if(compare(fromElement, toElement) < 0)
+                    throw new IllegalArgumentException();
+                return new View(toElement, toInclusive, false, fromElement, fromInclusive, false, true);
+            }
+            if(compare(fromElement, toElement) > 0)
+                throw new IllegalArgumentException();
+            return new View(fromElement, fromInclusive, false, toElement, toInclusive, false, false);
+        }
+
+        public SortedSet<E> subSet(final E fromElement, final E toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        public SortedSet<E> tailSet(final E fromElement) {
+            return tailSet(fromElement, true);
+        }
+
+        public NavigableSet<E> tailSet(final E fromElement, final boolean inclusive) {
+            checkBound(fromElement, inclusive);
+            if(descending)
+                return new View(low, lowInclusive, fromStart, fromElement, inclusive, false, true);
+            return new View(fromElement, inclusive, false, high, highInclusive, toEnd, false);
+        }
+
+        public Object[] toArray() {
+            Object[] arr = new Object[size()];
+            int index = 0;
+            for(E item : this)
+                arr[index++] = item;
+            return arr;
+        }
+
+        public <T> T[] toArray(final T[] a) {
+            requireNonNull(a);
+            int n = size();
+            T[] arrayToFill = a.length < n ? (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), n) : a;
+            int index = 0;
+            for(E item : this)
+                arrayToFill[index++] = (T) item;
+            if(a.length > n)
+                arrayToFill[n] = null;
+            return arrayToFill;
+        }
+
+        public String toString() {
+            StringBuilder sb = new StringBuilder("{");
+            for(E item : this) {
+                if(sb.length() > 1)
+                    sb.append(", ");
+                sb.append(item);
+            }
+            return sb.append('}').toString();
+        }
+
+        boolean inRange(final Object item) {
+            return !tooLow(item) && !tooHigh(item);
+        }
+
+        private E absCeiling(final E item, final boolean inclusive) {
+            if(tooLow(requireNonNull(item)))
+                return absLowest();
+            E result = ceilingKey(item, inclusive);
+            return result == null || tooHigh(result) ? null : result;
+        }
+
+        private E absFloor(final E item, final boolean inclusive) {
+            if(tooHigh(requireNonNull(item)))
+                return absHighest();
+            E result = floorKey(item, inclusive);
+            return result == null || tooLow(result) ? null : result;
+        }
+
+        private E absHighest() {
+            E result = toEnd ? lastKey() : floorKey(high, highInclusive);
+            return result == null || tooLow(result) ? null : result;
+        }
+
+        private E absLowest() {
+            E result = fromStart ? (size == 0 ? null : CustomSortedSet.this.first()) : ceilingKey(low, lowInclusive);
+            return result == null || tooHigh(result) ? null : result;
+        }
+
+        private void checkBound(final E item, final boolean inclusive) {
+            requireNonNull(item);
+            if(!fromStart) {
+                int cmp = compare(item, low);
+                if(cmp < 0 || (cmp == 0 && !lowInclusive && inclusive))
+                    throw new IllegalArgumentException();
+            }
+            if(!toEnd) {
+                int cmp = compare(item, high);
+                if(cmp > 0 || (cmp == 0 && !highInclusive && inclusive))
+                    throw new IllegalArgumentException();
+            }
+        }
+
+        private boolean tooHigh(final Object item) {
+            if(toEnd)
+                return false;
+            int cmp = compare(item, high);
+            return cmp > 0 || (cmp == 0 && !highInclusive);
+        }
+
+        private boolean tooLow(final Object item) {
+            if(fromStart)
+                return false;
+            int cmp = compare(item, low);
+            return cmp < 0 || (cmp == 0 && !lowInclusive);
+        }
+    }
+}
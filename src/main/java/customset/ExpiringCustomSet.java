@@ -0,0 +1,536 @@
+package customset;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An implementation of the {@link Set} interface whose elements expire a fixed time after they were added.
+ * Every element carries an expiration time and is filed in a hierarchical timer wheel whose levels cover roughly one
+ * second, one minute, one hour, one day and beyond. Each operation reads the clock and advances the wheel, which only
+ * touches the buckets whose time span has elapsed, so expired elements are reclaimed in amortized O(1) per element
+ * instead of by a full sweep. {@link #cleanUp()} advances the wheel explicitly for callers that want a maintenance tick.
+ * {@code contains} and iteration never report an expired element, while {@code size} may still count elements that
+ * expired less than one wheel tick (about a second) ago.
+ * The clock is a nanosecond {@link LongSupplier}, {@code System::nanoTime} by default, and can be replaced in tests.
+ * Null elements are not permitted.
+ *
+ * @param <E> the type of elements maintained by this set
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class ExpiringCustomSet<E> implements Set<E> {
+
+    private static final double LOAD_FACTOR = 0.75;
+    private static final int[] BUCKETS = { 64, 64, 32, 4, 1 };
+    private static final long[] SPANS = { 1L << 30, 1L << 36, 1L << 42, 1L << 46, 1L << 50, 1L << 50 };
+    private static final int[] SHIFT = { 30, 36, 42, 46, 50 };
+
+    private final long defaultTtlNanos;
+    private final LongSupplier ticker;
+    private final long origin;
+    private final Node<E>[][] wheel;
+    private long wheelNanos;
+    private int primesIndex = 0;
+    private int size = 0;
+    private int setSize = CustomSet.primes[primesIndex];
+
+    private Node<E>[] set;
+
+    /**
+     * Constructs an empty set whose elements expire {@code defaultTtl} after being added, using {@code System.nanoTime()}.
+     *
+     * @param defaultTtl the time to live used by {@link #add(Object)}
+     * @throws NullPointerException if the default time to live is null
+     * @throws IllegalArgumentException if the default time to live is zero or negative
+     */
+    public ExpiringCustomSet(final Duration defaultTtl) {
+        this(defaultTtl, System::nanoTime);
+    }
+
+    /**
+     * Constructs an empty set whose elements expire {@code defaultTtl} after being added, reading time from {@code ticker}.
+     *
+     * @param defaultTtl the time to live used by {@link #add(Object)}
+     * @param ticker a source of nanosecond time that never goes backwards
+     * @throws NullPointerException if the default time to live or ticker is null
+     * @throws IllegalArgumentException if the default time to live is zero or negative
+     */
+    public ExpiringCustomSet(final Duration defaultTtl, final LongSupplier ticker) {
+        this.defaultTtlNanos = toNanos(defaultTtl);
+        this.ticker = requireNonNull(ticker);
+        this.origin = ticker.getAsLong();
+        this.wheelNanos = 0;
+        this.set = new Node[setSize];
+        this.wheel = new Node[BUCKETS.length][];
+        for(int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new Node[BUCKETS[i]];
+            for(int j = 0; j < BUCKETS[i]; j++)
+                wheel[i][j] = Node.sentinel();
+        }
+    }
+
+    /**
+     * Adds the specified element with the default time to live. If the element is already present
+     * its expiration is reset to the default time to live and {@code false} is returned.
+     *
+     * @param item element to be added to this set
+     * @return {@code true} if this set did not already contain the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean add(final E item) {
+        return add(item, defaultTtlNanos);
+    }
+
+    /**
+     * Adds the specified element, expiring {@code ttl} from now. If the element is already present
+     * its expiration is reset to {@code ttl} from now and {@code false} is returned.
+     *
+     * @param item element to be added to this set
+     * @param ttl how long the element remains in this set
+     * @return {@code true} if this set did not already contain the specified element
+     * @throws NullPointerException if the specified element or time to live is null
+     * @throws IllegalArgumentException if the time to live is zero or negative
+     */
+    public boolean add(final E item, final Duration ttl) {
+        return add(item, toNanos(ttl));
+    }
+
+    /**
+     * Adds all the elements in the specified collection with the default time to live.
+     *
+     * @param c collection containing elements to be added to this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean addAll(final Collection<? extends E> c) {
+        requireNonNull(c);
+        boolean changed = false;
+        for(E item : c)
+            if(add(item))
+                changed = true;
+        return changed;
+    }
+
+    /**
+     * Advances the timer wheel to the current time and removes every element whose expiration has passed.
+     */
+    public void cleanUp() {
+        advance(now());
+    }
+
+    /**
+     * Removes all the elements from this set.
+     */
+    public void clear() {
+        primesIndex = 0;
+        setSize = CustomSet.primes[primesIndex];
+        size = 0;
+        set = new Node[setSize];
+        for(Node<E>[] level : wheel)
+            for(Node<E> sentinel : level) {
+                sentinel.wheelPrevious = sentinel;
+                sentinel.wheelNext = sentinel;
+            }
+    }
+
+    /**
+     * Returns {@code true} if this set contains the specified element and it has not expired.
+     *
+     * @param item element whose presence in this set is to be tested
+     * @return {@code true} if this set contains the specified unexpired element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean contains(final Object item) {
+        requireNonNull(item);
+        long now = now();
+        advance(now);
+        Node<E> node = find(item, item.hashCode());
+        return node != null && node.expiresAt - now > 0;
+    }
+
+    /**
+     * Returns {@code true} if this set contains all the elements of the specified collection.
+     *
+     * @param c collection to be checked for containment in this set
+     * @return {@code true} if this set contains all the elements of the specified collection
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean containsAll(final Collection<?> c) {
+        requireNonNull(c);
+        for(Object item : c)
+            if(!contains(item))
+                return false;
+        return true;
+    }
+
+    /**
+     * Compares this set with another set for equality.
+     *
+     * @param o the object to compare with
+     * @return true if the sets are equal
+     */
+    public boolean equals(final Object o) {
+        if(o == this)
+            return true;
+        if(!(o instanceof Set<?> other))
+            return false;
+        cleanUp();
+        return other.size() == size() && containsAll(other);
+    }
+
+    /**
+     * Returns the remaining time to live of the specified element, or {@link Duration#ZERO} if it is absent or expired.
+     *
+     * @param item element whose remaining time to live is returned
+     * @return the remaining time to live of the element
+     * @throws NullPointerException if the specified element is null
+     */
+    public Duration expiresIn(final Object item) {
+        requireNonNull(item);
+        long now = now();
+        Node<E> node = find(item, item.hashCode());
+        return node == null || node.expiresAt - now <= 0 ? Duration.ZERO : Duration.ofNanos(node.expiresAt - now);
+    }
+
+    /**
+     * Returns the hash code value for this set, defined to be the sum of the hash codes of its unexpired elements.
+     *
+     * @return the hash code value for this set
+     */
+    public int hashCode() {
+        int hash = 0;
+        for(E item : this)
+            hash += item.hashCode();
+        return hash;
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns an iterator over the unexpired elements in this set in no particular order.
+     *
+     * @return an iterator over the elements in this set
+     */
+    public Iterator<E> iterator() {
+        long now = now();
+        advance(now);
+        return new Iterator<>() {
+            private int bucketIndex = 0;
+            private Node<E> next = advanceFrom(null);
+
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            public E next() {
+                if(next == null)
+                    throw new NoSuchElementException();
+                E item = next.item;
+                next = advanceFrom(next);
+                return item;
+            }
+
+            private Node<E> advanceFrom(final Node<E> current) {
+                Node<E> node = current == null ? null : current.next;
+                while(true) {
+                    while(node == null && bucketIndex < set.length)
+                        node = set[bucketIndex++];
+                    if(node == null || node.expiresAt - now > 0)
+                        return node;
+                    node = node.next;
+                }
+            }
+        };
+    }
+
+    /**
+     * Removes the specified element from this set if it is present and unexpired.
+     *
+     * @param item object to be removed from this set, if present
+     * @return {@code true} if this set contained the specified unexpired element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean remove(final Object item) {
+        requireNonNull(item);
+        long now = now();
+        advance(now);
+        Node<E> node = find(item, item.hashCode());
+        if(node == null)
+            return false;
+        delete(node);
+        return node.expiresAt - now > 0;
+    }
+
+    /**
+     * Removes from this set all of its elements that are contained in the specified collection.
+     *
+     * @param c collection containing elements to be removed from this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean removeAll(final Collection<?> c) {
+        requireNonNull(c);
+        boolean changed = false;
+        for(Object item : c)
+            if(remove(item))
+                changed = true;
+        return changed;
+    }
+
+    /**
+     * Retains only the elements in this set that are contained in the specified collection.
+     *
+     * @param c collection containing elements to be retained in this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean retainAll(final Collection<?> c) {
+        requireNonNull(c);
+        cleanUp();
+        boolean modified = false;
+        for(int i = 0; i < set.length; i++)
+            for(Node<E> node = set[i]; node != null; node = node.next)
+                if(!c.contains(node.item)) {
+                    unlinkFromTable(node);
+                    node.unlinkFromWheel();
+                    modified = true;
+                }
+        while(setSize > CustomSet.primes[0] && size <= setSize / 4)
+            resize(CustomSet.primes[--primesIndex]);
+        return modified;
+    }
+
+    /**
+     * Returns the number of elements in this set. This advances the timer wheel first, but may still count
+     * elements that expired within the current wheel tick.
+     *
+     * @return the number of elements in this set
+     */
+    public int size() {
+        cleanUp();
+        return size;
+    }
+
+    /**
+     * Returns an array containing all the unexpired elements in this set.
+     *
+     * @return an array containing all the elements in this set
+     */
+    public Object[] toArray() {
+        return toArray(new Object[0]);
+    }
+
+    /**
+     * Returns an array containing all the unexpired elements in this set; the
+     * runtime type of the returned array is that of the specified array.
+     *
+     * @param a the array into which the elements of this set are to be stored, if it is big enough;
+     *          otherwise, a new array of the same runtime type is allocated
+     * @return an array containing all the elements in this set
+     * @throws NullPointerException if the specified array is null
+     */
+    public <T> T[] toArray(T[] a) {
+        requireNonNull(a);
+        Object[] items = new Object[size()];
+        int n = 0;
+        for(E item : this)
+            items[n++] = item;
+        T[] arrayToFill = a.length < n ? (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), n) : a;
+        System.arraycopy(items, 0, arrayToFill, 0, n);
+        if(a.length > n)
+            arrayToFill[n] = null;
+        return arrayToFill;
+    }
+
+    /**
+     * Returns String representation of ExpiringCustomSet
+     *
+     * @return String representation of ExpiringCustomSet
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for(E item : this) {
+            if(sb.length() > 1)
+                sb.append(", ");
+            sb.append(item);
+        }
+        return sb.append('}').toString();
+    }
+
+    private boolean add(final E item, final long ttlNanos) {
+        requireNonNull(item);
+        long now = now();
+        advance(now);
+        int hash = item.hashCode();
+        Node<E> node = find(item, hash);
+        boolean added = node == null || node.expiresAt - now <= 0;
+        if(node == null) {
+            int index = indexFor(hash, setSize);
+            node = new Node<>(item, hash, set[index]);
+            set[index] = node;
+            size++;
+        } else
+            node.unlinkFromWheel();
+        node.expiresAt = now + ttlNanos;
+        schedule(node);
+        if((double) size / (double) setSize > LOAD_FACTOR && primesIndex < CustomSet.primes.length - 1)
+            resize(CustomSet.primes[++primesIndex]);
+        return added;
+    }
+
+    private void advance(final long now) {
+        long previous = wheelNanos;
+        if(now - previous <= 0)
+            return;
+        wheelNanos = now;
+        for(int i = 0; i < SHIFT.length; i++) {
+            long previousTicks = previous >>> SHIFT[i];
+            long currentTicks = now >>> SHIFT[i];
+            if(currentTicks - previousTicks <= 0)
+                break;
+            expire(i, previousTicks, currentTicks - previousTicks);
+        }
+    }
+
+    private void delete(final Node<E> node) {
+        unlinkFromTable(node);
+        node.unlinkFromWheel();
+        if(setSize > CustomSet.primes[0] && size <= setSize / 4)
+            resize(CustomSet.primes[--primesIndex]);
+    }
+
+    private void expire(final int level, final long previousTicks, final long delta) {
+        Node<E>[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(1 + delta, buckets.length);
+        int start = (int) (previousTicks & mask);
+        for(int i = start; i < start + steps; i++) {
+            Node<E> sentinel = buckets[i & mask];
+            Node<E> node = sentinel.wheelNext;
+            sentinel.wheelPrevious = sentinel;
+            sentinel.wheelNext = sentinel;
+            while(node != sentinel) {
+                Node<E> next = node.wheelNext;
+                node.wheelPrevious = null;
+                node.wheelNext = null;
+                if(node.expiresAt - wheelNanos <= 0)
+                    delete(node);
+                else
+                    schedule(node);
+                node = next;
+            }
+        }
+    }
+
+    private Node<E> find(final Object item, final int hash) {
+        for(Node<E> node = set[indexFor(hash, setSize)]; node != null; node = node.next)
+            if(node.hash == hash && node.item.equals(item))
+                return node;
+        return null;
+    }
+
+    private static int indexFor(final int hash, final int length) {
+        return (hash & 0x7FFFFFFF) % length;
+    }
+
+    private long now() {
+        return ticker.getAsLong() - origin;
+    }
+
+    private void resize(final int newSize) {
+        Node<E>[] newSet = new Node[newSize];
+        for(Node<E> bucket : set)
+            for(Node<E> node = bucket, next; node != null; node = next) {
+                next = node.next;
+                int index = indexFor(node.hash, newSize);
+                node.next = newSet[index];
+                newSet[index] = node;
+            }
+        setSize = newSize;
+        set = newSet;
+    }
+
+    private void schedule(final Node<E> node) {
+        long duration = node.expiresAt - wheelNanos;
+        for(int i = 0; i < BUCKETS.length - 1; i++)
+            if(duration < SPANS[i + 1]) {
+                long ticks = node.expiresAt >>> SHIFT[i];
+                wheel[i][(int) (ticks & (BUCKETS[i] - 1))].linkBefore(node);
+                return;
+            }
+        wheel[BUCKETS.length - 1][0].linkBefore(node);
+    }
+
+    private static long toNanos(final Duration ttl) {
+        requireNonNull(ttl);
+        if(ttl.isNegative() || ttl.isZero())
+            throw new IllegalArgumentException();
+        return ttl.toNanos();
+    }
+
+    private void unlinkFromTable(final Node<E> node) {
+        int index = indexFor(node.hash, setSize);
+        if(set[index] == node)
+            set[index] = node.next;
+        else {
+            Node<E> previous = set[index];
+            while(previous.next != node)
+                previous = previous.next;
+            previous.next = node.next;
+        }
+        size--;
+    }
+
+    private static final class Node<E> {
+        final E item;
+        final int hash;
+        Node<E> next;
+        long expiresAt;
+        Node<E> wheelPrevious;
+        Node<E> wheelNext;
+
+        Node(final E item, final int hash, final Node<E> next) {
+            this.item = item;
+            this.hash = hash;
+            this.next = next;
+        }
+
+        static <E> Node<E> sentinel() {
+            Node<E> sentinel = new Node<>(null, 0, null);
+            sentinel.wheelPrevious = sentinel;
+            sentinel.wheelNext = sentinel;
+            return sentinel;
+        }
+
+        void linkBefore(final Node<E> node) {
+            node.wheelPrevious = wheelPrevious;
+            node.wheelNext = this;
+            wheelPrevious.wheelNext = node;
+            wheelPrevious = node;
+        }
+
+        void unlinkFromWheel() {
+            if(wheelNext == null)
+                return;
+            wheelPrevious.wheelNext = wheelNext;
+            wheelNext.wheelPrevious = wheelPrevious;
+            wheelPrevious = null;
+            wheelNext = null;
+        }
+    }
+}
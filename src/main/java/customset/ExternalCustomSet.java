@@ -0,0 +1,539 @@
+package customset;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Set operations ({@code distinct}, {@code union}, {@code intersect} and {@code difference}) over sources that may
+ * not fit on the heap. Each operation first reads into an in-memory {@link CustomSet}; as long as the distinct
+ * elements stay within the memory budget no file is touched. Once the budget is exceeded, the elements seen so far
+ * and the rest of the input are hash-partitioned into temporary files through buffered {@link FileChannel}s, and each
+ * partition is then processed on its own with a fresh {@code CustomSet}. A partition that is still too large is
+ * partitioned again with a different hash seed, up to a fixed depth after which it is processed in memory regardless,
+ * which only happens when very many distinct elements share one {@code hashCode()}.
+ * <p>
+ * Elements are written with a {@link Codec}, so equal elements must encode to bytes that decode to equal elements.
+ * Results are lazy streams that process one partition at a time; close them (for example with try-with-resources)
+ * to delete temporary files that were not yet consumed. Results are in no particular order and null elements are not permitted.
+ *
+ * @param <E> the type of elements processed
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class ExternalCustomSet<E> {
+
+    private static final int BUFFER_SIZE = 1 << 15;
+    private static final int MAX_DEPTH = 3;
+    private static final int PARTITIONS = 64;
+
+    private final Codec<E> codec;
+    private final Path directory;
+    private final int memoryBudget;
+
+    /**
+     * Converts elements to and from the bytes stored in spill files.
+     *
+     * @param <E> the type of elements encoded
+     */
+    public interface Codec<E> {
+
+        /**
+         * Encodes the specified element.
+         *
+         * @param item the element to encode
+         * @return the encoded bytes
+         */
+        byte[] encode(E item);
+
+        /**
+         * Decodes an element previously produced by {@link #encode(Object)}.
+         *
+         * @param bytes the encoded bytes
+         * @return the decoded element
+         */
+        E decode(byte[] bytes);
+
+        /**
+         * Returns a codec for {@link Integer} elements using four big-endian bytes.
+         *
+         * @return an integer codec
+         */
+        static Codec<Integer> integers() {
+            return new Codec<>() {
+                public byte[] encode(final Integer item) {
+                    return ByteBuffer.allocate(Integer.BYTES).putInt(item).array();
+                }
+
+                public Integer decode(final byte[] bytes) {
+                    return ByteBuffer.wrap(bytes).getInt();
+                }
+            };
+        }
+
+        /**
+         * Returns a codec for {@link Long} elements using eight big-endian bytes.
+         *
+         * @return a long codec
+         */
+        static Codec<Long> longs() {
+            return new Codec<>() {
+                public byte[] encode(final Long item) {
+                    return ByteBuffer.allocate(Long.BYTES).putLong(item).array();
+                }
+
+                public Long decode(final byte[] bytes) {
+                    return ByteBuffer.wrap(bytes).getLong();
+                }
+            };
+        }
+
+        /**
+         * Returns a codec for {@link String} elements using UTF-8.
+         *
+         * @return a string codec
+         */
+        static Codec<String> strings() {
+            return new Codec<>() {
+                public byte[] encode(final String item) {
+                    return item.getBytes(StandardCharsets.UTF_8);
+                }
+
+                public String decode(final byte[] bytes) {
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+            };
+        }
+    }
+
+    /**
+     * Constructs an instance spilling to the default temporary-file directory.
+     *
+     * @param codec the codec used to write elements to spill files
+     * @param memoryBudget the maximum number of distinct elements held in memory per partition pass
+     * @throws IllegalArgumentException if the memory budget is not positive
+     * @throws NullPointerException if the codec is null
+     */
+    public ExternalCustomSet(final Codec<E> codec, final int memoryBudget) {
+        this(codec, memoryBudget, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Constructs an instance spilling to the specified directory.
+     *
+     * @param codec the codec used to write elements to spill files
+     * @param memoryBudget the maximum number of distinct elements held in memory per partition pass
+     * @param directory the directory in which spill files are created
+     * @throws IllegalArgumentException if the memory budget is not positive
+     * @throws NullPointerException if the codec or directory is null
+     */
+    public ExternalCustomSet(final Codec<E> codec, final int memoryBudget, final Path directory) {
+        if(memoryBudget <= 0)
+            throw new IllegalArgumentException();
+        this.codec = requireNonNull(codec);
+        this.directory = requireNonNull(directory);
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Returns the distinct elements of {@code a} that do not occur in {@code b}.
+     *
+     * @param a the source whose elements are kept
+     * @param b the source whose elements are removed
+     * @return a lazy stream of the difference, to be closed after use
+     * @throws NullPointerException if either source is null
+     */
+    public Stream<E> difference(final Iterator<? extends E> a, final Iterator<? extends E> b) {
+        requireNonNull(a);
+        requireNonNull(b);
+        return run(spill -> join(a, b, 0, spill, false));
+    }
+
+    /**
+     * Returns the distinct elements of {@code a} that do not occur in {@code b}. Closing the result closes both sources.
+     *
+     * @param a the source whose elements are kept
+     * @param b the source whose elements are removed
+     * @return a lazy stream of the difference, to be closed after use
+     * @throws NullPointerException if either source is null
+     */
+    public Stream<E> difference(final Stream<? extends E> a, final Stream<? extends E> b) {
+        return difference(a.iterator(), b.iterator()).onClose(a::close).onClose(b::close);
+    }
+
+    /**
+     * Returns the distinct elements of the source.
+     *
+     * @param source the source of elements
+     * @return a lazy stream of distinct elements, to be closed after use
+     * @throws NullPointerException if the source is null
+     */
+    public Stream<E> distinct(final Iterator<? extends E> source) {
+        requireNonNull(source);
+        return run(spill -> distinct(source, 0, spill));
+    }
+
+    /**
+     * Returns the distinct elements of the source. Closing the result closes the source.
+     *
+     * @param source the source of elements
+     * @return a lazy stream of distinct elements, to be closed after use
+     * @throws NullPointerException if the source is null
+     */
+    public Stream<E> distinct(final Stream<? extends E> source) {
+        return distinct(source.iterator()).onClose(source::close);
+    }
+
+    /**
+     * Returns the distinct elements that occur in both {@code a} and {@code b}.
+     *
+     * @param a the first source, which is the one held in memory while probing
+     * @param b the second source
+     * @return a lazy stream of the intersection, to be closed after use
+     * @throws NullPointerException if either source is null
+     */
+    public Stream<E> intersect(final Iterator<? extends E> a, final Iterator<? extends E> b) {
+        requireNonNull(a);
+        requireNonNull(b);
+        return run(spill -> join(a, b, 0, spill, true));
+    }
+
+    /**
+     * Returns the distinct elements that occur in both {@code a} and {@code b}. Closing the result closes both sources.
+     *
+     * @param a the first source, which is the one held in memory while probing
+     * @param b the second source
+     * @return a lazy stream of the intersection, to be closed after use
+     * @throws NullPointerException if either source is null
+     */
+    public Stream<E> intersect(final Stream<? extends E> a, final Stream<? extends E> b) {
+        return intersect(a.iterator(), b.iterator()).onClose(a::close).onClose(b::close);
+    }
+
+    /**
+     * Returns the distinct elements that occur in {@code a} or {@code b}.
+     *
+     * @param a the first source
+     * @param b the second source
+     * @return a lazy stream of the union, to be closed after use
+     * @throws NullPointerException if either source is null
+     */
+    public Stream<E> union(final Iterator<? extends E> a, final Iterator<? extends E> b) {
+        return distinct(concat(requireNonNull(a), requireNonNull(b)));
+    }
+
+    /**
+     * Returns the distinct elements that occur in {@code a} or {@code b}. Closing the result closes both sources.
+     *
+     * @param a the first source
+     * @param b the second source
+     * @return a lazy stream of the union, to be closed after use
+     * @throws NullPointerException if either source is null
+     */
+    public Stream<E> union(final Stream<? extends E> a, final Stream<? extends E> b) {
+        return union(a.iterator(), b.iterator()).onClose(a::close).onClose(b::close);
+    }
+
+    private static <T> Iterator<T> concat(final Iterator<? extends T> first, final Iterator<? extends T> second) {
+        return new Iterator<>() {
+            public boolean hasNext() {
+                return first.hasNext() || second.hasNext();
+            }
+
+            public T next() {
+                return first.hasNext() ? first.next() : second.next();
+            }
+        };
+    }
+
+    private Iterator<E> distinct(final Iterator<? extends E> source, final int depth, final Spill spill) {
+        CustomSet<E> memory = new CustomSet<>();
+        while(source.hasNext()) {
+            memory.add(requireNonNull(source.next()));
+            if(memory.size() > memoryBudget && depth < MAX_DEPTH) {
+                SpillFile<E>[] partitions = spill.partition(concat(memory.iterator(), source), depth);
+                List<Supplier<Iterator<E>>> parts = new ArrayList<>(PARTITIONS);
+                for(SpillFile<E> file : partitions)
+                    if(file != null)
+                        parts.add(() -> distinct(file.reader(), depth + 1, spill));
+                return flatten(parts.iterator());
+            }
+        }
+        return memory.iterator();
+    }
+
+    private static <T> Iterator<T> filter(final Iterator<? extends T> source, final Predicate<? super T> predicate) {
+        return new Iterator<>() {
+            private T next;
+
+            public boolean hasNext() {
+                while(next == null && source.hasNext()) {
+                    T candidate = requireNonNull(source.next());
+                    if(predicate.test(candidate))
+                        next = candidate;
+                }
+                return next != null;
+            }
+
+            public T next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+                T item = next;
+                next = null;
+                return item;
+            }
+        };
+    }
+
+    /**
+     * Chains the iterators produced by {@code parts}, creating each one only when the previous one is exhausted, so
+     * at most one partition is loaded at a time. {@code Stream.flatMap} is not used because pulling from its iterator
+     * buffers a whole inner stream.
+     */
+    private static <T> Iterator<T> flatten(final Iterator<Supplier<Iterator<T>>> parts) {
+        return new Iterator<>() {
+            private Iterator<T> current = Collections.emptyIterator();
+
+            public boolean hasNext() {
+                while(!current.hasNext() && parts.hasNext())
+                    current = parts.next().get();
+                return current.hasNext();
+            }
+
+            public T next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Holds the distinct elements of {@code a} and probes them with {@code b}: an intersection emits each element
+     * of {@code b} the first time it is removed from the held set, a difference emits whatever is left afterwards.
+     */
+    private Iterator<E> join(final Iterator<? extends E> a, final Iterator<? extends E> b, final int depth, final Spill spill, final boolean intersect) {
+        CustomSet<E> memory = new CustomSet<>();
+        while(a.hasNext()) {
+            memory.add(requireNonNull(a.next()));
+            if(memory.size() > memoryBudget && depth < MAX_DEPTH) {
+                SpillFile<E>[] left = spill.partition(concat(memory.iterator(), a), depth);
+                SpillFile<E>[] right = spill.partition(b, depth);
+                List<Supplier<Iterator<E>>> parts = new ArrayList<>(PARTITIONS);
+                for(int i = 0; i < PARTITIONS; i++) {
+                    SpillFile<E> build = left[i];
+                    SpillFile<E> probe = right[i];
+                    if(build == null || (intersect && probe == null))
+                        spill.release(build, probe);
+                    else
+                        parts.add(() -> join(build.reader(), probe == null ? Collections.emptyIterator() : probe.reader(), depth + 1, spill, intersect));
+                }
+                return flatten(parts.iterator());
+            }
+        }
+        if(intersect)
+            return filter(b, memory::remove);
+        while(b.hasNext())
+            memory.remove(requireNonNull(b.next()));
+        return memory.iterator();
+    }
+
+    /**
+     * Picks the partition from the high bits of a seeded murmur3 finalizer, so that every depth splits a
+     * partition of the previous depth along fresh bits.
+     */
+    private static int partitionOf(final Object item, final int depth) {
+        int hash = item.hashCode() ^ (0x9E3779B9 * (depth + 1));
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return (int) ((hash & 0xFFFFFFFFL) * PARTITIONS >>> 32);
+    }
+
+    private Stream<E> run(final Function<Spill, Iterator<E>> operation) {
+        Spill spill = new Spill();
+        Iterator<E> result = flatten(List.<Supplier<Iterator<E>>>of(() -> operation.apply(spill)).iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(result, Spliterator.NONNULL), false).onClose(spill::close);
+    }
+
+    /**
+     * Tracks the spill files of one operation so that closing its stream deletes whatever was not consumed.
+     */
+    private final class Spill {
+        private final List<SpillFile<E>> files = new ArrayList<>();
+
+        void close() {
+            for(SpillFile<E> file : files)
+                file.release();
+            files.clear();
+        }
+
+        SpillFile<E>[] partition(final Iterator<? extends E> source, final int depth) {
+            SpillFile<E>[] partitions = new SpillFile[PARTITIONS];
+            while(source.hasNext()) {
+                E item = requireNonNull(source.next());
+                int index = partitionOf(item, depth);
+                if(partitions[index] == null) {
+                    partitions[index] = new SpillFile<>(codec, directory);
+                    files.add(partitions[index]);
+                }
+                partitions[index].write(item);
+            }
+            for(SpillFile<E> file : partitions)
+                if(file != null)
+                    file.finish();
+            return partitions;
+        }
+
+        void release(final SpillFile<E> left, final SpillFile<E> right) {
+            if(left != null)
+                left.release();
+            if(right != null)
+                right.release();
+        }
+    }
+
+    /**
+     * Append-only file of length-prefixed encoded elements, written and read through a heap buffer.
+     * The file is deleted once its reader is exhausted.
+     */
+    private static final class SpillFile<E> {
+        private final Codec<E> codec;
+        private final Path path;
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private FileChannel channel;
+        private long records;
+
+        SpillFile(final Codec<E> codec, final Path directory) {
+            this.codec = codec;
+            try {
+                path = Files.createTempFile(directory, "customset-", ".spill");
+                channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() {
+            try {
+                flush();
+                channel.close();
+                channel = null;
+                buffer = null;
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Iterator<E> reader() {
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+            return new Iterator<>() {
+                private long remaining = records;
+
+                public boolean hasNext() {
+                    if(remaining > 0)
+                        return true;
+                    release();
+                    return false;
+                }
+
+                public E next() {
+                    if(!hasNext())
+                        throw new NoSuchElementException();
+                    remaining--;
+                    try {
+                        fill(Integer.BYTES);
+                        byte[] bytes = new byte[buffer.getInt()];
+                        for(int offset = 0; offset < bytes.length; ) {
+                            fill(1);
+                            int length = Math.min(buffer.remaining(), bytes.length - offset);
+                            buffer.get(bytes, offset, length);
+                            offset += length;
+                        }
+                        return codec.decode(bytes);
+                    } catch(IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        }
+
+        void release() {
+            try {
+                if(channel != null)
+                    channel.close();
+                channel = null;
+                buffer = null;
+                Files.deleteIfExists(path);
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void write(final E item) {
+            byte[] bytes = codec.encode(item);
+            try {
+                if(buffer.remaining() < Integer.BYTES + bytes.length)
+                    flush();
+                if(buffer.remaining() < Integer.BYTES + bytes.length) {
+                    writeFully(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).flip());
+                    writeFully(ByteBuffer.wrap(bytes));
+                } else
+                    buffer.putInt(bytes.length).put(bytes);
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            records++;
+        }
+
+        private void fill(final int bytes) throws IOException {
+            if(buffer.remaining() >= bytes)
+                return;
+            buffer.compact();
+            while(buffer.position() < bytes)
+                if(channel.read(buffer) < 0)
+                    throw new EOFException(path.toString());
+            buffer.flip();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+
+        private void writeFully(final ByteBuffer source) throws IOException {
+            while(source.hasRemaining())
+                channel.write(source);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package customset;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Scans one group of {@link #GROUP} control bytes of a {@link SwissCustomSet}. The {@code match} methods return a bit
+ * mask with bit {@code i} set for the byte at {@code offset + i}. {@link #match} may report false positives, which the
+ * caller discards by comparing the control byte; {@link #hasEmpty} and {@link #matchFree} are exact.
+ * <p>
+ * {@link #load()} uses the {@code jdk.incubator.vector} implementation when the build includes it (see
+ * {@code -PvectorApi} in {@code build.gradle}) and the module is available at run time, and otherwise the portable
+ * {@link Swar} implementation, which compares eight control bytes per {@code long}.
+ */
+interface GroupMatcher {
+
+    int GROUP = 16;
+
+    byte EMPTY = (byte) 0x80;
+    byte DELETED = (byte) 0xFE;
+
+    /**
+     * Returns {@code true} if any position holds {@link #EMPTY}, which ends a probe sequence.
+     */
+    boolean hasEmpty(byte[] control, int offset);
+
+    /**
+     * Returns the positions whose control byte may equal the 7-bit hash fragment {@code h2}.
+     */
+    int match(byte[] control, int offset, byte h2);
+
+    /**
+     * Returns the positions holding {@link #EMPTY} or {@link #DELETED}.
+     */
+    int matchFree(byte[] control, int offset);
+
+    static GroupMatcher load() {
+        try {
+            return (GroupMatcher) Class.forName("customset.VectorGroupMatcher").getDeclaredConstructor().newInstance();
+        } catch(ReflectiveOperationException | LinkageError e) {
+            return new Swar();
+        }
+    }
+
+    /**
+     * SIMD within a register: each half of a group is read as one little-endian {@code long}, so byte {@code i} of
+     * the group is byte {@code i % 8} of a word, and the high bit of every selected byte is gathered into a mask.
+     */
+    final class Swar implements GroupMatcher {
+
+        private static final long HIGH_BITS = 0x8080808080808080L;
+        private static final long LOW_BITS = 0x0101010101010101L;
+        private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+        public boolean hasEmpty(final byte[] control, final int offset) {
+            return (empty((long) LONGS.get(control, offset)) | empty((long) LONGS.get(control, offset + 8))) != 0;
+        }
+
+        public int match(final byte[] control, final int offset, final byte h2) {
+            long pattern = LOW_BITS * h2;
+            return gather(zeroBytes((long) LONGS.get(control, offset) ^ pattern))
+                    | gather(zeroBytes((long) LONGS.get(control, offset + 8) ^ pattern)) << 8;
+        }
+
+        public int matchFree(final byte[] control, final int offset) {
+            return gather((long) LONGS.get(control, offset) & HIGH_BITS) | gather((long) LONGS.get(control, offset + 8) & HIGH_BITS) << 8;
+        }
+
+        /**
+         * EMPTY is the only control byte with the high bit set and bit 1 clear; shifting by 6 lines bit 1 up with bit 7.
+         */
+        private static long empty(final long word) {
+            return word & ~(word << 6) & HIGH_BITS;
+        }
+
+        /**
+         * Moves the high bit of byte {@code i} to bit {@code i}. The multiplier's terms never collide, so nothing carries.
+         */
+        private static int gather(final long highBits) {
+            return (int) (((highBits >>> 7) * 0x0102040810204080L) >>> 56);
+        }
+
+        /**
+         * Flags every zero byte; a byte directly above a zero byte may be flagged too.
+         */
+        private static long zeroBytes(final long word) {
+            return (word - LOW_BITS) & ~word & HIGH_BITS;
+        }
+    }
+}
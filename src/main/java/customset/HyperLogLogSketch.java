@@ -0,0 +1,391 @@
+package customset;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A HyperLogLog++ sketch estimating the number of distinct elements added to it, for use where a full
+ * {@link CustomSet} would only be built to call {@code size()}. With the default precision of 14 the sketch holds
+ * 16 KiB of registers and has a relative standard error of about 0.8%, independent of the number of elements.
+ * <p>
+ * Following HyperLogLog++, elements are hashed to 64 bits and small cardinalities are kept in a sparse list of
+ * 25-bit register indexes, estimated by linear counting, which is nearly exact for the first few thousand elements.
+ * The list is converted to dense registers once it would outgrow them. Dense estimates use Ertl's improved raw
+ * estimator, which is unbiased over the whole range and needs no empirical bias-correction tables. Sketches of equal
+ * precision can be merged, for example after being filled on different threads, and can be serialized.
+ * Instances are not thread-safe.
+ * <p>
+ * The default hash mixes {@code hashCode()} to 64 bits, so elements with equal hash codes count once; supply a
+ * 64-bit hash function for more than a few hundred million distinct elements.
+ *
+ * @param <E> the type of elements counted by this sketch
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class HyperLogLogSketch<E> {
+
+    private static final int BUFFER_SIZE = 256;
+    private static final int DEFAULT_PRECISION = 14;
+    private static final int MAX_PRECISION = 18;
+    private static final int MIN_PRECISION = 4;
+    private static final int SERIAL_COOKIE = 0x484C4C31;
+    private static final int SPARSE_PRECISION = 25;
+
+    private final ToLongFunction<? super E> hasher;
+    private final int precision;
+
+    private byte[] registers;
+    private int[] sparse = new int[0];
+    private int sparseSize = 0;
+    private final int[] buffer = new int[BUFFER_SIZE];
+    private int bufferSize = 0;
+
+    /**
+     * Constructs an empty sketch with the default precision (14).
+     */
+    public HyperLogLogSketch() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Constructs an empty sketch with 2<sup>precision</sup> registers.
+     *
+     * @param precision the number of index bits, between 4 and 18
+     * @throws IllegalArgumentException if the precision is out of range
+     */
+    public HyperLogLogSketch(final int precision) {
+        this(precision, HyperLogLogSketch::mix);
+    }
+
+    /**
+     * Constructs an empty sketch with 2<sup>precision</sup> registers using the specified 64-bit hash function.
+     *
+     * @param precision the number of index bits, between 4 and 18
+     * @param hasher function returning a well-mixed 64-bit hash of an element
+     * @throws IllegalArgumentException if the precision is out of range
+     * @throws NullPointerException if the hash function is null
+     */
+    public HyperLogLogSketch(final int precision, final ToLongFunction<? super E> hasher) {
+        if(precision < MIN_PRECISION || precision > MAX_PRECISION)
+            throw new IllegalArgumentException();
+        this.precision = precision;
+        this.hasher = requireNonNull(hasher);
+    }
+
+    /**
+     * Constructs a sketch with the specified precision containing the elements of the specified collection.
+     *
+     * @param precision the number of index bits, between 4 and 18
+     * @param c the collection whose elements are to be counted
+     * @throws IllegalArgumentException if the precision is out of range
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public HyperLogLogSketch(final int precision, final Collection<? extends E> c) {
+        this(precision);
+        addAll(c);
+    }
+
+    /**
+     * Reads a sketch written by {@link #serialize(DataOutput)}, using the default hash function.
+     *
+     * @param in the input to read from
+     * @param <E> the type of elements counted by the sketch
+     * @return the deserialized sketch
+     * @throws IOException if the input cannot be read or is not in the expected format
+     */
+    public static <E> HyperLogLogSketch<E> deserialize(final DataInput in) throws IOException {
+        return deserialize(in, HyperLogLogSketch::mix);
+    }
+
+    /**
+     * Reads a sketch written by {@link #serialize(DataOutput)}. The hash function must be the one the sketch was built with.
+     *
+     * @param in the input to read from
+     * @param hasher function returning a well-mixed 64-bit hash of an element
+     * @param <E> the type of elements counted by the sketch
+     * @return the deserialized sketch
+     * @throws IOException if the input cannot be read or is not in the expected format
+     */
+    public static <E> HyperLogLogSketch<E> deserialize(final DataInput in, final ToLongFunction<? super E> hasher) throws IOException {
+        if(in.readInt() != SERIAL_COOKIE)
+            throw new IOException("Not a HyperLogLogSketch stream");
+        int precision = in.readByte();
+        if(precision < MIN_PRECISION || precision > MAX_PRECISION)
+            throw new IOException("Invalid precision " + precision);
+        HyperLogLogSketch<E> sketch = new HyperLogLogSketch<>(precision, hasher);
+        if(in.readBoolean()) {
+            sketch.registers = new byte[1 << precision];
+            in.readFully(sketch.registers);
+            for(byte register : sketch.registers)
+                if(register < 0 || register > 65 - precision)
+                    throw new IOException("Invalid register value " + register);
+        } else {
+            int count = in.readInt();
+            if(count < 0 || count > sketch.sparseLimit())
+                throw new IOException("Invalid sparse size " + count);
+            sketch.sparse = new int[count];
+            for(int i = 0; i < count; i++) {
+                sketch.sparse[i] = in.readInt();
+                if(sketch.sparse[i] < 0 || (i > 0 && sketch.sparse[i] >>> 6 <= sketch.sparse[i - 1] >>> 6))
+                    throw new IOException("Sparse entries are not strictly ascending");
+            }
+            sketch.sparseSize = count;
+        }
+        return sketch;
+    }
+
+    /**
+     * Records the specified element.
+     *
+     * @param item the element to record
+     * @throws NullPointerException if the specified element is null
+     */
+    public void add(final E item) {
+        long hash = hasher.applyAsLong(requireNonNull(item));
+        if(registers != null)
+            addDense(hash);
+        else
+            addSparse(hash);
+    }
+
+    /**
+     * Records every element of the specified collection.
+     *
+     * @param c the collection whose elements are to be recorded
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public void addAll(final Collection<? extends E> c) {
+        requireNonNull(c);
+        for(E item : c)
+            add(item);
+    }
+
+    /**
+     * Returns the estimated number of distinct elements recorded.
+     *
+     * @return the cardinality estimate
+     */
+    public long cardinality() {
+        if(registers == null) {
+            flush();
+            double sparseRegisters = 1 << SPARSE_PRECISION;
+            return Math.round(sparseRegisters * Math.log(sparseRegisters / (sparseRegisters - sparseSize)));
+        }
+        int q = 64 - precision;
+        int m = registers.length;
+        int[] histogram = new int[q + 2];
+        for(byte register : registers)
+            histogram[register]++;
+        double z = m * tau(1 - (double) histogram[q + 1] / m);
+        for(int k = q; k >= 1; k--)
+            z = 0.5 * (z + histogram[k]);
+        z += m * sigma((double) histogram[0] / m);
+        return Math.round(m * (double) m / (2 * Math.log(2)) / z);
+    }
+
+    /**
+     * Returns {@code true} if nothing has been recorded.
+     *
+     * @return {@code true} if this sketch is empty
+     */
+    public boolean isEmpty() {
+        if(registers == null)
+            return sparseSize == 0 && bufferSize == 0;
+        for(byte register : registers)
+            if(register != 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * Adds everything recorded by the specified sketch to this sketch, as if its elements had been added here.
+     *
+     * @param other the sketch to merge into this one
+     * @throws IllegalArgumentException if the sketches have different precisions
+     * @throws NullPointerException if the specified sketch is null
+     */
+    public void merge(final HyperLogLogSketch<? extends E> other) {
+        if(requireNonNull(other).precision != precision)
+            throw new IllegalArgumentException();
+        other.flush();
+        if(other.registers != null) {
+            if(registers == null)
+                toDense();
+            for(int i = 0; i < registers.length; i++)
+                registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+            return;
+        }
+        int[] entries = other.sparse;
+        int count = other.sparseSize;
+        for(int i = 0; i < count; i++)
+            if(registers == null)
+                addEncoded(entries[i]);
+            else
+                addEncodedDense(entries[i]);
+    }
+
+    /**
+     * Returns the number of index bits of this sketch.
+     *
+     * @return the precision
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Returns the relative standard error of dense estimates, {@code 1.04 / sqrt(2^precision)}.
+     *
+     * @return the relative standard error
+     */
+    public double relativeStandardError() {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+
+    /**
+     * Writes this sketch to the given output. The format is a cookie, the precision, a dense flag and then either
+     * the registers or the count and values of the sparse entries.
+     *
+     * @param out the output to write to
+     * @throws IOException if the output cannot be written
+     */
+    public void serialize(final DataOutput out) throws IOException {
+        flush();
+        out.writeInt(SERIAL_COOKIE);
+        out.writeByte(precision);
+        out.writeBoolean(registers != null);
+        if(registers != null)
+            out.write(registers);
+        else {
+            out.writeInt(sparseSize);
+            for(int i = 0; i < sparseSize; i++)
+                out.writeInt(sparse[i]);
+        }
+    }
+
+    /**
+     * Spreads {@code hashCode()} to 64 bits with the MurmurHash3 finalizer; the default hash of both sketches.
+     */
+    static long mix(final Object item) {
+        long hash = item.hashCode() * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private void addDense(final long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if(rank > registers[index])
+            registers[index] = rank;
+    }
+
+    private void addEncoded(final int encoded) {
+        buffer[bufferSize++] = encoded;
+        if(bufferSize == BUFFER_SIZE)
+            flush();
+    }
+
+    /**
+     * Derives the dense register of a sparse entry: the sparse index extends the dense index by
+     * {@code 25 - precision} bits, which are the leading bits the dense rank is counted over.
+     */
+    private void addEncodedDense(final int encoded) {
+        int extraBits = SPARSE_PRECISION - precision;
+        int sparseIndex = encoded >>> 6;
+        int index = sparseIndex >>> extraBits;
+        int extra = sparseIndex & ((1 << extraBits) - 1);
+        byte rank = (byte) (extra != 0 ? Integer.numberOfLeadingZeros(extra) - (32 - extraBits) + 1 : extraBits + (encoded & 0x3F));
+        if(rank > registers[index])
+            registers[index] = rank;
+    }
+
+    private void addSparse(final long hash) {
+        int index = (int) (hash >>> (64 - SPARSE_PRECISION));
+        int rank = Long.numberOfLeadingZeros((hash << SPARSE_PRECISION) | (1L << (SPARSE_PRECISION - 1))) + 1;
+        addEncoded(index << 6 | rank);
+    }
+
+    /**
+     * Sorts the insertion buffer into the sparse list, keeping the highest rank per index, and
+     * switches to dense registers once the list would take more memory than they do.
+     */
+    private void flush() {
+        if(bufferSize == 0 || registers != null)
+            return;
+        Arrays.sort(buffer, 0, bufferSize);
+        int[] merged = new int[sparseSize + bufferSize];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while(i < sparseSize || j < bufferSize) {
+            int next = j == bufferSize || (i < sparseSize && sparse[i] <= buffer[j]) ? sparse[i++] : buffer[j++];
+            if(size > 0 && merged[size - 1] >>> 6 == next >>> 6)
+                merged[size - 1] = Math.max(merged[size - 1], next);
+            else
+                merged[size++] = next;
+        }
+        sparse = merged;
+        sparseSize = size;
+        bufferSize = 0;
+        if(sparseSize > sparseLimit())
+            toDense();
+    }
+
+    private static double sigma(double x) {
+        if(x == 1)
+            return Double.POSITIVE_INFINITY;
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while(previous != z);
+        return z;
+    }
+
+    private int sparseLimit() {
+        return (1 << precision) / 4;
+    }
+
+    private static double tau(double x) {
+        if(x == 0 || x == 1)
+            return 0;
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while(previous != z);
+        return z / 3;
+    }
+
+    private void toDense() {
+        registers = new byte[1 << precision];
+        if(bufferSize > 0) {
+            for(int i = 0; i < bufferSize; i++)
+                addEncodedDense(buffer[i]);
+            bufferSize = 0;
+        }
+        for(int i = 0; i < sparseSize; i++)
+            addEncodedDense(sparse[i]);
+        sparse = null;
+        sparseSize = 0;
+    }
+}
@@ -0,0 +1,481 @@
+package customset;
+
+import customset.ExternalCustomSet.Codec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link CustomSet} that records every change in an append-only binary journal, so a replica can follow the set by
+ * applying the changes instead of receiving a full copy after each batch of updates. Each effective {@code add},
+ * {@code remove} and {@code clear} appends one record: an operation byte followed, for additions and removals, by the
+ * length and bytes of the element encoded with a {@link Codec}. Calls that leave the set unchanged are not recorded.
+ * Records are buffered and handed to the file system every {@code batchSize} records, on {@link #flush()} and on
+ * {@link #close()}.
+ * <p>
+ * Once the journal holds {@code compactionRatio} times more records than the set holds elements, it is compacted: the
+ * current elements are written as a snapshot of additions to a new file, which atomically replaces the journal and
+ * starts a new generation. {@link #replay(Path, Codec, Set, Position)} applies a journal to any set and returns the
+ * position reached, so a replica calls it again later with that position to apply only the newer records. If the
+ * journal was compacted in between, the generation differs and the replica is cleared and reloaded from the snapshot.
+ * A record cut short by a crash is ignored by readers and truncated when the journal is reopened.
+ * <p>
+ * Null elements are not permitted, iterators do not support removal and instances are not thread-safe.
+ *
+ * @param <E> the type of elements maintained by this set
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class JournaledCustomSet<E> implements Set<E>, Closeable {
+
+    private static final int ADD = 1;
+    private static final int BUFFER_SIZE = 1 << 15;
+    private static final int CLEAR = 3;
+    private static final int DEFAULT_BATCH_SIZE = 1024;
+    private static final int DEFAULT_COMPACTION_RATIO = 4;
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int JOURNAL_COOKIE = 0x43534A31;
+    private static final int MIN_COMPACTION_RECORDS = 1024;
+    private static final int REMOVE = 2;
+
+    private final int batchSize;
+    private final Codec<E> codec;
+    private final int compactionRatio;
+    private final CustomSet<E> customSet = new CustomSet<>();
+    private final Path journal;
+    private long generation;
+    private DataOutputStream out;
+    private int pending = 0;
+    private long records;
+
+    /**
+     * A point in a journal reached by {@link #replay(Path, Codec, Set, Position)}: the generation of the journal and
+     * the byte offset just past the last record applied.
+     *
+     * @param generation the journal generation, incremented by every compaction
+     * @param offset the byte offset of the next record to apply
+     */
+    public record Position(long generation, long offset) {
+
+        /**
+         * The position of a replica that has applied nothing yet.
+         */
+        public static final Position START = new Position(0, 0);
+    }
+
+    /**
+     * Opens the specified journal with the default batch size (1024) and compaction ratio (4). An existing
+     * journal is replayed into this set and appended to; otherwise a new one is created.
+     *
+     * @param journal the journal file
+     * @param codec converts elements to and from journal bytes
+     * @throws IOException if the journal cannot be read or created, or is not a journal
+     * @throws NullPointerException if the journal or codec is null
+     */
+    public JournaledCustomSet(final Path journal, final Codec<E> codec) throws IOException {
+        this(journal, codec, DEFAULT_BATCH_SIZE, DEFAULT_COMPACTION_RATIO);
+    }
+
+    /**
+     * Opens the specified journal. An existing journal is replayed into this set and appended to; otherwise a new one is created.
+     *
+     * @param journal the journal file
+     * @param codec converts elements to and from journal bytes
+     * @param batchSize the number of records buffered before they are written to the file
+     * @param compactionRatio the number of journal records per element that triggers a compaction
+     * @throws IllegalArgumentException if {@code batchSize} is less than 1 or {@code compactionRatio} is less than 2
+     * @throws IOException if the journal cannot be read or created, or is not a journal
+     * @throws NullPointerException if the journal or codec is null
+     */
+    public JournaledCustomSet(final Path journal, final Codec<E> codec, final int batchSize, final int compactionRatio) throws IOException {
+        if(batchSize < 1 || compactionRatio < 2)
+            throw new IllegalArgumentException();
+        this.journal = requireNonNull(journal);
+        this.codec = requireNonNull(codec);
+        this.batchSize = batchSize;
+        this.compactionRatio = compactionRatio;
+        if(Files.exists(journal) && Files.size(journal) > 0) {
+            Position position = replay(journal, codec, customSet, Position.START);
+            try(FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+                channel.truncate(position.offset());
+            }
+            generation = position.generation();
+            out = open(journal, StandardOpenOption.APPEND);
+        } else {
+            generation = 1;
+            out = open(journal, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            writeHeader(out, generation);
+            out.flush();
+        }
+        records = customSet.size();
+    }
+
+    /**
+     * Replays the specified journal into a new set.
+     *
+     * @param journal the journal file
+     * @param codec converts journal bytes to elements
+     * @param <E> the type of elements in the journal
+     * @return a set containing the elements the journal describes
+     * @throws IOException if the journal cannot be read or is not a journal
+     * @throws NullPointerException if the journal or codec is null
+     */
+    public static <E> CustomSet<E> replay(final Path journal, final Codec<E> codec) throws IOException {
+        CustomSet<E> customSet = new CustomSet<>();
+        replay(journal, codec, customSet, Position.START);
+        return customSet;
+    }
+
+    /**
+     * Applies the records of the specified journal after {@code from} to the target set. When {@code from} belongs to
+     * an earlier generation, because the journal has been compacted since, the target is cleared and the whole
+     * journal is applied. Records still being written, or cut short by a crash, are not applied.
+     *
+     * @param journal the journal file
+     * @param codec converts journal bytes to elements
+     * @param target the set the records are applied to
+     * @param from the position returned by the previous call, or {@link Position#START}
+     * @param <E> the type of elements in the journal
+     * @return the position to pass to the next call
+     * @throws IOException if the journal cannot be read or is not a journal
+     * @throws NullPointerException if any argument is null
+     */
+    public static <E> Position replay(final Path journal, final Codec<E> codec, final Set<? super E> target, final Position from) throws IOException {
+        requireNonNull(codec);
+        requireNonNull(target);
+        requireNonNull(from);
+        try(FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while(header.hasRemaining())
+                if(channel.read(header) < 0)
+                    throw new IOException("Truncated CustomSet journal header");
+            if(header.flip().getInt() != JOURNAL_COOKIE)
+                throw new IOException("Not a CustomSet journal");
+            long generation = header.getLong();
+            long offset = HEADER_BYTES;
+            if(generation == from.generation() && from.offset() >= HEADER_BYTES) {
+                offset = from.offset();
+                channel.position(offset);
+            } else
+                target.clear();
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+            for(int op; (op = in.read()) >= 0; ) {
+                if(op == CLEAR) {
+                    target.clear();
+                    offset++;
+                    continue;
+                }
+                if(op != ADD && op != REMOVE)
+                    throw new IOException("Unknown journal record " + op + " at offset " + offset);
+                byte[] bytes;
+                try {
+                    int length = in.readInt();
+                    if(length < 0)
+                        throw new IOException("Invalid record length " + length + " at offset " + offset);
+                    bytes = new byte[length];
+                    in.readFully(bytes);
+                } catch(EOFException e) {
+                    break;
+                }
+                E item = codec.decode(bytes);
+                if(op == ADD)
+                    target.add(item);
+                else
+                    target.remove(item);
+                offset += 1 + Integer.BYTES + bytes.length;
+            }
+            return new Position(generation, offset);
+        }
+    }
+
+    /**
+     * Adds the specified element to this set if it is not already present, journaling the addition.
+     *
+     * @param item element to be added to this set
+     * @return {@code true} if this set did not already contain the specified element
+     * @throws NullPointerException if the specified element is null
+     * @throws UncheckedIOException if the journal cannot be written
+     */
+    public boolean add(final E item) {
+        requireNonNull(item);
+        if(!customSet.add(item))
+            return false;
+        append(ADD, item);
+        return true;
+    }
+
+    /**
+     * Adds all the elements in the specified collection to this set, journaling each element that was not already present.
+     *
+     * @param c collection containing elements to be added to this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     * @throws UncheckedIOException if the journal cannot be written
+     */
+    public boolean addAll(final Collection<? extends E> c) {
+        requireNonNull(c);
+        boolean changed = false;
+        for(E item : c)
+            changed = add(item) || changed;
+        return changed;
+    }
+
+    /**
+     * Removes all the elements from this set, journaling a single clear record if the set was not empty.
+     *
+     * @throws UncheckedIOException if the journal cannot be written
+     */
+    public void clear() {
+        if(customSet.isEmpty())
+            return;
+        customSet.clear();
+        append(CLEAR, null);
+    }
+
+    /**
+     * Writes any buffered records and closes the journal. The set can still be read but no longer modified.
+     *
+     * @throws IOException if the journal cannot be written
+     */
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Replaces the journal with a snapshot of the current elements and starts a new generation. The snapshot is written
+     * to a sibling file first and moved over the journal atomically, so readers see either the old or the new journal.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void compact() throws IOException {
+        out.flush();
+        Path snapshot = journal.resolveSibling(journal.getFileName() + ".compact");
+        try(DataOutputStream snapshotOut = open(snapshot, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(snapshotOut, generation + 1);
+            for(E item : customSet)
+                writeRecord(snapshotOut, ADD, item);
+        }
+        out.close();
+        Files.move(snapshot, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        generation++;
+        records = customSet.size();
+        pending = 0;
+        out = open(journal, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Returns {@code true} if this set contains the specified element.
+     *
+     * @param item element whose presence in this set is to be tested
+     * @return {@code true} if this set contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean contains(final Object item) {
+        return customSet.contains(item);
+    }
+
+    /**
+     * Returns {@code true} if this set contains all the elements of the specified collection.
+     *
+     * @param c collection to be checked for containment in this set
+     * @return {@code true} if this set contains all the elements of the specified collection
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean containsAll(final Collection<?> c) {
+        return customSet.containsAll(c);
+    }
+
+    /**
+     * Compares this set with another set for equality.
+     *
+     * @param o the object to compare with
+     * @return true if the sets are equal
+     */
+    public boolean equals(final Object o) {
+        return o == this || customSet.equals(o);
+    }
+
+    /**
+     * Hands every buffered record to the file system, so replicas reading the journal see them.
+     *
+     * @throws IOException if the journal cannot be written
+     */
+    public void flush() throws IOException {
+        out.flush();
+        pending = 0;
+    }
+
+    /**
+     * Returns the hash code value for this set.
+     *
+     * @return the hash code value for this set
+     */
+    public int hashCode() {
+        return customSet.hashCode();
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return customSet.isEmpty();
+    }
+
+    /**
+     * Returns an iterator over the elements in this set. The iterator does not support removal.
+     *
+     * @return an iterator over the elements in this set
+     */
+    public Iterator<E> iterator() {
+        return customSet.iterator();
+    }
+
+    /**
+     * Removes the specified element from this set if it is present, journaling the removal.
+     *
+     * @param item object to be removed from this set, if present
+     * @return {@code true} if this set contained the specified element
+     * @throws NullPointerException if the specified element is null
+     * @throws UncheckedIOException if the journal cannot be written
+     */
+    public boolean remove(final Object item) {
+        if(!customSet.remove(item))
+            return false;
+        append(REMOVE, (E) item);
+        return true;
+    }
+
+    /**
+     * Removes from this set all of its elements that are contained in the specified collection, journaling each removal.
+     *
+     * @param c collection containing elements to be removed from this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     * @throws UncheckedIOException if the journal cannot be written
+     */
+    public boolean removeAll(final Collection<?> c) {
+        requireNonNull(c);
+        boolean changed = false;
+        for(Object item : c)
+            if(item != null && remove(item))
+                changed = true;
+        return changed;
+    }
+
+    /**
+     * Retains only the elements in this set that are contained in the specified collection, journaling each removal.
+     *
+     * @param c collection containing elements to be retained in this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     * @throws UncheckedIOException if the journal cannot be written
+     */
+    public boolean retainAll(final Collection<?> c) {
+        requireNonNull(c);
+        List<E> removed = new ArrayList<>();
+        for(E item : customSet)
+            if(!c.contains(item))
+                removed.add(item);
+        for(E item : removed)
+            remove(item);
+        return !removed.isEmpty();
+    }
+
+    /**
+     * Returns the number of elements in this set (its cardinality).
+     *
+     * @return the number of elements in this set (its cardinality)
+     */
+    public int size() {
+        return customSet.size();
+    }
+
+    /**
+     * Returns an array containing all the elements in this set.
+     *
+     * @return an array containing all the elements in this set
+     */
+    public Object[] toArray() {
+        return customSet.toArray();
+    }
+
+    /**
+     * Returns an array containing all the elements in this set; the runtime
+     * type of the returned array is that of the specified array.
+     *
+     * @param a the array into which the elements of this set are to be stored, if it is big enough;
+     *          otherwise, a new array of the same runtime type is allocated
+     * @return an array containing all the elements in this set
+     * @throws NullPointerException if the specified array is null
+     */
+    public <T> T[] toArray(T[] a) {
+        return customSet.toArray(a);
+    }
+
+    /**
+     * Returns String representation of JournaledCustomSet
+     *
+     * @return String representation of JournaledCustomSet
+     */
+    public String toString() {
+        return customSet.toString();
+    }
+
+    private void append(final int op, final E item) {
+        try {
+            writeRecord(out, op, item);
+            records++;
+            if(++pending >= batchSize)
+                flush();
+            if(records > (long) compactionRatio * Math.max(customSet.size(), MIN_COMPACTION_RECORDS))
+                compact();
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static DataOutputStream open(final Path path, final StandardOpenOption... options) throws IOException {
+        StandardOpenOption[] write = new StandardOpenOption[options.length + 1];
+        write[0] = StandardOpenOption.WRITE;
+        System.arraycopy(options, 0, write, 1, options.length);
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path, write), BUFFER_SIZE));
+    }
+
+    private static void writeHeader(final DataOutputStream out, final long generation) throws IOException {
+        out.writeInt(JOURNAL_COOKIE);
+        out.writeLong(generation);
+    }
+
+    private void writeRecord(final DataOutputStream target, final int op, final E item) throws IOException {
+        target.writeByte(op);
+        if(op == CLEAR)
+            return;
+        byte[] bytes = codec.encode(item);
+        target.writeInt(bytes.length);
+        target.write(bytes);
+    }
+}
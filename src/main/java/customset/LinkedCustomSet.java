@@ -0,0 +1,471 @@
+package customset;
+
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An insertion-ordered implementation of the {@link Set} interface.
+ * Elements are stored in the same prime-sized chained table as {@link CustomSet}, with every entry
+ * additionally linked into a doubly-linked list in the order it was first added. Iteration,
+ * {@code toArray} and {@code toString} walk that list, so they cost O(size) regardless of how sparse
+ * the table is, and the iteration order is stable across {@code expand()} and {@code reduce()}.
+ *
+ * @param <E> the type of elements maintained by this set
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class LinkedCustomSet<E> implements Set<E> {
+
+    private double LOAD_FACTOR = 0.75;
+    private int primesIndex = 0;
+    private int size = 0;
+    private int setSize = CustomSet.primes[primesIndex];
+    private int modCount = 0;
+
+    private Entry<E>[] set;
+    private Entry<E> head;
+    private Entry<E> tail;
+
+    /**
+     * Constructs an empty set with default initial capacity (17) and load factor (0.75).
+     */
+    public LinkedCustomSet() {
+        set = new Entry[setSize];
+    }
+
+    /**
+     * Constructs a set containing the elements of the specified collection, in the
+     * order they are returned by the collection's iterator.
+     *
+     * @param c the collection whose elements are to be placed into this set
+     * @throws NullPointerException if the specified collection is null
+     */
+    public LinkedCustomSet(final Collection<? extends E> c) {
+        requireNonNull(c);
+        generateSet(Math.max((int) (c.size() / LOAD_FACTOR) + 1, 1));
+        addAll(c);
+    }
+
+    /**
+     * Constructs an empty set with the specified initial capacity and default load factor (0.75).
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public LinkedCustomSet(final int initialCapacity) {
+        if(initialCapacity < 0)
+            throw new IllegalArgumentException();
+        generateSet(initialCapacity);
+    }
+
+    /**
+     * Constructs an empty set with the specified initial capacity and load factor.
+     *
+     * @param initialCapacity the initial capacity
+     * @param loadFactor the load factor
+     * @throws IllegalArgumentException if the initial capacity is negative or the load factor is non-positive or NaN
+     */
+    public LinkedCustomSet(final int initialCapacity, final double loadFactor) {
+        if(initialCapacity < 0)
+            throw new IllegalArgumentException();
+        if(loadFactor <= 0 || Double.isNaN(loadFactor) || Double.isInfinite(loadFactor))
+            throw new IllegalArgumentException();
+        this.LOAD_FACTOR = loadFactor;
+        generateSet(initialCapacity);
+    }
+
+    /**
+     * Adds the specified element to the end of this set's iteration order if it is not already present.
+     * If this set already contains the element, the call leaves the set and its order unchanged
+     * and returns {@code false}.
+     *
+     * @param item element to be added to this set
+     * @return {@code true} if this set did not already contain the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean add(final E item) {
+        requireNonNull(item);
+        int hash = item.hashCode();
+        int index = indexFor(hash, setSize);
+        if(find(item, hash, index) != null)
+            return false;
+        Entry<E> entry = new Entry<>(item, hash, set[index]);
+        set[index] = entry;
+        linkLast(entry);
+        size++;
+        modCount++;
+        if((double) size / (double) setSize > LOAD_FACTOR && primesIndex < CustomSet.primes.length - 1)
+            expand();
+        return true;
+    }
+
+    /**
+     * Adds all the elements in the specified collection to this set if they're
+     * not already present, in the order returned by the collection's iterator.
+     *
+     * @param c collection containing elements to be added to this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean addAll(final Collection<? extends E> c) {
+        requireNonNull(c);
+        int n = size;
+        c.forEach(this::add);
+        return n < size;
+    }
+
+    /**
+     * Removes all the elements from this set.
+     * The set will be empty after this call returns.
+     */
+    public void clear() {
+        primesIndex = 0;
+        setSize = CustomSet.primes[primesIndex];
+        size = 0;
+        set = new Entry[setSize];
+        head = null;
+        tail = null;
+        modCount++;
+    }
+
+    public LinkedCustomSet<E> clone() {
+        return new LinkedCustomSet<>(this);
+    }
+
+    /**
+     * Returns {@code true} if this set contains the specified element.
+     *
+     * @param item element whose presence in this set is to be tested
+     * @return {@code true} if this set contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean contains(final Object item) {
+        requireNonNull(item);
+        int hash = item.hashCode();
+        return find(item, hash, indexFor(hash, setSize)) != null;
+    }
+
+    /**
+     * Returns {@code true} if this set contains all the elements of the
+     * specified collection.
+     *
+     * @param c collection to be checked for containment in this set
+     * @return {@code true} if this set contains all the elements of the specified collection
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean containsAll(final Collection<?> c) {
+        requireNonNull(c);
+        for(Object item : c)
+            if(!contains(item))
+                return false;
+        return true;
+    }
+
+    /**
+     * Compares this set with another set for equality. Returns true if the other
+     * set has the same size and contains all the same elements; iteration order is not considered.
+     *
+     * @param o the object to compare with
+     * @return true if the sets are equal
+     */
+    public boolean equals(final Object o) {
+        if(o == this)
+            return true;
+        if(!(o instanceof Set<?> other) || other.size() != size())
+            return false;
+        return containsAll(other);
+    }
+
+    /**
+     * Returns the hash code value for this set, defined to be the sum of the hash codes of its elements.
+     *
+     * @return the hash code value for this set
+     */
+    public int hashCode() {
+        int hash = 0;
+        for(Entry<E> e = head; e != null; e = e.after)
+            hash += e.hash;
+        return hash;
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns an iterator over the elements in this set in insertion order.
+     * The iterator supports {@link Iterator#remove()} and fails fast on concurrent modification.
+     *
+     * @return an iterator over the elements in this set
+     */
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private Entry<E> next = head;
+            private Entry<E> lastReturned = null;
+            private int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            public E next() {
+                if(modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if(next == null)
+                    throw new NoSuchElementException();
+                lastReturned = next;
+                next = next.after;
+                return lastReturned.item;
+            }
+
+            public void remove() {
+                if(lastReturned == null)
+                    throw new IllegalStateException();
+                if(modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                LinkedCustomSet.this.remove(lastReturned.item);
+                lastReturned = null;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    /**
+     * Removes the specified element from this set if it is present.
+     * Returns {@code true} if this set contained the element.
+     *
+     * @param item object to be removed from this set, if present
+     * @return {@code true} if this set contained the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean remove(final Object item) {
+        requireNonNull(item);
+        int hash = item.hashCode();
+        int index = indexFor(hash, setSize);
+        Entry<E> previous = null;
+        Entry<E> entry = set[index];
+        while(entry != null && !(entry.hash == hash && entry.item.equals(item))) {
+            previous = entry;
+            entry = entry.next;
+        }
+        if(entry == null)
+            return false;
+        if(previous == null)
+            set[index] = entry.next;
+        else
+            previous.next = entry.next;
+        unlink(entry);
+        size--;
+        modCount++;
+        if(setSize > CustomSet.primes[0] && size <= setSize / 4)
+            reduce();
+        return true;
+    }
+
+    /**
+     * Removes from this set all of its elements that are contained in the
+     * specified collection.
+     *
+     * @param c collection containing elements to be removed from this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean removeAll(final Collection<?> c) {
+        requireNonNull(c);
+        boolean changed = false;
+        for(Object item : c)
+            if(remove(item))
+                changed = true;
+        return changed;
+    }
+
+    /**
+     * Retains only the elements in this set that are contained in the
+     * specified collection. The relative order of the retained elements is preserved.
+     *
+     * @param c collection containing elements to be retained in this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean retainAll(final Collection<?> c) {
+        requireNonNull(c);
+        if(c.contains(null))
+            throw new NullPointerException();
+        boolean modified = false;
+        for(Entry<E> e = head; e != null; e = e.after)
+            if(!c.contains(e.item)) {
+                removeFromBucket(e);
+                unlink(e);
+                size--;
+                modified = true;
+            }
+        if(modified) {
+            modCount++;
+            while(setSize > CustomSet.primes[0] && size <= setSize / 4)
+                reduce();
+        }
+        return modified;
+    }
+
+    /**
+     * Returns the number of elements in this set (its cardinality).
+     *
+     * @return the number of elements in this set (its cardinality)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an array containing all the elements in this set in insertion order.
+     *
+     * @return an array containing all the elements in this set
+     */
+    public Object[] toArray() {
+        Object[] arr = new Object[size];
+        int i = 0;
+        for(Entry<E> e = head; e != null; e = e.after)
+            arr[i++] = e.item;
+        return arr;
+    }
+
+    /**
+     * Returns an array containing all the elements in this set in insertion order; the
+     * runtime type of the returned array is that of the specified array.
+     *
+     * @param a the array into which the elements of this set are to be stored, if it is big enough;
+     *          otherwise, a new array of the same runtime type is allocated
+     * @return an array containing all the elements in this set
+     * @throws ArrayStoreException if the runtime type of the specified array is not a supertype
+     *         of the runtime type of every element in this set
+     * @throws NullPointerException if the specified array is null
+     */
+    public <T> T[] toArray(T[] a) {
+        requireNonNull(a);
+        T[] arrayToFill = a.length < size ? (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size) : a;
+        int i = 0;
+        for(Entry<E> e = head; e != null; e = e.after)
+            arrayToFill[i++] = (T) e.item;
+        if(a.length > size)
+            arrayToFill[size] = null;
+        return arrayToFill;
+    }
+
+    /**
+     * Returns String representation of LinkedCustomSet in insertion order
+     *
+     * @return String representation of LinkedCustomSet
+     */
+    public String toString() {
+        if(size == 0)
+            return "{}";
+        StringBuilder sb = new StringBuilder("{");
+        for(Entry<E> e = head; e != null; e = e.after) {
+            sb.append(e.item);
+            if(e.after != null)
+                sb.append(", ");
+        }
+        return sb.append('}').toString();
+    }
+
+    private void expand() {
+        rehash(CustomSet.primes[++primesIndex]);
+    }
+
+    private Entry<E> find(final Object item, final int hash, final int index) {
+        for(Entry<E> e = set[index]; e != null; e = e.next)
+            if(e.hash == hash && e.item.equals(item))
+                return e;
+        return null;
+    }
+
+    private void generateSet(final int initialCapacity) {
+        int[] primes = CustomSet.primes;
+        primesIndex = primes.length - 1;
+        for(int i = 0; i < primes.length; i++)
+            if(primes[i] >= initialCapacity) {
+                primesIndex = i;
+                break;
+            }
+        setSize = primes[primesIndex];
+        set = new Entry[setSize];
+    }
+
+    private static int indexFor(final int hash, final int length) {
+        return (hash & 0x7FFFFFFF) % length;
+    }
+
+    private void linkLast(final Entry<E> entry) {
+        entry.before = tail;
+        if(tail == null)
+            head = entry;
+        else
+            tail.after = entry;
+        tail = entry;
+    }
+
+    private void reduce() {
+        rehash(CustomSet.primes[--primesIndex]);
+    }
+
+    private void rehash(final int newSize) {
+        setSize = newSize;
+        Entry<E>[] newSet = new Entry[setSize];
+        for(Entry<E> e = head; e != null; e = e.after) {
+            int index = indexFor(e.hash, setSize);
+            e.next = newSet[index];
+            newSet[index] = e;
+        }
+        set = newSet;
+    }
+
+    private void removeFromBucket(final Entry<E> entry) {
+        int index = indexFor(entry.hash, setSize);
+        if(set[index] == entry) {
+            set[index] = entry.next;
+            return;
+        }
+        Entry<E> previous = set[index];
+        while(previous.next != entry)
+            previous = previous.next;
+        previous.next = entry.next;
+    }
+
+    private void unlink(final Entry<E> entry) {
+        if(entry.before == null)
+            head = entry.after;
+        else
+            entry.before.after = entry.after;
+        if(entry.after == null)
+            tail = entry.before;
+        else
+            entry.after.before = entry.before;
+    }
+
+    private static final class Entry<E> {
+        final E item;
+        final int hash;
+        Entry<E> next;
+        Entry<E> before;
+        Entry<E> after;
+
+        Entry(final E item, final int hash, final Entry<E> next) {
+            this.item = item;
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package customset;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bottom-k MinHash (K minimum values) sketch for estimating the Jaccard similarity of two sets and the number of
+ * distinct elements, without building the sets and intersecting them with {@code retainAll}. The sketch keeps the
+ * {@code k} smallest distinct 63-bit hashes of the elements added, in a sorted {@code long[]}, so it takes
+ * {@code 8k} bytes and the standard error of both estimates is about {@code 1 / sqrt(k)}. Adding an element is
+ * O(log k) and almost always rejected by a single comparison once the sketch is full. Sketches with the same
+ * {@code k} and hash function can be merged, for example after being filled on different threads, and serialized.
+ * Instances are not thread-safe.
+ *
+ * @param <E> the type of elements sketched
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class MinHashSketch<E> {
+
+    private static final int DEFAULT_K = 1024;
+    private static final int SERIAL_COOKIE = 0x4D484B31;
+
+    private final ToLongFunction<? super E> hasher;
+    private final long[] hashes;
+    private int size = 0;
+
+    /**
+     * Constructs an empty sketch keeping the default number of hashes (1024).
+     */
+    public MinHashSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Constructs an empty sketch keeping the {@code k} smallest hashes.
+     *
+     * @param k the number of hashes kept
+     * @throws IllegalArgumentException if {@code k} is less than 2
+     */
+    public MinHashSketch(final int k) {
+        this(k, HyperLogLogSketch::mix);
+    }
+
+    /**
+     * Constructs an empty sketch keeping the {@code k} smallest hashes of the specified 64-bit hash function.
+     *
+     * @param k the number of hashes kept
+     * @param hasher function returning a well-mixed 64-bit hash of an element
+     * @throws IllegalArgumentException if {@code k} is less than 2
+     * @throws NullPointerException if the hash function is null
+     */
+    public MinHashSketch(final int k, final ToLongFunction<? super E> hasher) {
+        if(k < 2)
+            throw new IllegalArgumentException();
+        this.hashes = new long[k];
+        this.hasher = requireNonNull(hasher);
+    }
+
+    /**
+     * Constructs a sketch keeping the {@code k} smallest hashes of the elements of the specified collection.
+     *
+     * @param k the number of hashes kept
+     * @param c the collection whose elements are to be sketched
+     * @throws IllegalArgumentException if {@code k} is less than 2
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public MinHashSketch(final int k, final Collection<? extends E> c) {
+        this(k);
+        addAll(c);
+    }
+
+    /**
+     * Reads a sketch written by {@link #serialize(DataOutput)}, using the default hash function.
+     *
+     * @param in the input to read from
+     * @param <E> the type of elements sketched
+     * @return the deserialized sketch
+     * @throws IOException if the input cannot be read or is not in the expected format
+     */
+    public static <E> MinHashSketch<E> deserialize(final DataInput in) throws IOException {
+        return deserialize(in, HyperLogLogSketch::mix);
+    }
+
+    /**
+     * Reads a sketch written by {@link #serialize(DataOutput)}. The hash function must be the one the sketch was built with.
+     *
+     * @param in the input to read from
+     * @param hasher function returning a well-mixed 64-bit hash of an element
+     * @param <E> the type of elements sketched
+     * @return the deserialized sketch
+     * @throws IOException if the input cannot be read or is not in the expected format
+     */
+    public static <E> MinHashSketch<E> deserialize(final DataInput in, final ToLongFunction<? super E> hasher) throws IOException {
+        if(in.readInt() != SERIAL_COOKIE)
+            throw new IOException("Not a MinHashSketch stream");
+        int k = in.readInt();
+        int size = in.readInt();
+        if(k < 2 || size < 0 || size > k)
+            throw new IOException("Invalid sketch size " + size + " of " + k);
+        MinHashSketch<E> sketch = new MinHashSketch<>(k, hasher);
+        for(int i = 0; i < size; i++) {
+            sketch.hashes[i] = in.readLong();
+            if(sketch.hashes[i] < 0 || (i > 0 && sketch.hashes[i] <= sketch.hashes[i - 1]))
+                throw new IOException("Hashes are not strictly ascending");
+        }
+        sketch.size = size;
+        return sketch;
+    }
+
+    /**
+     * Records the specified element.
+     *
+     * @param item the element to record
+     * @return {@code true} if the sketch changed as a result of the call
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean add(final E item) {
+        return offer(hasher.applyAsLong(requireNonNull(item)) >>> 1);
+    }
+
+    /**
+     * Records every element of the specified collection.
+     *
+     * @param c the collection whose elements are to be recorded
+     * @return {@code true} if the sketch changed as a result of the call
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean addAll(final Collection<? extends E> c) {
+        requireNonNull(c);
+        boolean changed = false;
+        for(E item : c)
+            changed = add(item) || changed;
+        return changed;
+    }
+
+    /**
+     * Returns the estimated number of distinct elements recorded. This is exact while fewer than {@code k} distinct
+     * hashes have been seen, and {@code (k - 1) / u} otherwise, where {@code u} is the k-th smallest hash scaled to (0, 1].
+     *
+     * @return the cardinality estimate
+     */
+    public long cardinality() {
+        if(size < hashes.length)
+            return size;
+        return Math.round((hashes.length - 1) / ((hashes[size - 1] + 1.0) / 0x1p63));
+    }
+
+    /**
+     * Returns the estimated Jaccard similarity between the elements recorded by this sketch and by the specified
+     * sketch: the number of distinct elements in both divided by the number in either. The estimate takes the smallest
+     * {@code k} hashes of the union of both sketches, where {@code k} is the smaller of the two sizes, and counts how
+     * many of those are present in both.
+     *
+     * @param other the sketch to compare with
+     * @return the similarity estimate, {@code 1.0} if both sketches are empty
+     * @throws NullPointerException if the specified sketch is null
+     */
+    public double jaccard(final MinHashSketch<? extends E> other) {
+        requireNonNull(other);
+        int k = Math.min(hashes.length, other.hashes.length);
+        int i = 0;
+        int j = 0;
+        int union = 0;
+        int shared = 0;
+        while(union < k && (i < size || j < other.size)) {
+            if(j == other.size || (i < size && hashes[i] < other.hashes[j]))
+                i++;
+            else if(i == size || other.hashes[j] < hashes[i])
+                j++;
+            else {
+                i++;
+                j++;
+                shared++;
+            }
+            union++;
+        }
+        return union == 0 ? 1.0 : (double) shared / union;
+    }
+
+    /**
+     * Returns the number of hashes this sketch keeps.
+     *
+     * @return {@code k}
+     */
+    public int k() {
+        return hashes.length;
+    }
+
+    /**
+     * Adds everything recorded by the specified sketch to this sketch, as if its elements had been added here.
+     *
+     * @param other the sketch to merge into this one
+     * @throws IllegalArgumentException if the sketches keep a different number of hashes
+     * @throws NullPointerException if the specified sketch is null
+     */
+    public void merge(final MinHashSketch<? extends E> other) {
+        if(requireNonNull(other).hashes.length != hashes.length)
+            throw new IllegalArgumentException();
+        long[] merged = new long[hashes.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while(count < merged.length && (i < size || j < other.size)) {
+            if(j == other.size || (i < size && hashes[i] < other.hashes[j]))
+                merged[count++] = hashes[i++];
+            else if(i == size || other.hashes[j] < hashes[i])
+                merged[count++] = other.hashes[j++];
+            else {
+                merged[count++] = hashes[i++];
+                j++;
+            }
+        }
+        System.arraycopy(merged, 0, hashes, 0, count);
+        size = count;
+    }
+
+    /**
+     * Writes this sketch to the given output. The format is a cookie, {@code k}, the number of
+     * hashes held and the hashes in ascending order.
+     *
+     * @param out the output to write to
+     * @throws IOException if the output cannot be written
+     */
+    public void serialize(final DataOutput out) throws IOException {
+        out.writeInt(SERIAL_COOKIE);
+        out.writeInt(hashes.length);
+        out.writeInt(size);
+        for(int i = 0; i < size; i++)
+            out.writeLong(hashes[i]);
+    }
+
+    private boolean offer(final long hash) {
+        if(size == hashes.length && hash >= hashes[size - 1])
+            return false;
+        int index = Arrays.binarySearch(hashes, 0, size, hash);
+        if(index >= 0)
+            return false;
+        int insertion = -index - 1;
+        int moved = Math.min(size, hashes.length - 1) - insertion;
+        System.arraycopy(hashes, insertion, hashes, insertion + 1, moved);
+        hashes[insertion] = hash;
+        if(size < hashes.length)
+            size++;
+        return true;
+    }
+}
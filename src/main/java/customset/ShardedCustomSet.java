@@ -0,0 +1,386 @@
+package customset;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An implementation of the {@link Set} interface that partitions its elements across a fixed number of independent
+ * {@link CustomSet} shards. Each element is routed to one shard by a mixed hash, so every shard grows and shrinks on
+ * its own: a resize only rehashes one shard, no single bucket array has to hold all elements, and the total capacity is
+ * not capped by the largest prime of one table. Bulk operations ({@code addAll}, {@code removeAll}, {@code retainAll},
+ * {@code hashCode} and {@code toArray}) work shard by shard and run on the common fork/join pool once the set or
+ * the argument is large enough to pay for it. {@link #shardStats()} reports the size and capacity of every shard.
+ * This class is not thread-safe; the parallel bulk operations only ever touch disjoint shards. Null elements are not permitted.
+ *
+ * @param <E> the type of elements maintained by this set
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class ShardedCustomSet<E> implements Set<E> {
+
+    private static final int DEFAULT_SHARD_COUNT = 16;
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private final CustomSet<E>[] shards;
+
+    /**
+     * Size and capacity of a single shard of a {@link ShardedCustomSet}.
+     *
+     * @param shard index of the shard
+     * @param size number of elements held by the shard
+     * @param capacity number of buckets in the shard's table
+     */
+    public record ShardStats(int shard, int size, int capacity) {
+
+        /**
+         * Returns the ratio of elements to buckets in this shard.
+         *
+         * @return the current load factor of the shard
+         */
+        public double loadFactor() {
+            return (double) size / capacity;
+        }
+    }
+
+    /**
+     * Constructs an empty set with the default number of shards (16).
+     */
+    public ShardedCustomSet() {
+        this(DEFAULT_SHARD_COUNT);
+    }
+
+    /**
+     * Constructs an empty set with the specified number of shards.
+     *
+     * @param shardCount the number of independent shards
+     * @throws IllegalArgumentException if the shard count is not positive
+     */
+    public ShardedCustomSet(final int shardCount) {
+        if(shardCount <= 0)
+            throw new IllegalArgumentException();
+        shards = new CustomSet[shardCount];
+        for(int i = 0; i < shardCount; i++)
+            shards[i] = new CustomSet<>();
+    }
+
+    /**
+     * Constructs a set with the default number of shards containing the elements of the specified collection.
+     *
+     * @param c the collection whose elements are to be placed into this set
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public ShardedCustomSet(final Collection<? extends E> c) {
+        this(DEFAULT_SHARD_COUNT, c);
+    }
+
+    /**
+     * Constructs a set with the specified number of shards containing the elements of the specified collection.
+     *
+     * @param shardCount the number of independent shards
+     * @param c the collection whose elements are to be placed into this set
+     * @throws IllegalArgumentException if the shard count is not positive
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public ShardedCustomSet(final int shardCount, final Collection<? extends E> c) {
+        this(shardCount);
+        addAll(requireNonNull(c));
+    }
+
+    /**
+     * Adds the specified element to its shard if it is not already present.
+     *
+     * @param item element to be added to this set
+     * @return {@code true} if this set did not already contain the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean add(final E item) {
+        return shards[shardOf(requireNonNull(item))].add(item);
+    }
+
+    /**
+     * Adds all the elements in the specified collection to this set if they're not already present. The elements are
+     * first grouped by shard, then each group is added to its shard, in parallel for large collections. An empty shard
+     * receiving a group is rebuilt at the group's size rather than grown one resize at a time.
+     *
+     * @param c collection containing elements to be added to this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean addAll(final Collection<? extends E> c) {
+        List<E>[] groups = partition(requireNonNull(c));
+        return shardIndices(c.size()).mapToObj(i -> {
+            if(groups[i] == null)
+                return false;
+            if(shards[i].isEmpty()) {
+                shards[i] = new CustomSet<>(groups[i]);
+                return true;
+            }
+            return shards[i].addAll(groups[i]);
+        }).reduce(false, Boolean::logicalOr);
+    }
+
+    /**
+     * Removes all the elements from every shard.
+     */
+    public void clear() {
+        for(CustomSet<E> shard : shards)
+            shard.clear();
+    }
+
+    public ShardedCustomSet<E> clone() {
+        return new ShardedCustomSet<>(shards.length, this);
+    }
+
+    /**
+     * Returns {@code true} if this set contains the specified element.
+     *
+     * @param item element whose presence in this set is to be tested
+     * @return {@code true} if this set contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean contains(final Object item) {
+        return shards[shardOf(requireNonNull(item))].contains(item);
+    }
+
+    /**
+     * Returns {@code true} if this set contains all the elements of the specified collection.
+     *
+     * @param c collection to be checked for containment in this set
+     * @return {@code true} if this set contains all the elements of the specified collection
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean containsAll(final Collection<?> c) {
+        requireNonNull(c);
+        for(Object item : c)
+            if(!contains(item))
+                return false;
+        return true;
+    }
+
+    /**
+     * Compares this set with another set for equality. Returns true if the other
+     * set has the same size and contains all the same elements.
+     *
+     * @param o the object to compare with
+     * @return true if the sets are equal
+     */
+    public boolean equals(final Object o) {
+        if(o == this)
+            return true;
+        if(!(o instanceof Set<?> other) || other.size() != size())
+            return false;
+        for(Object item : other)
+            if(item == null || !contains(item))
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns the hash code value for this set, summing the shard hash codes in parallel for large sets.
+     *
+     * @return the hash code value for this set
+     */
+    public int hashCode() {
+        return shardIndices(size()).map(i -> shards[i].hashCode()).sum();
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        for(CustomSet<E> shard : shards)
+            if(!shard.isEmpty())
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns an iterator over the elements in this set, visiting one shard after another.
+     *
+     * @return an iterator over the elements in this set
+     */
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int shardIndex = 0;
+            private Iterator<E> current = shards[0].iterator();
+
+            public boolean hasNext() {
+                while(!current.hasNext() && shardIndex < shards.length - 1)
+                    current = shards[++shardIndex].iterator();
+                return current.hasNext();
+            }
+
+            public E next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Removes the specified element from its shard if it is present.
+     *
+     * @param item object to be removed from this set, if present
+     * @return {@code true} if this set contained the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean remove(final Object item) {
+        return shards[shardOf(requireNonNull(item))].remove(item);
+    }
+
+    /**
+     * Removes from this set all of its elements that are contained in the specified collection. The elements are
+     * grouped by shard and each group is removed from its shard, in parallel for large collections.
+     *
+     * @param c collection containing elements to be removed from this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean removeAll(final Collection<?> c) {
+        List<Object>[] groups = partition(requireNonNull(c));
+        return shardIndices(c.size())
+                .mapToObj(i -> groups[i] != null && shards[i].removeAll(groups[i]))
+                .reduce(false, Boolean::logicalOr);
+    }
+
+    /**
+     * Retains only the elements in this set that are contained in the specified collection. Each shard is filtered
+     * independently, in parallel for large sets, so the specified collection must tolerate concurrent {@code contains} calls.
+     *
+     * @param c collection containing elements to be retained in this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean retainAll(final Collection<?> c) {
+        requireNonNull(c);
+        if(c.contains(null))
+            throw new NullPointerException();
+        return shardIndices(size())
+                .mapToObj(i -> shards[i].retainAll(c))
+                .reduce(false, Boolean::logicalOr);
+    }
+
+    /**
+     * Returns the number of shards this set partitions its elements across.
+     *
+     * @return the number of shards
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Returns the size and capacity of every shard, in shard order.
+     *
+     * @return a list with one {@link ShardStats} entry per shard
+     */
+    public List<ShardStats> shardStats() {
+        List<ShardStats> stats = new ArrayList<>(shards.length);
+        for(int i = 0; i < shards.length; i++)
+            stats.add(new ShardStats(i, shards[i].size(), shards[i].capacity()));
+        return stats;
+    }
+
+    /**
+     * Returns the number of elements in this set, or {@code Integer.MAX_VALUE} if it holds more.
+     *
+     * @return the number of elements in this set (its cardinality)
+     */
+    public int size() {
+        long size = 0;
+        for(CustomSet<E> shard : shards)
+            size += shard.size();
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns an array containing all the elements in this set. Each shard copies into its own
+     * region of the array, in parallel for large sets.
+     *
+     * @return an array containing all the elements in this set
+     */
+    public Object[] toArray() {
+        return toArray(new Object[0]);
+    }
+
+    /**
+     * Returns an array containing all the elements in this set; the
+     * runtime type of the returned array is that of the specified array.
+     *
+     * @param a the array into which the elements of this set are to be stored, if it is big enough;
+     *          otherwise, a new array of the same runtime type is allocated
+     * @return an array containing all the elements in this set
+     * @throws ArrayStoreException if the runtime type of the specified array is not a supertype
+     *         of the runtime type of every element in this set
+     * @throws NullPointerException if the specified array is null
+     */
+    public <T> T[] toArray(T[] a) {
+        requireNonNull(a);
+        int[] offsets = new int[shards.length + 1];
+        for(int i = 0; i < shards.length; i++)
+            offsets[i + 1] = offsets[i] + shards[i].size();
+        int size = offsets[shards.length];
+        T[] arrayToFill = a.length < size ? (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size) : a;
+        shardIndices(size).forEach(i -> {
+            int index = offsets[i];
+            for(E item : shards[i])
+                arrayToFill[index++] = (T) item;
+        });
+        if(a.length > size)
+            arrayToFill[size] = null;
+        return arrayToFill;
+    }
+
+    /**
+     * Returns String representation of ShardedCustomSet
+     *
+     * @return String representation of ShardedCustomSet
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for(E item : this) {
+            if(sb.length() > 1)
+                sb.append(", ");
+            sb.append(item);
+        }
+        return sb.append('}').toString();
+    }
+
+    private <T> List<T>[] partition(final Collection<? extends T> c) {
+        List<T>[] groups = new List[shards.length];
+        int expected = c.size() / shards.length + 1;
+        for(T item : c) {
+            int shard = shardOf(requireNonNull(item));
+            if(groups[shard] == null)
+                groups[shard] = new ArrayList<>(expected);
+            groups[shard].add(item);
+        }
+        return groups;
+    }
+
+    private IntStream shardIndices(final int workSize) {
+        IntStream indices = IntStream.range(0, shards.length);
+        return workSize >= PARALLEL_THRESHOLD && shards.length > 1 ? indices.parallel() : indices;
+    }
+
+    /**
+     * Routes by the high bits of a mixed hash so shard choice stays independent of the bucket a
+     * shard's own {@code hashCode() % prime} picks.
+     */
+    private int shardOf(final Object item) {
+        int hash = item.hashCode() * 0x9E3779B9;
+        return (int) (((hash ^ (hash >>> 16)) & 0xFFFFFFFFL) * shards.length >>> 32);
+    }
+}
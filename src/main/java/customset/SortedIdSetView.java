@@ -0,0 +1,461 @@
+package customset;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A read-only {@link Set} view over IDs already held in a strictly ascending {@code int[]}, {@code long[]},
+ * {@link IntBuffer}, {@link LongBuffer} or {@link ByteBuffer}, including a memory-mapped file. Nothing is copied:
+ * the view reads the caller's storage, which must not be modified while the view is in use. Each factory checks the
+ * order once with a sequential pass. {@code contains} is a branch-free binary search whose loop has a fixed trip count
+ * and selects the next half with a conditional move rather than a branch. An Eytzinger layout was not used because
+ * it would need a permuted copy of the IDs.
+ * <p>
+ * {@code containsAll} and {@code equals} between two views merge both in one forward pass. {@link CustomSet} recognises
+ * views in {@code containsAll}, {@code retainAll} and {@code equals}: when a view is comparable in size to the set, it
+ * sorts its own matching keys and intersects them with the view by galloping through it, instead of one random lookup
+ * per element. A much smaller view is looked up element by element. Mutators throw
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <E> {@link Integer} or {@link Long}
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public abstract class SortedIdSetView<E> implements Set<E> {
+
+    private final int length;
+    private int setHash = 0;
+    private boolean hashIsZero = false;
+
+    SortedIdSetView(final int length) {
+        this.length = length;
+    }
+
+    /**
+     * Returns a view of the specified strictly ascending array.
+     *
+     * @param ids the IDs, strictly ascending
+     * @return a set view of the IDs
+     * @throws IllegalArgumentException if the IDs are not strictly ascending
+     * @throws NullPointerException if the array is null
+     */
+    public static SortedIdSetView<Integer> ofInts(final int[] ids) {
+        return checked(new IntView(IntBuffer.wrap(ids)));
+    }
+
+    /**
+     * Returns a view of the remaining IDs of the specified buffer. The buffer's position and limit are not changed.
+     *
+     * @param ids the IDs, strictly ascending
+     * @return a set view of the IDs
+     * @throws IllegalArgumentException if the IDs are not strictly ascending
+     * @throws NullPointerException if the buffer is null
+     */
+    public static SortedIdSetView<Integer> ofInts(final IntBuffer ids) {
+        return checked(new IntView(ids.slice()));
+    }
+
+    /**
+     * Returns a view of the remaining bytes of the specified buffer read as {@code int}s in the buffer's byte order,
+     * for example a file mapped with {@link java.nio.channels.FileChannel#map}.
+     *
+     * @param bytes the IDs, strictly ascending
+     * @return a set view of the IDs
+     * @throws IllegalArgumentException if the IDs are not strictly ascending
+     * @throws NullPointerException if the buffer is null
+     */
+    public static SortedIdSetView<Integer> ofInts(final ByteBuffer bytes) {
+        return ofInts(bytes.asIntBuffer());
+    }
+
+    /**
+     * Returns a view of the specified strictly ascending array.
+     *
+     * @param ids the IDs, strictly ascending
+     * @return a set view of the IDs
+     * @throws IllegalArgumentException if the IDs are not strictly ascending
+     * @throws NullPointerException if the array is null
+     */
+    public static SortedIdSetView<Long> ofLongs(final long[] ids) {
+        return checked(new LongView(LongBuffer.wrap(ids)));
+    }
+
+    /**
+     * Returns a view of the remaining IDs of the specified buffer. The buffer's position and limit are not changed.
+     *
+     * @param ids the IDs, strictly ascending
+     * @return a set view of the IDs
+     * @throws IllegalArgumentException if the IDs are not strictly ascending
+     * @throws NullPointerException if the buffer is null
+     */
+    public static SortedIdSetView<Long> ofLongs(final LongBuffer ids) {
+        return checked(new LongView(ids.slice()));
+    }
+
+    /**
+     * Returns a view of the remaining bytes of the specified buffer read as {@code long}s in the buffer's byte order,
+     * for example a file mapped with {@link java.nio.channels.FileChannel#map}.
+     *
+     * @param bytes the IDs, strictly ascending
+     * @return a set view of the IDs
+     * @throws IllegalArgumentException if the IDs are not strictly ascending
+     * @throws NullPointerException if the buffer is null
+     */
+    public static SortedIdSetView<Long> ofLongs(final ByteBuffer bytes) {
+        return ofLongs(bytes.asLongBuffer());
+    }
+
+    /**
+     * Not supported by a read-only view.
+     *
+     * @param item ignored
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    public boolean add(final E item) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported by a read-only view.
+     *
+     * @param c ignored
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    public boolean addAll(final Collection<? extends E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported by a read-only view.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns {@code true} if the view contains the specified ID, in O(log n) without branching on the comparisons.
+     *
+     * @param item element whose presence in this set is to be tested
+     * @return {@code true} if the specified object is an ID of this view's type held in the view
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean contains(final Object item) {
+        if(!isKey(requireNonNull(item)))
+            return false;
+        long key = ((Number) item).longValue();
+        int index = lowerBound(key, 0, length);
+        return index < length && keyAt(index) == key;
+    }
+
+    /**
+     * Returns {@code true} if this view contains all the elements of the specified collection. Another view of the
+     * same ID type is merged with this one in a single forward pass.
+     *
+     * @param c collection to be checked for containment in this set
+     * @return {@code true} if this set contains all the elements of the specified collection
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean containsAll(final Collection<?> c) {
+        requireNonNull(c);
+        if(c instanceof SortedIdSetView<?> other && other.getClass() == getClass()) {
+            if(other.length > length)
+                return false;
+            int position = 0;
+            for(int i = 0; i < other.length; i++) {
+                long key = other.keyAt(i);
+                position = gallop(key, position);
+                if(position == length || keyAt(position) != key)
+                    return false;
+            }
+            return true;
+        }
+        for(Object item : c)
+            if(!contains(item))
+                return false;
+        return true;
+    }
+
+    /**
+     * Compares this view with another set for equality.
+     *
+     * @param o the object to compare with
+     * @return true if the other object is a set with the same elements
+     */
+    public boolean equals(final Object o) {
+        if(o == this)
+            return true;
+        if(!(o instanceof Set<?> other) || other.size() != length)
+            return false;
+        if(o instanceof CustomSet<?> customSet)
+            return customSet.equals(this);
+        return containsAll(other);
+    }
+
+    /**
+     * Returns the hash code value for this set, computed on the first call and cached. As in {@link String}, each
+     * cache field is written once with a final value, so a thread racing the first call at worst recomputes it.
+     *
+     * @return the hash code value for this set
+     */
+    public int hashCode() {
+        int hash = setHash;
+        if(hash == 0 && !hashIsZero) {
+            for(int i = 0; i < length; i++)
+                hash += hashAt(i);
+            if(hash == 0)
+                hashIsZero = true;
+            else
+                setHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns {@code true} if this view holds no IDs.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Returns an iterator over the IDs in ascending order. The iterator does not support removal.
+     *
+     * @return an iterator over the elements in this set
+     */
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+
+            public boolean hasNext() {
+                return index < length;
+            }
+
+            public E next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+                return elementAt(index++);
+            }
+        };
+    }
+
+    /**
+     * Not supported by a read-only view.
+     *
+     * @param item ignored
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    public boolean remove(final Object item) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported by a read-only view.
+     *
+     * @param c ignored
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    public boolean removeAll(final Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported by a read-only view.
+     *
+     * @param c ignored
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    public boolean retainAll(final Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the number of IDs in this view.
+     *
+     * @return the number of elements in this set (its cardinality)
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Returns an array containing all the IDs in ascending order.
+     *
+     * @return an array containing all the elements in this set
+     */
+    public Object[] toArray() {
+        return toArray(new Object[0]);
+    }
+
+    /**
+     * Returns an array containing all the IDs in ascending order; the runtime
+     * type of the returned array is that of the specified array.
+     *
+     * @param a the array into which the elements of this set are to be stored, if it is big enough;
+     *          otherwise, a new array of the same runtime type is allocated
+     * @return an array containing all the elements in this set
+     * @throws NullPointerException if the specified array is null
+     */
+    public <T> T[] toArray(T[] a) {
+        requireNonNull(a);
+        T[] arrayToFill = a.length < length ? (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), length) : a;
+        for(int i = 0; i < length; i++)
+            arrayToFill[i] = (T) elementAt(i);
+        if(a.length > length)
+            arrayToFill[length] = null;
+        return arrayToFill;
+    }
+
+    /**
+     * Returns String representation of SortedIdSetView
+     *
+     * @return String representation of SortedIdSetView
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for(int i = 0; i < length; i++) {
+            if(i > 0)
+                sb.append(", ");
+            sb.append(keyAt(i));
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Keeps, at the front of {@code keys}, only the keys held in this view, preserving their order. {@code keys}
+     * must be strictly ascending; each key is found by galloping forward from the previous match, so the view is
+     * read in one forward pass and the cost is O(m log(n / m)) for m keys.
+     *
+     * @return the number of keys kept
+     */
+    int intersect(final long[] keys) {
+        int kept = 0;
+        int position = 0;
+        for(long key : keys) {
+            position = gallop(key, position);
+            if(position == length)
+                break;
+            if(keyAt(position) == key)
+                keys[kept++] = key;
+        }
+        return kept;
+    }
+
+    abstract E elementAt(int index);
+
+    abstract int hashAt(int index);
+
+    /**
+     * Returns {@code true} if the object has this view's ID type, so {@code ((Number) item).longValue()} is its key.
+     */
+    abstract boolean isKey(Object item);
+
+    abstract long keyAt(int index);
+
+    private static <V extends SortedIdSetView<?>> V checked(final V view) {
+        for(int i = 1; i < view.size(); i++)
+            if(view.keyAt(i - 1) >= view.keyAt(i))
+                throw new IllegalArgumentException("IDs are not strictly ascending at index " + i);
+        return view;
+    }
+
+    /**
+     * Returns the first index at or after {@code from} whose key is not less than {@code key}, probing
+     * {@code from + 1, from + 3, from + 7, ...} before a binary search of the last gap.
+     */
+    private int gallop(final long key, final int from) {
+        int low = from;
+        int step = 1;
+        while(low + step < length && keyAt(low + step - 1) < key) {
+            low += step;
+            step <<= 1;
+        }
+        return lowerBound(key, low, Math.min(step, length - low));
+    }
+
+    /**
+     * Returns the first index in {@code [from, from + count)} whose key is not less than {@code key}, or
+     * {@code from + count}. The loop runs ceil(log2(count)) times whatever the data.
+     */
+    private int lowerBound(final long key, final int from, final int count) {
+        if(count == 0)
+            return from;
+        int base = from;
+        int n = count;
+        while(n > 1) {
+            int half = n >>> 1;
+            base = keyAt(base + half) < key ? base + half : base;
+            n -= half;
+        }
+        return keyAt(base) < key ? base + 1 : base;
+    }
+
+    private static final class IntView extends SortedIdSetView<Integer> {
+
+        private final IntBuffer ids;
+
+        private IntView(final IntBuffer ids) {
+            super(ids.remaining());
+            this.ids = ids;
+        }
+
+        Integer elementAt(final int index) {
+            return ids.get(index);
+        }
+
+        int hashAt(final int index) {
+            return ids.get(index);
+        }
+
+        boolean isKey(final Object item) {
+            return item instanceof Integer;
+        }
+
+        long keyAt(final int index) {
+            return ids.get(index);
+        }
+    }
+
+    private static final class LongView extends SortedIdSetView<Long> {
+
+        private final LongBuffer ids;
+
+        private LongView(final LongBuffer ids) {
+            super(ids.remaining());
+            this.ids = ids;
+        }
+
+        Long elementAt(final int index) {
+            return ids.get(index);
+        }
+
+        int hashAt(final int index) {
+            return Long.hashCode(ids.get(index));
+        }
+
+        boolean isKey(final Object item) {
+            return item instanceof Long;
+        }
+
+        long keyAt(final int index) {
+            return ids.get(index);
+        }
+    }
+}
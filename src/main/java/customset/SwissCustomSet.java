@@ -0,0 +1,418 @@
+package customset;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A Swiss-table variant of {@link CustomSet} for lookup-heavy, and in particular miss-heavy, workloads. Slots are
+ * open-addressed and grouped sixteen at a time; every slot has a control byte that is either empty, deleted, or a
+ * 7-bit fragment of the element's hash. A lookup selects a group from the other hash bits and compares the fragment
+ * against all sixteen control bytes at once, so {@code equals} only runs on slots whose fragment and full hash both
+ * match, and a miss usually ends after scanning one group that contains an empty slot. Groups are probed
+ * quadratically. The table size is a power of two, kept at most 7/8 full, counting deleted slots.
+ * <p>
+ * Control bytes are scanned eight at a time with plain {@code long} arithmetic by default. A build with
+ * {@code -PvectorApi} adds a {@code jdk.incubator.vector} scanner that is picked up automatically when the JVM runs
+ * with {@code --add-modules jdk.incubator.vector}.
+ * <p>
+ * Null elements are not permitted and iterators do not support removal.
+ *
+ * @param <E> the type of elements maintained by this set
+ * @author Benjamin Kane
+ * LinkedIn - <a href="https://www.linkedin.com/in/benjamin-kane-81149482/"/>
+ * GitHub account bk10aao - <a href="https://github.com/bk10aao"/>
+ * Repository - <a href="https://github.com/bk10aao/CustomSet"/>
+ */
+public class SwissCustomSet<E> implements Set<E> {
+
+    private static final int GROUP = GroupMatcher.GROUP;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final GroupMatcher MATCHER = GroupMatcher.load();
+
+    private byte[] control;
+    private int[] hashes;
+    private Object[] items;
+    private int deleted = 0;
+    private int groupMask;
+    private int setHash = 0;
+    private int size = 0;
+
+    /**
+     * Constructs an empty set with the default initial capacity (16).
+     */
+    public SwissCustomSet() {
+        generateSet(GROUP);
+    }
+
+    /**
+     * Constructs a set containing the elements of the specified collection.
+     *
+     * @param c the collection whose elements are to be placed into this set
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public SwissCustomSet(final Collection<? extends E> c) {
+        requireNonNull(c);
+        generateSet(capacityFor(c.size()));
+        addAll(c);
+    }
+
+    /**
+     * Constructs an empty set able to hold the specified number of elements without resizing.
+     *
+     * @param initialCapacity the number of elements to hold without resizing
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public SwissCustomSet(final int initialCapacity) {
+        if(initialCapacity < 0)
+            throw new IllegalArgumentException();
+        generateSet(capacityFor(initialCapacity));
+    }
+
+    /**
+     * Adds the specified element to this set if it is not already present.
+     *
+     * @param item element to be added to this set
+     * @return {@code true} if this set did not already contain the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean add(final E item) {
+        int hash = requireNonNull(item).hashCode();
+        int spread = spread(hash);
+        if(find(item, hash, spread) >= 0)
+            return false;
+        if(size + deleted >= maxLoad())
+            resize(deleted > size / 2 ? control.length : control.length << 1);
+        int slot = freeSlot(spread);
+        if(control[slot] == GroupMatcher.DELETED)
+            deleted--;
+        control[slot] = (byte) (spread & 0x7F);
+        hashes[slot] = hash;
+        items[slot] = item;
+        setHash += hash;
+        size++;
+        return true;
+    }
+
+    /**
+     * Adds all the elements in the specified collection to this set if they're not already present.
+     *
+     * @param c collection containing elements to be added to this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean addAll(final Collection<? extends E> c) {
+        requireNonNull(c);
+        int n = size;
+        for(E item : c)
+            add(item);
+        return n < size;
+    }
+
+    /**
+     * Removes all the elements from this set.
+     */
+    public void clear() {
+        setHash = 0;
+        size = 0;
+        generateSet(GROUP);
+    }
+
+    /**
+     * Returns {@code true} if this set contains the specified element.
+     *
+     * @param item element whose presence in this set is to be tested
+     * @return {@code true} if this set contains the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean contains(final Object item) {
+        int hash = requireNonNull(item).hashCode();
+        return find(item, hash, spread(hash)) >= 0;
+    }
+
+    /**
+     * Returns {@code true} if this set contains all the elements of the specified collection.
+     *
+     * @param c collection to be checked for containment in this set
+     * @return {@code true} if this set contains all the elements of the specified collection
+     * @throws NullPointerException if the specified collection is null or contains null elements
+     */
+    public boolean containsAll(final Collection<?> c) {
+        requireNonNull(c);
+        for(Object item : c)
+            if(!contains(item))
+                return false;
+        return true;
+    }
+
+    /**
+     * Compares this set with another set for equality. Another {@code SwissCustomSet} whose cached hash code
+     * differs is rejected without looking at any element.
+     *
+     * @param o the object to compare with
+     * @return true if the sets are equal
+     */
+    public boolean equals(final Object o) {
+        if(o == this)
+            return true;
+        if(!(o instanceof Set<?> other) || other.size() != size)
+            return false;
+        if(o instanceof SwissCustomSet<?> swissSet && swissSet.setHash != setHash)
+            return false;
+        for(Object item : other)
+            if(item == null || !contains(item))
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns the hash code value for this set, the sum of the hash codes of its elements, maintained on every change.
+     *
+     * @return the hash code value for this set
+     */
+    public int hashCode() {
+        return setHash;
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns an iterator over the elements in this set, in slot order. The iterator does not support removal.
+     *
+     * @return an iterator over the elements in this set
+     */
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int slot = nextSlot(0);
+
+            public boolean hasNext() {
+                return slot < control.length;
+            }
+
+            public E next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+                E item = (E) items[slot];
+                slot = nextSlot(slot + 1);
+                return item;
+            }
+
+            private int nextSlot(int from) {
+                while(from < control.length && control[from] < 0)
+                    from++;
+                return from;
+            }
+        };
+    }
+
+    /**
+     * Removes the specified element from this set if it is present. The slot becomes empty again when its group
+     * still has an empty slot, since no probe can have passed through that group, and is marked deleted otherwise.
+     *
+     * @param item object to be removed from this set, if present
+     * @return {@code true} if this set contained the specified element
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean remove(final Object item) {
+        int hash = requireNonNull(item).hashCode();
+        int slot = find(item, hash, spread(hash));
+        if(slot < 0)
+            return false;
+        erase(slot);
+        if(control.length > GROUP && size <= control.length / 8)
+            resize(control.length >>> 1);
+        return true;
+    }
+
+    /**
+     * Removes from this set all of its elements that are contained in the specified collection.
+     *
+     * @param c collection containing elements to be removed from this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean removeAll(final Collection<?> c) {
+        requireNonNull(c);
+        boolean changed = false;
+        for(Object item : c)
+            if(item != null && remove(item))
+                changed = true;
+        return changed;
+    }
+
+    /**
+     * Retains only the elements in this set that are contained in the specified collection.
+     *
+     * @param c collection containing elements to be retained in this set
+     * @return {@code true} if this set changed as a result of the call
+     * @throws NullPointerException if the specified collection is null
+     */
+    public boolean retainAll(final Collection<?> c) {
+        requireNonNull(c);
+        boolean modified = false;
+        for(int slot = 0; slot < control.length; slot++)
+            if(control[slot] >= 0 && !c.contains(items[slot])) {
+                erase(slot);
+                modified = true;
+            }
+        if(modified && control.length > GROUP && size <= control.length / 8)
+            resize(capacityFor(size));
+        return modified;
+    }
+
+    /**
+     * Returns the number of elements in this set (its cardinality).
+     *
+     * @return the number of elements in this set (its cardinality)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an array containing all the elements in this set.
+     *
+     * @return an array containing all the elements in this set
+     */
+    public Object[] toArray() {
+        return toArray(new Object[0]);
+    }
+
+    /**
+     * Returns an array containing all the elements in this set; the runtime
+     * type of the returned array is that of the specified array.
+     *
+     * @param a the array into which the elements of this set are to be stored, if it is big enough;
+     *          otherwise, a new array of the same runtime type is allocated
+     * @return an array containing all the elements in this set
+     * @throws NullPointerException if the specified array is null
+     */
+    public <T> T[] toArray(T[] a) {
+        requireNonNull(a);
+        T[] arrayToFill = a.length < size ? (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size) : a;
+        int index = 0;
+        for(int slot = 0; slot < control.length; slot++)
+            if(control[slot] >= 0)
+                arrayToFill[index++] = (T) items[slot];
+        if(a.length > size)
+            arrayToFill[size] = null;
+        return arrayToFill;
+    }
+
+    /**
+     * Returns String representation of SwissCustomSet
+     *
+     * @return String representation of SwissCustomSet
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for(int slot = 0; slot < control.length; slot++)
+            if(control[slot] >= 0) {
+                if(sb.length() > 1)
+                    sb.append(", ");
+                sb.append(items[slot]);
+            }
+        return sb.append('}').toString();
+    }
+
+    int capacity() {
+        return control.length;
+    }
+
+    private static int capacityFor(final int elements) {
+        long needed = (long) elements * 8 / 7 + 1;
+        return needed >= MAX_CAPACITY ? MAX_CAPACITY : Math.max(GROUP, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    private void erase(final int slot) {
+        int offset = slot & -GROUP;
+        if(MATCHER.hasEmpty(control, offset))
+            control[slot] = GroupMatcher.EMPTY;
+        else {
+            control[slot] = GroupMatcher.DELETED;
+            deleted++;
+        }
+        setHash -= hashes[slot];
+        items[slot] = null;
+        size--;
+    }
+
+    private int find(final Object item, final int hash, final int spread) {
+        byte h2 = (byte) (spread & 0x7F);
+        int group = (spread >>> 7) & groupMask;
+        for(int step = 1; ; step++) {
+            int offset = group * GROUP;
+            for(int matches = MATCHER.match(control, offset, h2); matches != 0; matches &= matches - 1) {
+                int slot = offset + Integer.numberOfTrailingZeros(matches);
+                if(control[slot] == h2 && hashes[slot] == hash && item.equals(items[slot]))
+                    return slot;
+            }
+            if(MATCHER.hasEmpty(control, offset))
+                return -1;
+            group = (group + step) & groupMask;
+        }
+    }
+
+    private int freeSlot(final int spread) {
+        int group = (spread >>> 7) & groupMask;
+        for(int step = 1; ; step++) {
+            int free = MATCHER.matchFree(control, group * GROUP);
+            if(free != 0)
+                return group * GROUP + Integer.numberOfTrailingZeros(free);
+            group = (group + step) & groupMask;
+        }
+    }
+
+    private void generateSet(final int capacity) {
+        control = new byte[capacity];
+        Arrays.fill(control, GroupMatcher.EMPTY);
+        hashes = new int[capacity];
+        items = new Object[capacity];
+        groupMask = capacity / GROUP - 1;
+        deleted = 0;
+    }
+
+    private int maxLoad() {
+        return control.length - control.length / 8;
+    }
+
+    /**
+     * Reinserts every element into a fresh table of the given capacity, dropping deleted markers.
+     */
+    private void resize(final int capacity) {
+        if(capacity > MAX_CAPACITY)
+            throw new IllegalStateException("SwissCustomSet is full");
+        byte[] oldControl = control;
+        int[] oldHashes = hashes;
+        Object[] oldItems = items;
+        generateSet(capacity);
+        for(int slot = 0; slot < oldControl.length; slot++)
+            if(oldControl[slot] >= 0) {
+                int spread = spread(oldHashes[slot]);
+                int target = freeSlot(spread);
+                control[target] = (byte) (spread & 0x7F);
+                hashes[target] = oldHashes[slot];
+                items[target] = oldItems[slot];
+            }
+    }
+
+    /**
+     * Mixes the hash so that both the group index (high bits) and the 7-bit fragment (low bits) depend on every input bit.
+     */
+    private static int spread(final int hash) {
+        int h = (hash ^ (hash >>> 16)) * 0x85EBCA6B;
+        h = (h ^ (h >>> 13)) * 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,134 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedCustomSetTest {
+
+    @Test
+    public void onConstructingSet_withMaximumSizeOf_0_throws_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCustomSet<>(0));
+    }
+
+    @Test
+    public void onConstructingSet_withNullPolicy_throws_NullPointerException() {
+        assertThrows(NullPointerException.class, () -> new BoundedCustomSet<>(10, null));
+    }
+
+    @Test
+    public void onAddingMoreThanMaximumSize_lru_evictsLeastRecentlyUsed_andNotifiesListener() {
+        List<Integer> evicted = new ArrayList<>();
+        BoundedCustomSet<Integer> boundedSet = new BoundedCustomSet<>(3, BoundedCustomSet.EvictionPolicy.LRU, evicted::add);
+        boundedSet.addAll(List.of(1, 2, 3));
+        assertTrue(boundedSet.contains(1));
+        assertTrue(boundedSet.add(4));
+        assertEquals(List.of(2), evicted);
+        assertFalse(boundedSet.add(1));
+        boundedSet.add(5);
+        assertEquals(List.of(2, 3), evicted);
+        assertEquals(3, boundedSet.size());
+        assertTrue(boundedSet.containsAll(List.of(1, 4, 5)));
+    }
+
+    @Test
+    public void onAddingMoreThanMaximumSize_clock_givesReferencedElementsSecondChance() {
+        List<Integer> evicted = new ArrayList<>();
+        BoundedCustomSet<Integer> boundedSet = new BoundedCustomSet<>(3, BoundedCustomSet.EvictionPolicy.CLOCK, evicted::add);
+        boundedSet.addAll(List.of(1, 2, 3));
+        boundedSet.contains(1);
+        boundedSet.add(4);
+        assertEquals(List.of(2), evicted);
+        assertTrue(boundedSet.contains(1));
+        assertEquals(3, boundedSet.size());
+    }
+
+    @Test
+    public void onAddingMoreThanMaximumSize_tinyLfu_keepsFrequentlyUsedElements() {
+        BoundedCustomSet<Integer> boundedSet = new BoundedCustomSet<>(100, BoundedCustomSet.EvictionPolicy.WINDOW_TINY_LFU);
+        IntStream.range(0, 100).forEach(boundedSet::add);
+        for(int round = 0; round < 5; round++)
+            IntStream.range(0, 50).forEach(boundedSet::contains);
+        IntStream.range(1_000, 2_000).forEach(boundedSet::add);
+        assertEquals(100, boundedSet.size());
+        assertTrue(IntStream.range(0, 50).filter(boundedSet::contains).count() >= 45);
+    }
+
+    @Test
+    public void givenSkewedWorkload_tinyLfuHitRate_beatsPeriodicClear() {
+        Random random = new Random(1);
+        BoundedCustomSet<Integer> tinyLfu = new BoundedCustomSet<>(1_000, BoundedCustomSet.EvictionPolicy.WINDOW_TINY_LFU);
+        CustomSet<Integer> periodicallyCleared = new CustomSet<>();
+        long clearedHits = 0;
+        int requests = 200_000;
+        for(int i = 0; i < requests; i++) {
+            int key = (int) (Math.pow(random.nextDouble(), 3) * 100_000);
+            tinyLfu.add(key);
+            if(!periodicallyCleared.add(key))
+                clearedHits++;
+            if(periodicallyCleared.size() >= 1_000)
+                periodicallyCleared.clear();
+        }
+        assertTrue(tinyLfu.stats().hitRate() > (double) clearedHits / requests);
+        assertEquals(requests, tinyLfu.stats().hits() + tinyLfu.stats().misses());
+    }
+
+    @Test
+    public void onEvictions_statsRecordHitsMissesAndEvictions() {
+        BoundedCustomSet<String> boundedSet = new BoundedCustomSet<>(2);
+        boundedSet.add("a");
+        boundedSet.add("b");
+        boundedSet.add("a");
+        boundedSet.add("c");
+        boundedSet.contains("z");
+        BoundedCustomSet.Stats stats = boundedSet.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(4, stats.misses());
+        assertEquals(1, stats.evictions());
+        assertEquals(0.2, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    public void givenEveryPolicy_onRandomOperations_sizeNeverExceedsMaximum() {
+        for(BoundedCustomSet.EvictionPolicy policy : BoundedCustomSet.EvictionPolicy.values()) {
+            Random random = new Random(3);
+            int[] evicted = {0};
+            BoundedCustomSet<Integer> boundedSet = new BoundedCustomSet<>(64, policy, item -> evicted[0]++);
+            int added = 0;
+            int removed = 0;
+            for(int i = 0; i < 50_000; i++) {
+                int value = random.nextInt(500);
+                if(random.nextInt(5) == 0) {
+                    if(boundedSet.remove(value))
+                        removed++;
+                } else if(boundedSet.add(value))
+                    added++;
+                assertTrue(boundedSet.size() <= 64);
+            }
+            assertEquals(added - removed - evicted[0], boundedSet.size());
+            assertEquals(boundedSet.size(), boundedSet.toArray().length);
+        }
+    }
+
+    @Test
+    public void givenSet_onRetainAllAndClear_removesWithoutEvictionCallback() {
+        List<Integer> evicted = new ArrayList<>();
+        BoundedCustomSet<Integer> boundedSet = new BoundedCustomSet<>(10, BoundedCustomSet.EvictionPolicy.CLOCK, evicted::add);
+        boundedSet.addAll(List.of(1, 2, 3, 4));
+        assertTrue(boundedSet.retainAll(List.of(2, 4)));
+        assertEquals(new CustomSet<>(List.of(2, 4)), boundedSet);
+        boundedSet.clear();
+        assertTrue(boundedSet.isEmpty());
+        assertTrue(evicted.isEmpty());
+        IntStream.range(0, 11).forEach(boundedSet::add);
+        assertEquals(1, evicted.size());
+    }
+}
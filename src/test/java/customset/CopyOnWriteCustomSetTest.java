@@ -0,0 +1,122 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CopyOnWriteCustomSetTest {
+
+    @Test
+    public void onAddingNull_throws_NullPointerException() {
+        CopyOnWriteCustomSet<Integer> copyOnWriteSet = new CopyOnWriteCustomSet<>();
+        assertThrows(NullPointerException.class, () -> copyOnWriteSet.add(null));
+        assertThrows(NullPointerException.class, () -> copyOnWriteSet.addAll(null));
+        assertThrows(NullPointerException.class, () -> copyOnWriteSet.contains(null));
+    }
+
+    @Test
+    public void givenEmptySet_onAddAndRemove_updatesContents() {
+        CopyOnWriteCustomSet<String> copyOnWriteSet = new CopyOnWriteCustomSet<>();
+        assertTrue(copyOnWriteSet.isEmpty());
+        assertTrue(copyOnWriteSet.add("a"));
+        assertFalse(copyOnWriteSet.add("a"));
+        assertTrue(copyOnWriteSet.add("b"));
+        assertEquals(2, copyOnWriteSet.size());
+        assertTrue(copyOnWriteSet.remove("a"));
+        assertFalse(copyOnWriteSet.remove("a"));
+        assertEquals("{b}", copyOnWriteSet.toString());
+        copyOnWriteSet.clear();
+        assertEquals("{}", copyOnWriteSet.toString());
+    }
+
+    @Test
+    public void givenBulkOperations_onSet_matchesHashSet() {
+        CopyOnWriteCustomSet<Integer> copyOnWriteSet = new CopyOnWriteCustomSet<>(List.of(1, 2, 3));
+        assertFalse(copyOnWriteSet.addAll(List.of(1, 2)));
+        assertTrue(copyOnWriteSet.addAll(List.of(3, 4, 5, 6, 6)));
+        assertEquals(6, copyOnWriteSet.size());
+        assertTrue(copyOnWriteSet.removeAll(List.of(1, 7)));
+        assertFalse(copyOnWriteSet.removeAll(List.of(1, 7)));
+        assertTrue(copyOnWriteSet.retainAll(List.of(2, 3, 4)));
+        assertFalse(copyOnWriteSet.retainAll(List.of(2, 3, 4)));
+        assertTrue(copyOnWriteSet.containsAll(List.of(2, 3, 4)));
+        assertEquals(Set.of(2, 3, 4), copyOnWriteSet);
+        assertEquals(copyOnWriteSet, Set.of(2, 3, 4));
+        assertEquals(Set.of(2, 3, 4).hashCode(), copyOnWriteSet.hashCode());
+    }
+
+    @Test
+    public void givenRandomOperations_onSet_matchesHashSet() {
+        Random random = new Random(7);
+        CopyOnWriteCustomSet<Integer> copyOnWriteSet = new CopyOnWriteCustomSet<>();
+        Set<Integer> hashSet = new HashSet<>();
+        for(int i = 0; i < 3_000; i++) {
+            int value = random.nextInt(400) - 200;
+            if(random.nextInt(3) == 0)
+                assertEquals(hashSet.remove(value), copyOnWriteSet.remove(value));
+            else
+                assertEquals(hashSet.add(value), copyOnWriteSet.add(value));
+        }
+        assertEquals(hashSet, copyOnWriteSet);
+        assertEquals(hashSet.hashCode(), copyOnWriteSet.hashCode());
+        assertEquals(hashSet.size(), copyOnWriteSet.toArray(new Integer[0]).length);
+    }
+
+    @Test
+    public void givenIterator_onConcurrentWrites_traversesSnapshot() {
+        CopyOnWriteCustomSet<Integer> copyOnWriteSet = new CopyOnWriteCustomSet<>(List.of(1, 2, 3));
+        Iterator<Integer> iterator = copyOnWriteSet.iterator();
+        copyOnWriteSet.clear();
+        copyOnWriteSet.add(4);
+        List<Integer> seen = new ArrayList<>();
+        iterator.forEachRemaining(seen::add);
+        assertEquals(3, seen.size());
+        assertTrue(seen.containsAll(List.of(1, 2, 3)));
+        assertThrows(UnsupportedOperationException.class, () -> copyOnWriteSet.iterator().remove());
+    }
+
+    @Test
+    public void givenConcurrentReadersAndWriter_readersNeverSeePartialBatch() throws InterruptedException {
+        List<Integer> base = IntStream.range(0, 1_000).boxed().toList();
+        List<Integer> batch = IntStream.range(1_000, 1_100).boxed().toList();
+        CopyOnWriteCustomSet<Integer> copyOnWriteSet = new CopyOnWriteCustomSet<>(base);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger failures = new AtomicInteger();
+        List<Thread> readers = new ArrayList<>();
+        for(int t = 0; t < 4; t++) {
+            Thread reader = new Thread(() -> {
+                while(running.get()) {
+                    int size = copyOnWriteSet.size();
+                    if(size != 1_000 && size != 1_100)
+                        failures.incrementAndGet();
+                    if(!copyOnWriteSet.contains(500))
+                        failures.incrementAndGet();
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        for(int i = 0; i < 500; i++) {
+            copyOnWriteSet.addAll(batch);
+            copyOnWriteSet.removeAll(batch);
+        }
+        running.set(false);
+        for(Thread reader : readers)
+            reader.join();
+        assertEquals(0, failures.get());
+        assertEquals(new CustomSet<>(base), copyOnWriteSet);
+    }
+}
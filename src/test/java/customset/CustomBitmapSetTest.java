@@ -0,0 +1,183 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomBitmapSetTest {
+
+    @Test
+    public void onConstructingSet_returnsEmptySet() {
+        CustomBitmapSet bitmapSet = new CustomBitmapSet();
+        assertTrue(bitmapSet.isEmpty());
+        assertEquals("{}", bitmapSet.toString());
+        assertEquals(0, bitmapSet.rank(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void onAddingNull_throws_NullPointerException() {
+        CustomBitmapSet bitmapSet = new CustomBitmapSet();
+        assertThrows(NullPointerException.class, () -> bitmapSet.add(null));
+    }
+
+    @Test
+    public void onAddingValues_iteratesInSignedAscendingOrder() {
+        CustomBitmapSet bitmapSet = CustomBitmapSet.of(5, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 0, 5);
+        assertEquals(5, bitmapSet.size());
+        assertArrayEquals(new int[] {Integer.MIN_VALUE, -1, 0, 5, Integer.MAX_VALUE}, bitmapSet.toIntArray());
+        assertArrayEquals(new Integer[] {Integer.MIN_VALUE, -1, 0, 5, Integer.MAX_VALUE}, bitmapSet.toArray(new Integer[0]));
+    }
+
+    @Test
+    public void onAdding_100_000_sequentialValues_convertsToBitmap_andRemovesBackToArray() {
+        CustomBitmapSet bitmapSet = new CustomBitmapSet();
+        IntStream.range(0, 100_000).forEach(bitmapSet::add);
+        assertEquals(100_000, bitmapSet.size());
+        assertTrue(bitmapSet.contains(65_535));
+        assertTrue(bitmapSet.contains(65_536));
+        assertFalse(bitmapSet.contains(100_000));
+        IntStream.range(0, 100_000).filter(i -> i % 50 != 0).forEach(bitmapSet::remove);
+        assertEquals(2_000, bitmapSet.size());
+        assertTrue(bitmapSet.contains(99_950));
+        assertFalse(bitmapSet.contains(99_951));
+    }
+
+    @Test
+    public void onRunOptimize_denseRangeSerializesToFewBytes_andRoundTrips() throws IOException {
+        CustomBitmapSet bitmapSet = new CustomBitmapSet();
+        IntStream.range(0, 1_000_000).forEach(bitmapSet::add);
+        assertTrue(bitmapSet.runOptimize());
+        assertTrue(bitmapSet.serializedSizeInBytes() < 200);
+        assertTrue(bitmapSet.contains(999_999));
+        assertEquals(500_001, bitmapSet.rank(500_000));
+        CustomBitmapSet copy = roundTrip(bitmapSet);
+        assertEquals(bitmapSet, copy);
+        assertTrue(copy.remove(500_000));
+        assertTrue(copy.add(500_000));
+        assertEquals(bitmapSet, copy);
+    }
+
+    @Test
+    public void onSerializingMixedContainers_roundTripsToEqualSet() throws IOException {
+        CustomBitmapSet bitmapSet = CustomBitmapSet.of(-7, 3, 1 << 20);
+        IntStream.range(200_000, 210_000).forEach(bitmapSet::add);
+        CustomBitmapSet copy = roundTrip(bitmapSet);
+        assertEquals(bitmapSet, copy);
+        assertEquals(bitmapSet.hashCode(), copy.hashCode());
+        assertEquals(bitmapSet.serializedSizeInBytes(), serialize(bitmapSet).length);
+    }
+
+    @Test
+    public void onDeserializingInvalidStream_throws_IOException() {
+        byte[] bytes = new byte[] {0, 0, 0, 0, 0, 0, 0, 0};
+        assertThrows(IOException.class, () -> CustomBitmapSet.deserialize(new DataInputStream(new ByteArrayInputStream(bytes))));
+    }
+
+    @Test
+    public void givenTwoSets_onAndOrAndNot_returnsCorrectSets() {
+        CustomBitmapSet evens = new CustomBitmapSet();
+        CustomBitmapSet threes = new CustomBitmapSet();
+        IntStream.range(0, 30_000).filter(i -> i % 2 == 0).forEach(evens::add);
+        IntStream.range(0, 30_000).filter(i -> i % 3 == 0).forEach(threes::add);
+        threes.runOptimize();
+        assertEquals(5_000, CustomBitmapSet.and(evens, threes).size());
+        assertEquals(20_000, CustomBitmapSet.or(evens, threes).size());
+        assertEquals(10_000, CustomBitmapSet.andNot(evens, threes).size());
+        assertTrue(CustomBitmapSet.and(evens, threes).contains(6));
+        assertFalse(CustomBitmapSet.andNot(evens, threes).contains(6));
+    }
+
+    @Test
+    public void givenBitmapSet_onRetainAllRemoveAllAddAll_withBitmapSet_usesSetAlgebra() {
+        CustomBitmapSet bitmapSet = new CustomBitmapSet();
+        IntStream.range(0, 10).forEach(bitmapSet::add);
+        assertTrue(bitmapSet.retainAll(CustomBitmapSet.of(1, 2, 3, 42)));
+        assertEquals("{1, 2, 3}", bitmapSet.toString());
+        assertTrue(bitmapSet.removeAll(CustomBitmapSet.of(2)));
+        assertTrue(bitmapSet.addAll(CustomBitmapSet.of(7)));
+        assertFalse(bitmapSet.addAll(CustomBitmapSet.of(7)));
+        assertEquals("{1, 3, 7}", bitmapSet.toString());
+        assertTrue(bitmapSet.containsAll(CustomBitmapSet.of(1, 7)));
+        assertFalse(bitmapSet.containsAll(CustomBitmapSet.of(1, 8)));
+    }
+
+    @Test
+    public void givenBitmapSet_onRetainAll_withOtherCollection_retainsMatchingValues() {
+        CustomBitmapSet bitmapSet = CustomBitmapSet.of(1, 2, 3);
+        assertTrue(bitmapSet.retainAll(List.of(2, 3, 4)));
+        assertFalse(bitmapSet.retainAll(List.of(2, 3)));
+        assertEquals(2, bitmapSet.size());
+    }
+
+    @Test
+    public void givenEqualContents_onEqualsAndHashCode_matchOtherSetImplementations() {
+        CustomBitmapSet bitmapSet = CustomBitmapSet.of(1, 2, 3);
+        CustomSet<Integer> customSet = new CustomSet<>(List.of(1, 2, 3));
+        assertEquals(bitmapSet, customSet);
+        assertEquals(customSet, bitmapSet);
+        assertEquals(customSet.hashCode(), bitmapSet.hashCode());
+        assertEquals(bitmapSet, bitmapSet.clone());
+        assertNotEquals(bitmapSet, CustomBitmapSet.of(1, 2, 4));
+        assertFalse(bitmapSet.contains("1"));
+    }
+
+    @Test
+    public void onIteratorRemove_removesAcrossContainers() {
+        CustomBitmapSet bitmapSet = new CustomBitmapSet();
+        IntStream.range(0, 200_000).forEach(bitmapSet::add);
+        Iterator<Integer> iterator = bitmapSet.iterator();
+        while(iterator.hasNext())
+            if(iterator.next() % 65_536 != 0)
+                iterator.remove();
+        assertEquals("{0, 65536, 131072, 196608}", bitmapSet.toString());
+    }
+
+    @Test
+    public void onRandomOperations_behavesIdenticallyTo_HashSet() {
+        Random random = new Random(7);
+        CustomBitmapSet bitmapSet = new CustomBitmapSet();
+        Set<Integer> expected = new HashSet<>();
+        for(int i = 0; i < 200_000; i++) {
+            int value = random.nextBoolean() ? random.nextInt(150_000) : random.nextInt();
+            if(random.nextInt(3) == 0)
+                assertEquals(expected.remove(value), bitmapSet.remove(value));
+            else
+                assertEquals(expected.add(value), bitmapSet.add(value));
+            if(i % 50_000 == 0)
+                bitmapSet.runOptimize();
+        }
+        assertEquals(expected, bitmapSet);
+        List<Integer> sorted = new ArrayList<>(expected);
+        sorted.sort(null);
+        assertEquals(sorted, new ArrayList<>(bitmapSet));
+        assertEquals(sorted.indexOf(sorted.get(1_000)) + 1, bitmapSet.rank(sorted.get(1_000)));
+    }
+
+    private static byte[] serialize(final CustomBitmapSet bitmapSet) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bitmapSet.serialize(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static CustomBitmapSet roundTrip(final CustomBitmapSet bitmapSet) throws IOException {
+        return CustomBitmapSet.deserialize(new DataInputStream(new ByteArrayInputStream(serialize(bitmapSet))));
+    }
+}
@@ -0,0 +1,154 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomMultisetTest {
+
+    @Test
+    public void onInvalidArguments_throws() {
+        CustomMultiset<String> multiset = new CustomMultiset<>();
+        assertThrows(IllegalArgumentException.class, () -> new CustomMultiset<>(-1));
+        assertThrows(IllegalArgumentException.class, () -> multiset.add("a", -1));
+        assertThrows(IllegalArgumentException.class, () -> multiset.remove("a", -1));
+        assertThrows(IllegalArgumentException.class, () -> multiset.setCount("a", -1));
+        assertThrows(IllegalArgumentException.class, () -> multiset.topK(-1));
+        assertThrows(NullPointerException.class, () -> multiset.add(null));
+        assertThrows(NullPointerException.class, () -> multiset.count(null));
+        multiset.add("a", Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> multiset.add("a"));
+        assertEquals(Integer.MAX_VALUE, multiset.count("a"));
+    }
+
+    @Test
+    public void givenEmptyMultiset_onAddRemoveAndSetCount_tracksCounts() {
+        CustomMultiset<String> multiset = new CustomMultiset<>();
+        assertTrue(multiset.isEmpty());
+        assertTrue(multiset.add("a"));
+        assertEquals(1, multiset.add("a", 3));
+        assertEquals(0, multiset.add("b", 2));
+        assertEquals(4, multiset.count("a"));
+        assertEquals(0, multiset.count("c"));
+        assertEquals(6, multiset.size());
+        assertEquals(2, multiset.distinctCount());
+        assertEquals(4, multiset.remove("a", 1));
+        assertEquals(3, multiset.count("a"));
+        assertEquals(2, multiset.remove("b", 5));
+        assertFalse(multiset.contains("b"));
+        assertEquals(3, multiset.setCount("a", 7));
+        assertEquals(0, multiset.setCount("c", 2));
+        assertEquals(9, multiset.size());
+        assertEquals(7, multiset.setCount("a", 0));
+        assertEquals("{c=2}", multiset.toString());
+        assertTrue(multiset.remove("c"));
+        assertTrue(multiset.remove("c"));
+        assertFalse(multiset.remove("c"));
+        assertTrue(multiset.isEmpty());
+        assertEquals("{}", multiset.toString());
+    }
+
+    @Test
+    public void givenRandomUpdates_onComparingWithHashMap_matches() {
+        CustomMultiset<Integer> multiset = new CustomMultiset<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(40);
+        for(int i = 0; i < 200_000; i++) {
+            int value = random.nextInt(3_000) - 1_500;
+            if(i % 40_000 == 0)
+                value = Integer.MIN_VALUE;
+            int n = random.nextInt(4);
+            int before = expected.getOrDefault(value, 0);
+            switch(random.nextInt(3)) {
+                case 0 -> {
+                    assertEquals(before, multiset.add(value, n));
+                    expected.put(value, before + n);
+                }
+                case 1 -> {
+                    assertEquals(before, multiset.remove(value, n));
+                    expected.put(value, Math.max(0, before - n));
+                }
+                default -> {
+                    assertEquals(before, multiset.setCount(value, n));
+                    expected.put(value, n);
+                }
+            }
+            expected.remove(value, 0);
+        }
+        long total = 0;
+        for(Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals((int) entry.getValue(), multiset.count(entry.getKey()));
+            total += entry.getValue();
+        }
+        assertEquals(expected.size(), multiset.distinctCount());
+        assertEquals(total, multiset.size());
+        List<Integer> occurrences = new ArrayList<>();
+        multiset.forEach(occurrences::add);
+        assertEquals(total, occurrences.size());
+        assertEquals(total, multiset.toArray().length);
+    }
+
+    @Test
+    public void givenCounts_onTopK_returnsMostFrequentInDescendingOrder() {
+        CustomMultiset<String> multiset = new CustomMultiset<>();
+        for(int i = 0; i < 100; i++)
+            multiset.add("item" + i, i + 1);
+        List<CustomMultiset.Entry<String>> top = multiset.topK(3);
+        assertEquals(List.of(new CustomMultiset.Entry<>("item99", 100), new CustomMultiset.Entry<>("item98", 99), new CustomMultiset.Entry<>("item97", 98)), top);
+        assertEquals(100, multiset.topK(500).size());
+        assertTrue(multiset.topK(0).isEmpty());
+        assertTrue(new CustomMultiset<String>().topK(3).isEmpty());
+    }
+
+    @Test
+    public void givenTwoMultisets_onEqualsAndAddAll_comparesCounts() {
+        CustomMultiset<String> first = new CustomMultiset<>(Arrays.asList("a", "b", "a"));
+        CustomMultiset<String> second = new CustomMultiset<>();
+        second.add("b");
+        second.add("a", 2);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        second.add("b");
+        assertNotEquals(first, second);
+        assertTrue(first.addAll(second));
+        assertEquals(4, first.count("a"));
+        assertEquals(3, first.count("b"));
+        assertTrue(first.retainAll(new ArrayList<>(List.of("b"))));
+        assertEquals(3, first.size());
+        assertTrue(first.removeAll(List.of("b")));
+        assertTrue(first.isEmpty());
+    }
+
+    @Test
+    public void givenExistingElement_onCountUpdates_doesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        CustomMultiset<Integer> multiset = new CustomMultiset<>();
+        Integer[] keys = new Integer[1_000];
+        for(int i = 0; i < keys.length; i++) {
+            keys[i] = i;
+            multiset.add(keys[i]);
+        }
+        for(int round = 0; round < 3; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for(int i = 0; i < 100_000; i++) {
+                Integer key = keys[i % keys.length];
+                multiset.add(key, 2);
+                multiset.remove(key, 1);
+                multiset.setCount(key, multiset.count(key) + 1);
+            }
+            if(round == 2)
+                assertTrue(threads.getCurrentThreadAllocatedBytes() - before < 1_024);
+        }
+    }
+}
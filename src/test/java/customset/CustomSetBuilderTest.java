@@ -0,0 +1,169 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomSetBuilderTest {
+
+    @Test
+    public void onAddingNull_throws_NullPointerException() {
+        CustomSetBuilder<Integer> builder = new CustomSetBuilder<>();
+        assertThrows(NullPointerException.class, () -> builder.add(null));
+        assertThrows(NullPointerException.class, () -> builder.addAll(new ArrayList<>(Arrays.asList(1, null))));
+    }
+
+    @Test
+    public void givenBuiltSet_onAddOrBuild_throws_IllegalStateException() {
+        CustomSetBuilder<Integer> builder = new CustomSetBuilder<>();
+        builder.add(1);
+        builder.build();
+        assertThrows(IllegalStateException.class, () -> builder.add(2));
+        assertThrows(IllegalStateException.class, builder::build);
+        assertThrows(IllegalArgumentException.class, () -> new CustomSetBuilder<Integer>().build(0));
+    }
+
+    @Test
+    public void givenNoElements_onBuild_returns_emptySet() {
+        CustomSet<String> customSet = new CustomSetBuilder<String>().build();
+        assertTrue(customSet.isEmpty());
+        assertEquals(0, customSet.hashCode());
+        assertTrue(customSet.add("a"));
+        assertEquals(Set.of("a"), customSet);
+    }
+
+    @Test
+    public void givenDuplicates_onBuild_returns_setSizedOnceWithDistinctElements() {
+        CustomSetBuilder<Integer> builder = new CustomSetBuilder<>();
+        Random random = new Random(37);
+        Set<Integer> expected = new HashSet<>();
+        for(int i = 0; i < 50_000; i++) {
+            int value = random.nextInt(20_000) - 10_000;
+            builder.add(value);
+            expected.add(value);
+        }
+        CustomSet<Integer> customSet = builder.build();
+        assertEquals(expected, customSet);
+        assertEquals(expected.hashCode(), customSet.hashCode());
+        assertTrue(customSet.capacity() >= 50_000 / 0.75);
+        for(int i = -10_000; i < 10_000; i++)
+            assertEquals(expected.contains(i), customSet.contains(i));
+        for(int i = -10_000; i < 10_000; i++)
+            customSet.remove(i);
+        assertTrue(customSet.isEmpty());
+    }
+
+    @Test
+    public void givenDuplicates_onBuildInPartitions_returns_setWithoutStaleSlots() {
+        for(int partitions : new int[] {2, 7, 16}) {
+            CustomSetBuilder<Integer> builder = new CustomSetBuilder<>();
+            Random random = new Random(partitions);
+            Set<Integer> expected = new HashSet<>();
+            for(int i = 0; i < 30_000; i++) {
+                int value = random.nextInt(10_000);
+                builder.add(value);
+                expected.add(value);
+            }
+            CustomSet<Integer> customSet = builder.build(partitions);
+            assertEquals(expected, customSet);
+            List<Integer> iterated = new ArrayList<>();
+            customSet.forEach(iterated::add);
+            assertEquals(expected.size(), iterated.size());
+            for(int i = 10_000; i < 30_000; i++)
+                assertTrue(customSet.add(i));
+            for(int i = 0; i < 30_000; i++)
+                assertEquals(i >= 10_000 || expected.contains(i), customSet.contains(i));
+        }
+    }
+
+    @Test
+    public void givenManyProducerThreads_onBuildInParallel_returns_sameSetAsSequentialBuild() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CustomSetBuilder<String> parallel = new CustomSetBuilder<>();
+            CustomSetBuilder<String> sequential = new CustomSetBuilder<>();
+            List<CompletableFuture<Void>> producers = new ArrayList<>();
+            for(int t = 0; t < 16; t++) {
+                List<String> items = IntStream.range(t * 5_000, t * 5_000 + 10_000).mapToObj(i -> "item" + i).collect(Collectors.toList());
+                producers.add(parallel.addAllAsync(items, executor));
+                producers.add(sequential.addAllAsync(items, executor));
+            }
+            CompletableFuture.allOf(producers.toArray(CompletableFuture[]::new)).get();
+            CustomSet<String> fromPartitions = parallel.build(8);
+            CustomSet<String> fromOne = sequential.build();
+            assertEquals(85_000, fromPartitions.size());
+            assertEquals(fromOne, fromPartitions);
+            assertEquals(fromOne.hashCode(), fromPartitions.hashCode());
+            assertTrue(fromPartitions.contains("item0"));
+            assertTrue(fromPartitions.contains("item84999"));
+            assertFalse(fromPartitions.contains("item85000"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void givenProducersRacingBuild_onBuild_includesEveryAddThatReturned() throws Exception {
+        for(int round = 0; round < 50; round++) {
+            CustomSetBuilder<Integer> builder = new CustomSetBuilder<>();
+            int[] added = new int[4];
+            Thread[] producers = new Thread[added.length];
+            for(int t = 0; t < producers.length; t++) {
+                int producer = t;
+                producers[t] = new Thread(() -> {
+                    try {
+                        for(int i = 0; ; i++) {
+                            builder.add(producer * 10_000_000 + i);
+                            added[producer]++;
+                        }
+                    } catch(IllegalStateException sealed) {
+                        // the build started
+                    }
+                });
+                producers[t].start();
+            }
+            Thread.sleep(round % 3);
+            CustomSet<Integer> customSet = builder.build(round % 4 + 1);
+            int total = 0;
+            for(int t = 0; t < producers.length; t++) {
+                producers[t].join();
+                total += added[t];
+                if(added[t] > 0)
+                    assertTrue(customSet.contains(t * 10_000_000 + added[t] - 1));
+            }
+            assertEquals(total, customSet.size());
+        }
+    }
+
+    @Test
+    public void givenAsyncProducers_onBuildAsync_completesWithEveryElement() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CustomSetBuilder<Integer> builder = new CustomSetBuilder<>();
+            for(int t = 0; t < 4; t++) {
+                int start = t * 1_000;
+                builder.addAllAsync(() -> IntStream.range(start, start + 1_000).iterator(), executor);
+            }
+            CustomSet<Integer> customSet = builder.buildAsync(4).get();
+            assertEquals(4_000, customSet.size());
+            assertEquals(IntStream.range(0, 4_000).boxed().collect(Collectors.toSet()), customSet);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
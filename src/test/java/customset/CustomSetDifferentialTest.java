@@ -0,0 +1,203 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Randomized differential tests: long random operation sequences run against each set implementation and a
+ * {@link HashSet}, which must agree after every step. Keys carry an explicit hash code drawn from edge values and
+ * heavily colliding ranges. Complexity guards count {@code hashCode} and {@code equals} calls, so a change that
+ * makes an operation quadratic fails on the count rather than on a timeout.
+ */
+class CustomSetDifferentialTest {
+
+    private static final int[] EDGE_HASHES = { Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MAX_VALUE, -1, 0, 1 };
+    private static final int OPERATIONS = 10_000;
+    private static final int POOL = 3_000;
+    private static final long[] SEEDS = { 1L, 42L, 20_240_229L };
+
+    private static long equalsCalls = 0;
+    private static long hashCodeCalls = 0;
+
+    private static Map<String, Supplier<Set<Key>>> backends() {
+        Map<String, Supplier<Set<Key>>> backends = new LinkedHashMap<>();
+        backends.put("CustomSet", CustomSet::new);
+        backends.put("CustomSet(loadFactor 4.0)", () -> new CustomSet<>(0, 4.0));
+        backends.put("CustomSet(adaptive)", () -> new CustomSet<>(0, 0.25, 2.0));
+        backends.put("LinkedCustomSet", LinkedCustomSet::new);
+        backends.put("SwissCustomSet", SwissCustomSet::new);
+        backends.put("ShardedCustomSet", () -> new ShardedCustomSet<>(4));
+        backends.put("CopyOnWriteCustomSet", CopyOnWriteCustomSet::new);
+        return backends;
+    }
+
+    @Test
+    public void givenRandomOperationSequences_onEveryBackend_agreesWithHashSet() {
+        for(Map.Entry<String, Supplier<Set<Key>>> backend : backends().entrySet())
+            for(long seed : SEEDS)
+                runSequence(backend.getKey() + " seed " + seed, backend.getValue().get(), new Random(seed), pool(new Random(~seed)));
+    }
+
+    @Test
+    public void givenOnlyCollidingAndEdgeHashes_onCustomSet_agreesWithHashSet() {
+        Random random = new Random(7);
+        Key[] keys = new Key[POOL / 4];
+        for(int i = 0; i < keys.length; i++)
+            keys[i] = new Key(i, EDGE_HASHES[random.nextInt(EDGE_HASHES.length)]);
+        runSequence("CustomSet edge hashes", new CustomSet<>(), random, keys);
+    }
+
+    @Test
+    public void givenDistinctHashes_onBulkInsert_costsLinearHashAndEqualsCalls() {
+        for(Map.Entry<String, Supplier<Set<Key>>> backend : backends().entrySet()) {
+            if(backend.getKey().equals("CopyOnWriteCustomSet"))
+                continue;
+            long small = insertCost(backend.getValue(), 20_000);
+            long large = insertCost(backend.getValue(), 40_000);
+            assertTrue(small <= 2L * 20_000, backend.getKey() + " insert cost " + small);
+            assertTrue(large <= 2L * 40_000, backend.getKey() + " insert cost " + large);
+        }
+    }
+
+    @Test
+    public void givenLargeSets_onRetainAllAndRemoveAll_costsLinearCalls() {
+        for(Map.Entry<String, Supplier<Set<Key>>> backend : backends().entrySet()) {
+            long small = bulkRemovalCost(backend.getValue(), 10_000);
+            long large = bulkRemovalCost(backend.getValue(), 20_000);
+            assertTrue(large < 3 * small, backend.getKey() + " cost grew from " + small + " to " + large);
+            assertTrue(large <= 8L * 20_000, backend.getKey() + " bulk removal cost " + large);
+        }
+    }
+
+    private static long bulkRemovalCost(final Supplier<Set<Key>> backend, final int n) {
+        Set<Key> set = backend.get();
+        List<Key> keys = new ArrayList<>(n);
+        for(int i = 0; i < n; i++)
+            keys.add(new Key(i, i * 0x9E3779B9));
+        set.addAll(keys);
+        Set<Key> retained = new HashSet<>(keys.subList(0, n / 2));
+        List<Key> removed = new ArrayList<>(keys.subList(0, n / 4));
+        resetCounters();
+        assertTrue(set.retainAll(retained));
+        assertTrue(set.removeAll(removed));
+        assertEquals(n / 4, set.size());
+        return equalsCalls + hashCodeCalls;
+    }
+
+    private static long insertCost(final Supplier<Set<Key>> backend, final int n) {
+        Set<Key> set = backend.get();
+        Key[] keys = new Key[n];
+        for(int i = 0; i < n; i++)
+            keys[i] = new Key(i, i * 0x9E3779B9);
+        resetCounters();
+        for(Key key : keys)
+            set.add(key);
+        assertEquals(n, set.size());
+        return equalsCalls + hashCodeCalls;
+    }
+
+    private static Key[] pool(final Random random) {
+        Key[] keys = new Key[POOL];
+        for(int i = 0; i < keys.length; i++) {
+            int hash = switch(random.nextInt(6)) {
+                case 0 -> EDGE_HASHES[random.nextInt(EDGE_HASHES.length)] + random.nextInt(4);
+                case 1 -> random.nextInt(64);
+                case 2 -> random.nextInt(64) << 24;
+                case 3 -> -random.nextInt(1_000) - 1;
+                default -> random.nextInt();
+            };
+            keys[i] = new Key(i, hash);
+        }
+        return keys;
+    }
+
+    private static void resetCounters() {
+        equalsCalls = 0;
+        hashCodeCalls = 0;
+    }
+
+    private static void runSequence(final String name, final Set<Key> set, final Random random, final Key[] keys) {
+        Set<Key> expected = new HashSet<>();
+        for(int step = 0; step < OPERATIONS; step++) {
+            Key key = keys[random.nextInt(keys.length)];
+            String context = name + " step " + step;
+            int operation = random.nextInt(1_000);
+            if(operation < 400)
+                assertEquals(expected.add(key), set.add(key), context);
+            else if(operation < 650)
+                assertEquals(expected.remove(key), set.remove(key), context);
+            else if(operation < 850)
+                assertEquals(expected.contains(key), set.contains(key), context);
+            else if(operation < 900) {
+                List<Key> batch = sample(random, keys, random.nextInt(50));
+                assertEquals(expected.addAll(batch), set.addAll(batch), context);
+            } else if(operation < 930) {
+                List<Key> batch = sample(random, keys, random.nextInt(200));
+                assertEquals(expected.removeAll(batch), set.removeAll(batch), context);
+            } else if(operation < 950) {
+                Set<Key> keep = new HashSet<>(sample(random, keys, keys.length * 3 / 4));
+                assertEquals(expected.retainAll(keep), set.retainAll(keep), context);
+            } else if(operation < 952) {
+                expected.clear();
+                set.clear();
+            } else if(operation < 990) {
+                List<Key> probe = sample(random, keys, 1 + random.nextInt(3));
+                assertEquals(expected.containsAll(probe), set.containsAll(probe), context);
+            } else
+                assertSameContents(context, expected, set);
+            assertEquals(expected.size(), set.size(), context);
+        }
+        assertSameContents(name, expected, set);
+    }
+
+    private static List<Key> sample(final Random random, final Key[] keys, final int count) {
+        List<Key> sample = new ArrayList<>(count);
+        for(int i = 0; i < count; i++)
+            sample.add(keys[random.nextInt(keys.length)]);
+        return sample;
+    }
+
+    private static void assertSameContents(final String context, final Set<Key> expected, final Set<Key> set) {
+        Set<Key> iterated = new HashSet<>();
+        for(Iterator<Key> iterator = set.iterator(); iterator.hasNext(); )
+            assertTrue(iterated.add(iterator.next()), context + " iterator repeated an element");
+        assertEquals(expected, iterated, context);
+        assertEquals(expected.size(), set.toArray().length, context);
+        assertEquals(expected.hashCode(), set.hashCode(), context);
+        assertTrue(set.equals(expected), context);
+        assertTrue(expected.equals(set), context);
+        assertEquals(expected.isEmpty(), set.isEmpty(), context);
+        assertTrue(set.containsAll(expected), context);
+        Key absent = new Key(-1, Integer.MIN_VALUE);
+        assertFalse(set.contains(absent), context);
+    }
+
+    /**
+     * Key with an explicit hash code that counts calls to {@code hashCode} and {@code equals}.
+     */
+    private record Key(int id, int hash) {
+
+        public boolean equals(final Object o) {
+            equalsCalls++;
+            return o instanceof Key other && other.id == id;
+        }
+
+        public int hashCode() {
+            hashCodeCalls++;
+            return hash;
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package customset;
 
+import com.sun.management.ThreadMXBean;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
@@ -431,6 +434,118 @@ class CustomSetTest {
         assertEquals(25, customSet.size());
     }
 
+    @Test
+    public void givenSetOfType_Integer_afterAddRemoveRetainAllAndClear_hashCode_matchesElementSum() {
+        CustomSet<Integer> customSet = new CustomSet<>();
+        IntStream.range(-500, 500).forEach(customSet::add);
+        customSet.add(7);
+        IntStream.range(0, 300).forEach(customSet::remove);
+        customSet.retainAll(new ArrayList<>(IntStream.range(-400, 400).boxed().toList()));
+        assertEquals(new HashSet<>(customSet).hashCode(), customSet.hashCode());
+        customSet.clear();
+        assertEquals(0, customSet.hashCode());
+    }
+
+    @Test
+    public void givenTwoCustomSetsOfEqualSize_withDifferentHashCodes_equals_returnsFalse() {
+        CustomSet<Integer> customSet = new CustomSet<>(List.of(1, 2, 3));
+        CustomSet<Integer> other = new CustomSet<>(List.of(1, 2, 4));
+        assertNotEquals(customSet, other);
+        other.remove(4);
+        other.add(3);
+        assertEquals(customSet, other);
+        assertEquals(customSet, new HashSet<>(List.of(1, 2, 3)));
+    }
+
+    @Test
+    public void givenSetOfType_Integer_inSteadyStateAddRemoveChurn_allocatesNoEntries() {
+        Integer[] values = IntStream.range(0, 2_000).boxed().toArray(Integer[]::new);
+        CustomSet<Integer> customSet = new CustomSet<>();
+        for(int i = 0; i < 1_000; i++)
+            customSet.add(values[i]);
+        if(!(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean allocations) || !allocations.isThreadAllocatedMemorySupported())
+            return;
+        long threadId = Thread.currentThread().getId();
+        churn(customSet, values);
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        churn(customSet, values);
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+        assertEquals(1_000, customSet.size());
+        assertTrue(allocated < 1_024, "allocated " + allocated + " bytes");
+    }
+
+    @Test
+    public void onConstructingAdaptiveSet_withInvalidBounds_throws_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new CustomSet<>(0, 0.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new CustomSet<>(0, 1.0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new CustomSet<>(0, 0.5, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new CustomSet<>(-1, 0.5, 1.0));
+        assertEquals(1.0, new CustomSet<>(0, 1.0, 2.0).loadFactor(), 0.0);
+    }
+
+    @Test
+    public void givenWellSpreadKeys_onAdaptiveExpand_raisesLoadFactorToUpperBound() {
+        CustomSet<Integer> adaptive = new CustomSet<>(0, 0.5, 2.0);
+        CustomSet<Integer> fixed = new CustomSet<>();
+        Random random = new Random(41);
+        List<Integer> values = new ArrayList<>();
+        for(int i = 0; i < 200_000; i++)
+            values.add(random.nextInt());
+        adaptive.addAll(values);
+        fixed.addAll(values);
+        assertEquals(2.0, adaptive.loadFactor(), 0.0);
+        assertTrue(adaptive.capacity() < fixed.capacity() / 2);
+        assertEquals(fixed, adaptive);
+        for(Integer value : values)
+            assertTrue(adaptive.contains(value));
+    }
+
+    @Test
+    public void givenCollidingKeys_onAdaptiveExpand_lowersLoadFactorToLowerBound() {
+        record Clustered(int id) {
+            public int hashCode() {
+                return id / 8;
+            }
+        }
+        CustomSet<Clustered> adaptive = new CustomSet<>(0, 0.25, 2.0);
+        for(int i = 0; i < 50_000; i++)
+            assertTrue(adaptive.add(new Clustered(i)));
+        assertEquals(0.25, adaptive.loadFactor(), 0.0);
+        assertTrue(adaptive.capacity() >= 50_000 / 0.25);
+        for(int i = 0; i < 50_000; i++)
+            assertTrue(adaptive.remove(new Clustered(i)));
+        assertTrue(adaptive.isEmpty());
+    }
+
+    @Test
+    public void givenSequentialKeys_onAdaptiveExpand_raisesLoadFactorByAtMostAQuarterPerExpansion() {
+        CustomSet<Integer> adaptive = new CustomSet<>(0, 0.5, 8.0);
+        double loadFactor = adaptive.loadFactor();
+        int capacity = adaptive.capacity();
+        int expansions = 0;
+        for(int i = 0; i < 200_000; i++) {
+            adaptive.add(i);
+            if(adaptive.capacity() != capacity) {
+                assertTrue(adaptive.loadFactor() <= loadFactor * 1.25 + 1e-9, "load factor rose from " + loadFactor + " to " + adaptive.loadFactor());
+                if(adaptive.loadFactor() > loadFactor)
+                    expansions++;
+                loadFactor = adaptive.loadFactor();
+                capacity = adaptive.capacity();
+            }
+        }
+        assertTrue(expansions > 1);
+    }
+
+    private static void churn(final CustomSet<Integer> customSet, final Integer[] values) {
+        for(int round = 0; round < 100; round++)
+            for(int i = 0; i < 1_000; i++) {
+                customSet.remove(values[i]);
+                customSet.add(values[1_000 + i]);
+                customSet.remove(values[1_000 + i]);
+                customSet.add(values[i]);
+            }
+    }
+
     private static CustomSet<Integer> createDynamicSet(int x) {
         CustomSet<Integer> customSet = new CustomSet<>();
         Random random = new Random();
@@ -0,0 +1,169 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomSortedSetTest {
+
+    @Test
+    public void onConstructingSet_returnsEmptySet() {
+        CustomSortedSet<Integer> sortedSet = new CustomSortedSet<>();
+        assertTrue(sortedSet.isEmpty());
+        assertEquals("{}", sortedSet.toString());
+        assertNull(sortedSet.pollFirst());
+        assertThrows(NoSuchElementException.class, sortedSet::first);
+    }
+
+    @Test
+    public void onAddingNull_throws_NullPointerException() {
+        CustomSortedSet<Integer> sortedSet = new CustomSortedSet<>();
+        assertThrows(NullPointerException.class, () -> sortedSet.add(null));
+    }
+
+    @Test
+    public void onAddingUnsortedValues_iteratesInAscendingOrder() {
+        CustomSortedSet<Integer> sortedSet = new CustomSortedSet<>(List.of(5, 1, 4, 2, 3, 1));
+        assertEquals(5, sortedSet.size());
+        assertArrayEquals(new Object[] {1, 2, 3, 4, 5}, sortedSet.toArray());
+        assertEquals("{1, 2, 3, 4, 5}", sortedSet.toString());
+    }
+
+    @Test
+    public void onConstructingWithComparator_iteratesInComparatorOrder() {
+        CustomSortedSet<Integer> sortedSet = new CustomSortedSet<>(Comparator.reverseOrder());
+        sortedSet.addAll(List.of(1, 3, 2));
+        assertArrayEquals(new Integer[] {3, 2, 1}, sortedSet.toArray(new Integer[0]));
+    }
+
+    @Test
+    public void givenSetOf_0_to_1000_stepping_10_onNavigation_returnsCorrectNeighbours() {
+        CustomSortedSet<Integer> sortedSet = new CustomSortedSet<>();
+        IntStream.range(0, 100).forEach(i -> sortedSet.add(i * 10));
+        assertEquals(50, sortedSet.ceiling(45));
+        assertEquals(50, sortedSet.ceiling(50));
+        assertEquals(60, sortedSet.higher(50));
+        assertEquals(40, sortedSet.floor(45));
+        assertEquals(50, sortedSet.floor(50));
+        assertEquals(40, sortedSet.lower(50));
+        assertNull(sortedSet.ceiling(991));
+        assertNull(sortedSet.lower(0));
+        assertEquals(0, sortedSet.first());
+        assertEquals(990, sortedSet.last());
+    }
+
+    @Test
+    public void givenSetOf_0_to_10_000_onSubSet_returnsLiveRangeView() {
+        CustomSortedSet<Integer> sortedSet = new CustomSortedSet<>(IntStream.range(0, 10_000).boxed().collect(Collectors.toList()));
+        NavigableSet<Integer> range = sortedSet.subSet(100, true, 200, false);
+        assertEquals(100, range.size());
+        assertEquals(100, range.first());
+        assertEquals(199, range.last());
+        assertFalse(range.contains(200));
+        assertThrows(IllegalArgumentException.class, () -> range.add(500));
+        sortedSet.remove(150);
+        assertEquals(99, range.size());
+        range.clear();
+        assertEquals(9_900, sortedSet.size());
+        assertEquals(99, sortedSet.lower(200));
+    }
+
+    @Test
+    public void givenSet_onHeadSetAndTailSet_returnsCorrectRanges() {
+        CustomSortedSet<Integer> sortedSet = new CustomSortedSet<>(List.of(1, 2, 3, 4, 5));
+        assertEquals("{1, 2}", sortedSet.headSet(3).toString());
+        assertEquals("{1, 2, 3}", sortedSet.headSet(3, true).toString());
+        assertEquals("{3, 4, 5}", sortedSet.tailSet(3).toString());
+        assertEquals("{4, 5}", sortedSet.tailSet(3, false).toString());
+        assertThrows(IllegalArgumentException.class, () -> sortedSet.subSet(4, 2));
+    }
+
+    @Test
+    public void givenSet_onDescendingSet_iteratesInReverseOrderAndSwapsNavigation() {
+        CustomSortedSet<Integer> sortedSet = new CustomSortedSet<>(List.of(1, 2, 3, 4, 5));
+        NavigableSet<Integer> descending = sortedSet.descendingSet();
+        assertEquals("{5, 4, 3, 2, 1}", descending.toString());
+        assertEquals(5, descending.first());
+        assertEquals(2, descending.higher(3));
+        assertEquals(4, descending.lower(3));
+        assertEquals("{4, 3, 2}", descending.subSet(4, true, 2, true).toString());
+        assertEquals("{1, 2, 3, 4, 5}", descending.descendingSet().toString());
+        Iterator<Integer> iterator = sortedSet.descendingIterator();
+        assertEquals(5, iterator.next());
+        assertEquals(4, iterator.next());
+    }
+
+    @Test
+    public void onIteratorRemove_removesEveryOtherElement() {
+        CustomSortedSet<Integer> sortedSet = new CustomSortedSet<>(IntStream.range(0, 1_000).boxed().collect(Collectors.toList()));
+        Iterator<Integer> iterator = sortedSet.iterator();
+        while(iterator.hasNext())
+            if(iterator.next() % 2 == 1)
+                iterator.remove();
+        assertEquals(500, sortedSet.size());
+        assertEquals(998, sortedSet.last());
+        assertFalse(sortedSet.contains(501));
+    }
+
+    @Test
+    public void givenSet_onRetainAll_rebuildsWithRetainedElements() {
+        CustomSortedSet<Integer> sortedSet = new CustomSortedSet<>(IntStream.range(0, 1_000).boxed().collect(Collectors.toList()));
+        assertTrue(sortedSet.retainAll(new TreeSet<>(List.of(3, 500, 999, 2_000))));
+        assertEquals("{3, 500, 999}", sortedSet.toString());
+        assertFalse(sortedSet.retainAll(new TreeSet<>(List.of(3, 500, 999))));
+    }
+
+    @Test
+    public void givenEqualSets_onEqualsAndHashCode_matchOtherSetImplementations() {
+        CustomSortedSet<Integer> sortedSet = new CustomSortedSet<>(List.of(1, 2, 3));
+        CustomSet<Integer> customSet = new CustomSet<>(List.of(3, 2, 1));
+        assertEquals(sortedSet, customSet);
+        assertEquals(customSet.hashCode(), sortedSet.hashCode());
+        assertEquals(sortedSet, sortedSet.clone());
+    }
+
+    @Test
+    public void onRandomOperations_behavesIdenticallyTo_TreeSet() {
+        Random random = new Random(42);
+        CustomSortedSet<Integer> sortedSet = new CustomSortedSet<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for(int i = 0; i < 200_000; i++) {
+            int value = random.nextInt(20_000);
+            if(random.nextInt(3) == 0)
+                assertEquals(expected.remove(value), sortedSet.remove(value));
+            else
+                assertEquals(expected.add(value), sortedSet.add(value));
+            if(i % 1_000 == 0) {
+                assertEquals(expected.ceiling(value), sortedSet.ceiling(value));
+                assertEquals(expected.floor(value), sortedSet.floor(value));
+                assertEquals(expected.higher(value), sortedSet.higher(value));
+                assertEquals(expected.lower(value), sortedSet.lower(value));
+                assertEquals(expected.subSet(value, value + 500).size(), sortedSet.subSet(value, value + 500).size());
+            }
+        }
+        assertEquals(expected.size(), sortedSet.size());
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(sortedSet));
+        assertEquals(new ArrayList<>(expected.descendingSet()), new ArrayList<>(sortedSet.descendingSet()));
+        while(!expected.isEmpty()) {
+            assertEquals(expected.pollFirst(), sortedSet.pollFirst());
+            assertEquals(expected.pollLast(), sortedSet.pollLast());
+        }
+        assertTrue(sortedSet.isEmpty());
+    }
+}
@@ -0,0 +1,124 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiringCustomSetTest {
+
+    private final AtomicLong ticker = new AtomicLong(Long.MAX_VALUE - Duration.ofMinutes(1).toNanos());
+
+    @Test
+    public void onConstructingSet_withZeroTtl_throws_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ExpiringCustomSet<>(Duration.ZERO));
+    }
+
+    @Test
+    public void onConstructingSet_withNullTicker_throws_NullPointerException() {
+        assertThrows(NullPointerException.class, () -> new ExpiringCustomSet<>(Duration.ofSeconds(1), null));
+    }
+
+    @Test
+    public void onAddingWithNegativeTtl_throws_IllegalArgumentException() {
+        ExpiringCustomSet<Integer> expiringSet = new ExpiringCustomSet<>(Duration.ofSeconds(1), ticker::get);
+        assertThrows(IllegalArgumentException.class, () -> expiringSet.add(1, Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    public void givenElementWithDefaultTtl_onContainsAfterTtl_returnsFalse() {
+        ExpiringCustomSet<Integer> expiringSet = new ExpiringCustomSet<>(Duration.ofSeconds(10), ticker::get);
+        assertTrue(expiringSet.add(1));
+        advance(Duration.ofSeconds(9));
+        assertTrue(expiringSet.contains(1));
+        advance(Duration.ofSeconds(1));
+        assertFalse(expiringSet.contains(1));
+        assertTrue(expiringSet.isEmpty());
+    }
+
+    @Test
+    public void givenElementsWithDifferentTtls_expireIndependently_acrossWheelLevels() {
+        ExpiringCustomSet<String> expiringSet = new ExpiringCustomSet<>(Duration.ofSeconds(1), ticker::get);
+        expiringSet.add("second");
+        expiringSet.add("minutes", Duration.ofMinutes(5));
+        expiringSet.add("hours", Duration.ofHours(3));
+        expiringSet.add("days", Duration.ofDays(2));
+        advance(Duration.ofSeconds(2));
+        assertEquals(3, expiringSet.size());
+        assertFalse(expiringSet.contains("second"));
+        advance(Duration.ofMinutes(5));
+        assertEquals(2, expiringSet.size());
+        assertTrue(expiringSet.contains("hours"));
+        advance(Duration.ofHours(3));
+        assertEquals(1, expiringSet.size());
+        advance(Duration.ofDays(2));
+        assertEquals(0, expiringSet.size());
+    }
+
+    @Test
+    public void givenManyElements_onCleanUp_reclaimsExpiredWithoutCallerSweep() {
+        ExpiringCustomSet<Integer> expiringSet = new ExpiringCustomSet<>(Duration.ofMinutes(1), ticker::get);
+        IntStream.range(0, 10_000).forEach(expiringSet::add);
+        advance(Duration.ofSeconds(30));
+        IntStream.range(10_000, 15_000).forEach(expiringSet::add);
+        advance(Duration.ofSeconds(32));
+        expiringSet.cleanUp();
+        assertEquals(5_000, expiringSet.size());
+        assertFalse(expiringSet.contains(9_999));
+        assertTrue(expiringSet.contains(14_999));
+    }
+
+    @Test
+    public void givenPresentElement_onAddAgain_refreshesTtl_andReturnsFalse() {
+        ExpiringCustomSet<Integer> expiringSet = new ExpiringCustomSet<>(Duration.ofSeconds(10), ticker::get);
+        expiringSet.add(1);
+        advance(Duration.ofSeconds(8));
+        assertFalse(expiringSet.add(1));
+        assertEquals(Duration.ofSeconds(10), expiringSet.expiresIn(1));
+        advance(Duration.ofSeconds(8));
+        assertTrue(expiringSet.contains(1));
+        advance(Duration.ofSeconds(3));
+        assertFalse(expiringSet.contains(1));
+        assertEquals(Duration.ZERO, expiringSet.expiresIn(1));
+        assertTrue(expiringSet.add(1));
+    }
+
+    @Test
+    public void givenExpiredElementWithinCurrentTick_iterationAndToArray_skipIt() {
+        ExpiringCustomSet<Integer> expiringSet = new ExpiringCustomSet<>(Duration.ofSeconds(10), ticker::get);
+        expiringSet.add(1, Duration.ofMillis(10));
+        expiringSet.add(2);
+        advance(Duration.ofMillis(20));
+        List<Integer> items = new ArrayList<>(expiringSet);
+        assertEquals(List.of(2), items);
+        assertEquals(1, expiringSet.toArray().length);
+        assertEquals("{2}", expiringSet.toString());
+        assertFalse(expiringSet.remove(1));
+    }
+
+    @Test
+    public void givenSet_onRemoveRetainAllAndClear_updatesContents() {
+        ExpiringCustomSet<Integer> expiringSet = new ExpiringCustomSet<>(Duration.ofSeconds(10), ticker::get);
+        expiringSet.addAll(List.of(1, 2, 3, 4));
+        assertTrue(expiringSet.remove(1));
+        assertTrue(expiringSet.retainAll(List.of(2, 3)));
+        assertEquals(new CustomSet<>(List.of(2, 3)), expiringSet);
+        assertEquals(expiringSet, new CustomSet<>(List.of(2, 3)));
+        expiringSet.clear();
+        assertTrue(expiringSet.isEmpty());
+        advance(Duration.ofSeconds(20));
+        assertTrue(expiringSet.isEmpty());
+    }
+
+    private void advance(final Duration duration) {
+        ticker.addAndGet(duration.toNanos());
+    }
+}
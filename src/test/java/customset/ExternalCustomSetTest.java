@@ -0,0 +1,127 @@
+package customset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExternalCustomSetTest {
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("external-custom-set-test");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try(Stream<Path> paths = Files.walk(directory)) {
+            for(Path path : paths.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(path);
+        }
+    }
+
+    @Test
+    public void onConstructing_withNonPositiveBudget_throws_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ExternalCustomSet<>(ExternalCustomSet.Codec.integers(), 0, directory));
+    }
+
+    @Test
+    public void givenSourceWithinBudget_onDistinct_doesNotSpill() throws IOException {
+        ExternalCustomSet<Integer> external = new ExternalCustomSet<>(ExternalCustomSet.Codec.integers(), 1_000, directory);
+        try(Stream<Integer> distinct = external.distinct(Stream.of(3, 1, 3, 2, 1))) {
+            Iterator<Integer> iterator = distinct.iterator();
+            iterator.next();
+            assertEquals(0, spillFileCount());
+            List<Integer> rest = new ArrayList<>();
+            iterator.forEachRemaining(rest::add);
+            assertEquals(2, rest.size());
+        }
+    }
+
+    @Test
+    public void givenSourceOverBudget_onDistinct_spillsAndReturnsEachElementOnce() throws IOException {
+        ExternalCustomSet<Integer> external = new ExternalCustomSet<>(ExternalCustomSet.Codec.integers(), 500, directory);
+        Iterator<Integer> source = IntStream.range(0, 60_000).map(i -> i % 20_000).iterator();
+        try(Stream<Integer> distinct = external.distinct(source)) {
+            Iterator<Integer> iterator = distinct.iterator();
+            Set<Integer> seen = new HashSet<>();
+            seen.add(iterator.next());
+            assertTrue(spillFileCount() > 0);
+            iterator.forEachRemaining(item -> assertTrue(seen.add(item)));
+            assertEquals(20_000, seen.size());
+        }
+        assertEquals(0, spillFileCount());
+    }
+
+    @Test
+    public void givenSourcesOverBudget_onUnionIntersectDifference_matchesHashSet() {
+        ExternalCustomSet<String> external = new ExternalCustomSet<>(ExternalCustomSet.Codec.strings(), 300, directory);
+        List<String> a = IntStream.range(0, 10_000).mapToObj(i -> "k" + (i % 7_000)).toList();
+        List<String> b = IntStream.range(5_000, 12_000).mapToObj(i -> "k" + i).toList();
+        Set<String> union = new HashSet<>(a);
+        union.addAll(b);
+        Set<String> intersection = new HashSet<>(a);
+        intersection.retainAll(b);
+        Set<String> difference = new HashSet<>(a);
+        difference.removeAll(b);
+
+        assertEquals(union, collect(external.union(a.iterator(), b.iterator()), union.size()));
+        assertEquals(intersection, collect(external.intersect(a.iterator(), b.iterator()), intersection.size()));
+        assertEquals(difference, collect(external.difference(a.iterator(), b.iterator()), difference.size()));
+        assertEquals(new HashSet<>(b), collect(external.difference(b.stream(), Stream.empty()), b.size()));
+    }
+
+    @Test
+    public void givenPartitionsStillOverBudget_onDistinct_repartitionsRecursively() {
+        ExternalCustomSet<Long> external = new ExternalCustomSet<>(ExternalCustomSet.Codec.longs(), 2, directory);
+        List<Long> source = new ArrayList<>();
+        for(long i = 0; i < 5_000; i++) {
+            source.add(i);
+            source.add(i);
+        }
+        assertEquals(LongStream.range(0, 5_000).boxed().collect(Collectors.toSet()), collect(external.distinct(source.iterator()), 5_000));
+    }
+
+    @Test
+    public void givenStreamClosedEarly_onClose_deletesSpillFiles() throws IOException {
+        ExternalCustomSet<Integer> external = new ExternalCustomSet<>(ExternalCustomSet.Codec.integers(), 100, directory);
+        try(Stream<Integer> distinct = external.distinct(IntStream.range(0, 10_000).boxed())) {
+            assertEquals(10, distinct.limit(10).count());
+            assertTrue(spillFileCount() > 0);
+        }
+        assertEquals(0, spillFileCount());
+    }
+
+    private static <T> Set<T> collect(final Stream<T> stream, final int expectedSize) {
+        try(stream) {
+            List<T> items = stream.toList();
+            assertEquals(expectedSize, items.size());
+            return new HashSet<>(items);
+        }
+    }
+
+    private long spillFileCount() throws IOException {
+        try(Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
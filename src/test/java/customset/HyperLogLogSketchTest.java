@@ -0,0 +1,107 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogSketchTest {
+
+    @Test
+    public void onConstructingSketch_withPrecisionOutOfRange_throws_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLogSketch<>(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLogSketch<>(19));
+    }
+
+    @Test
+    public void givenEmptySketch_cardinality_returns_0() {
+        HyperLogLogSketch<Integer> sketch = new HyperLogLogSketch<>();
+        assertTrue(sketch.isEmpty());
+        assertEquals(0L, sketch.cardinality());
+        assertThrows(NullPointerException.class, () -> sketch.add(null));
+    }
+
+    @Test
+    public void givenFewDistinctElements_sparseEstimate_isNearlyExact() {
+        HyperLogLogSketch<String> sketch = new HyperLogLogSketch<>();
+        for(int round = 0; round < 3; round++)
+            IntStream.range(0, 1_000).forEach(i -> sketch.add("user-" + i));
+        assertEquals(1_000.0, sketch.cardinality(), 2.0);
+    }
+
+    @Test
+    public void givenManyDistinctElements_denseEstimate_isWithinThreeStandardErrors() {
+        for(int n : new int[] {10_000, 100_000, 1_000_000}) {
+            HyperLogLogSketch<Integer> sketch = new HyperLogLogSketch<>(12);
+            IntStream.range(0, n).forEach(sketch::add);
+            double error = Math.abs(sketch.cardinality() - n) / (double) n;
+            assertTrue(error < 3 * sketch.relativeStandardError(), "n=" + n + " error=" + error);
+        }
+    }
+
+    @Test
+    public void givenSketchesBuiltOnDifferentThreads_onMerge_estimatesUnion() throws InterruptedException {
+        List<HyperLogLogSketch<Integer>> sketches = List.of(new HyperLogLogSketch<>(), new HyperLogLogSketch<>(), new HyperLogLogSketch<>());
+        Thread[] threads = new Thread[sketches.size()];
+        for(int t = 0; t < threads.length; t++) {
+            int offset = t * 40_000;
+            HyperLogLogSketch<Integer> sketch = sketches.get(t);
+            threads[t] = new Thread(() -> IntStream.range(offset, offset + 60_000).forEach(sketch::add));
+            threads[t].start();
+        }
+        for(Thread thread : threads)
+            thread.join();
+        HyperLogLogSketch<Integer> union = new HyperLogLogSketch<>();
+        sketches.forEach(union::merge);
+        assertEquals(140_000.0, union.cardinality(), 140_000 * 3 * union.relativeStandardError());
+        assertThrows(IllegalArgumentException.class, () -> union.merge(new HyperLogLogSketch<>(10)));
+    }
+
+    @Test
+    public void givenSparseAndDenseSketches_onMerge_matchesSingleSketch() {
+        HyperLogLogSketch<Integer> sparse = new HyperLogLogSketch<>(10, List.of(1, 2, 3));
+        HyperLogLogSketch<Integer> dense = new HyperLogLogSketch<>(10);
+        IntStream.range(100, 20_100).forEach(dense::add);
+        HyperLogLogSketch<Integer> single = new HyperLogLogSketch<>(10, List.of(1, 2, 3));
+        IntStream.range(100, 20_100).forEach(single::add);
+        sparse.merge(dense);
+        assertEquals(single.cardinality(), sparse.cardinality());
+    }
+
+    @Test
+    public void givenTwoSparseSketches_onMergeCrossingSparseLimit_matchesSingleSketch() {
+        for(int n : new int[] {1_000, 2_200, 3_000}) {
+            HyperLogLogSketch<Integer> first = new HyperLogLogSketch<>();
+            HyperLogLogSketch<Integer> second = new HyperLogLogSketch<>();
+            HyperLogLogSketch<Integer> single = new HyperLogLogSketch<>();
+            IntStream.range(0, n).forEach(first::add);
+            IntStream.range(n, 2 * n).forEach(second::add);
+            IntStream.range(0, 2 * n).forEach(single::add);
+            first.merge(second);
+            assertEquals(single.cardinality(), first.cardinality(), "n=" + n);
+        }
+    }
+
+    @Test
+    public void givenSketch_onSerializeAndDeserialize_preservesEstimate() throws IOException {
+        for(int n : new int[] {0, 500, 50_000}) {
+            HyperLogLogSketch<Integer> sketch = new HyperLogLogSketch<>(14, new CustomSet<Integer>());
+            IntStream.range(0, n).forEach(sketch::add);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            sketch.serialize(new DataOutputStream(bytes));
+            HyperLogLogSketch<Integer> copy = HyperLogLogSketch.deserialize(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            assertEquals(sketch.cardinality(), copy.cardinality());
+            assertTrue(bytes.size() <= 16_400);
+        }
+        assertThrows(IOException.class, () -> HyperLogLogSketch.deserialize(new DataInputStream(new ByteArrayInputStream(new byte[8]))));
+    }
+}
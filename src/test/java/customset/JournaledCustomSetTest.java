@@ -0,0 +1,150 @@
+package customset;
+
+import customset.ExternalCustomSet.Codec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournaledCustomSetTest {
+
+    private Path directory;
+    private Path journal;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journaled-custom-set-test");
+        journal = directory.resolve("set.journal");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try(Stream<Path> paths = Files.walk(directory)) {
+            for(Path path : paths.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(path);
+        }
+    }
+
+    @Test
+    public void onConstructing_withInvalidArguments_throws() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new JournaledCustomSet<>(journal, Codec.integers(), 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new JournaledCustomSet<>(journal, Codec.integers(), 1, 1));
+        assertThrows(NullPointerException.class, () -> new JournaledCustomSet<>(journal, null));
+        Files.write(directory.resolve("other"), new byte[]{ 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 });
+        assertThrows(IOException.class, () -> JournaledCustomSet.replay(directory.resolve("other"), Codec.integers()));
+    }
+
+    @Test
+    public void givenChanges_onReplay_returns_equalSet() throws IOException {
+        try(JournaledCustomSet<String> journaled = new JournaledCustomSet<>(journal, Codec.strings())) {
+            journaled.addAll(List.of("a", "b", "c", "d"));
+            journaled.remove("b");
+            journaled.clear();
+            journaled.addAll(List.of("e", "f", "g"));
+            journaled.retainAll(new ArrayList<>(Arrays.asList("e", "g", "z")));
+            journaled.removeAll(List.of("g"));
+            journaled.flush();
+            assertEquals(Set.of("e"), journaled);
+            assertEquals(journaled, JournaledCustomSet.replay(journal, Codec.strings()));
+        }
+    }
+
+    @Test
+    public void givenUnchangedSet_onRepeatedCalls_doesNotGrowJournal() throws IOException {
+        try(JournaledCustomSet<Integer> journaled = new JournaledCustomSet<>(journal, Codec.integers())) {
+            journaled.add(1);
+            journaled.flush();
+            long size = Files.size(journal);
+            assertFalse(journaled.add(1));
+            assertFalse(journaled.remove(2));
+            assertFalse(journaled.removeAll(List.of(3, 4)));
+            journaled.flush();
+            assertEquals(size, Files.size(journal));
+        }
+    }
+
+    @Test
+    public void givenReplica_onReplayFromPosition_appliesOnlyNewRecords() throws IOException {
+        try(JournaledCustomSet<Integer> journaled = new JournaledCustomSet<>(journal, Codec.integers())) {
+            Set<Integer> replica = new HashSet<>();
+            JournaledCustomSet.Position position = JournaledCustomSet.replay(journal, Codec.integers(), replica, JournaledCustomSet.Position.START);
+            assertTrue(replica.isEmpty());
+            for(int i = 0; i < 100; i++)
+                journaled.add(i);
+            journaled.flush();
+            position = JournaledCustomSet.replay(journal, Codec.integers(), replica, position);
+            assertEquals(journaled, replica);
+            assertEquals(Files.size(journal), position.offset());
+            replica.add(-1);
+            for(int i = 0; i < 50; i++)
+                journaled.remove(i);
+            journaled.flush();
+            position = JournaledCustomSet.replay(journal, Codec.integers(), replica, position);
+            assertTrue(replica.remove(-1));
+            assertEquals(journaled, replica);
+            assertEquals(position, JournaledCustomSet.replay(journal, Codec.integers(), replica, position));
+        }
+    }
+
+    @Test
+    public void givenChurn_onCompaction_boundsJournalAndReloadsStaleReplica() throws IOException {
+        try(JournaledCustomSet<Integer> journaled = new JournaledCustomSet<>(journal, Codec.integers(), 1, 2)) {
+            Set<Integer> replica = new HashSet<>();
+            journaled.addAll(List.of(1, 2, 3));
+            JournaledCustomSet.Position position = JournaledCustomSet.replay(journal, Codec.integers(), replica, JournaledCustomSet.Position.START);
+            replica.add(-1);
+            Random random = new Random(38);
+            Set<Integer> expected = new HashSet<>(journaled);
+            for(int i = 0; i < 20_000; i++) {
+                int value = random.nextInt(100);
+                if(random.nextBoolean()) {
+                    journaled.add(value);
+                    expected.add(value);
+                } else {
+                    journaled.remove(value);
+                    expected.remove(value);
+                }
+            }
+            assertEquals(expected, journaled);
+            assertTrue(Files.size(journal) < 2 * 1024 * 9 + 12 + 9);
+            JournaledCustomSet.Position reloaded = JournaledCustomSet.replay(journal, Codec.integers(), replica, position);
+            assertTrue(reloaded.generation() > position.generation());
+            assertEquals(expected, replica);
+            assertFalse(Files.exists(directory.resolve("set.journal.compact")));
+        }
+    }
+
+    @Test
+    public void givenTornRecord_onReopen_truncatesAndKeepsAppending() throws IOException {
+        try(JournaledCustomSet<Integer> journaled = new JournaledCustomSet<>(journal, Codec.integers())) {
+            journaled.addAll(List.of(1, 2, 3));
+            journaled.remove(2);
+        }
+        long size = Files.size(journal);
+        Files.write(journal, new byte[]{ 1, 0, 0 }, StandardOpenOption.APPEND);
+        assertEquals(Set.of(1, 3), JournaledCustomSet.replay(journal, Codec.integers()));
+        try(JournaledCustomSet<Integer> journaled = new JournaledCustomSet<>(journal, Codec.integers())) {
+            assertEquals(Set.of(1, 3), journaled);
+            assertEquals(size, Files.size(journal));
+            journaled.add(4);
+        }
+        assertEquals(Set.of(1, 3, 4), JournaledCustomSet.replay(journal, Codec.integers()));
+    }
+}
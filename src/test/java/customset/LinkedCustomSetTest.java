@@ -0,0 +1,178 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LinkedCustomSetTest {
+
+    @Test
+    public void onConstructingSet_withSizeLessThan_0_throws_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new LinkedCustomSet<>(-1));
+    }
+
+    @Test
+    public void onConstructingSetWithSize_10_and_loadFactorOf_NaN_throws_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new LinkedCustomSet<>(10, Double.NaN));
+    }
+
+    @Test
+    public void onConstructingSet_withCollectionOfNull_throws_NullPointerException() {
+        assertThrows(NullPointerException.class, () -> new LinkedCustomSet<>(null));
+    }
+
+    @Test
+    public void onAddingNull_throws_NullPointerException() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>();
+        assertThrows(NullPointerException.class, () -> linkedSet.add(null));
+    }
+
+    @Test
+    public void onAddingValues_iterationOrder_matchesInsertionOrder() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>(List.of(50, 3, 40, 1, 17));
+        assertArrayEquals(new Object[] {50, 3, 40, 1, 17}, linkedSet.toArray());
+        assertEquals("{50, 3, 40, 1, 17}", linkedSet.toString());
+    }
+
+    @Test
+    public void onAddingDuplicate_iterationOrder_isUnchanged() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>(List.of(1, 2, 3));
+        assertFalse(linkedSet.add(1));
+        assertArrayEquals(new Integer[] {1, 2, 3}, linkedSet.toArray(new Integer[0]));
+    }
+
+    @Test
+    public void onAdding_10_000_values_iterationOrder_survivesExpand() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>();
+        IntStream.range(0, 10_000).map(i -> 10_000 - i).forEach(linkedSet::add);
+        int expected = 10_000;
+        for(int value : linkedSet)
+            assertEquals(expected--, value);
+        assertEquals(0, expected);
+    }
+
+    @Test
+    public void onRemoving_mostValues_iterationOrder_survivesReduce() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>();
+        IntStream.range(0, 1_000).forEach(linkedSet::add);
+        IntStream.range(0, 1_000).filter(i -> i % 100 != 0).forEach(linkedSet::remove);
+        assertEquals(10, linkedSet.size());
+        assertEquals("{0, 100, 200, 300, 400, 500, 600, 700, 800, 900}", linkedSet.toString());
+        assertTrue(linkedSet.contains(500));
+        assertFalse(linkedSet.contains(501));
+    }
+
+    @Test
+    public void givenSetOf_1_to_5_onRetainAll_2_4_keepsRelativeOrder() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>(List.of(5, 4, 3, 2, 1));
+        assertTrue(linkedSet.retainAll(new ArrayList<>(List.of(2, 4))));
+        assertEquals("{4, 2}", linkedSet.toString());
+        assertFalse(linkedSet.retainAll(new ArrayList<>(List.of(2, 4))));
+    }
+
+    @Test
+    public void givenNonEmptySet_onRetainAllWithNullValue_throwsNullPointerException() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>(List.of(1, 2));
+        List<Integer> containsNull = new ArrayList<>(List.of(1));
+        containsNull.add(null);
+        assertThrows(NullPointerException.class, () -> linkedSet.retainAll(containsNull));
+    }
+
+    @Test
+    public void givenSetOf_1_to_5_onRemoveAll_1_5_returnsSetOf_2_3_4() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>(List.of(1, 2, 3, 4, 5));
+        assertTrue(linkedSet.removeAll(List.of(1, 5)));
+        assertFalse(linkedSet.removeAll(List.of(6)));
+        assertEquals("{2, 3, 4}", linkedSet.toString());
+    }
+
+    @Test
+    public void onIteratorRemove_removesElement_andContinuesInOrder() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>();
+        IntStream.range(0, 200).forEach(linkedSet::add);
+        Iterator<Integer> iterator = linkedSet.iterator();
+        while(iterator.hasNext())
+            if(iterator.next() % 2 == 1)
+                iterator.remove();
+        assertEquals(100, linkedSet.size());
+        int expected = 0;
+        for(int value : linkedSet) {
+            assertEquals(expected, value);
+            expected += 2;
+        }
+    }
+
+    @Test
+    public void onIteratorRemove_beforeNext_throws_IllegalStateException() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>(List.of(1));
+        assertThrows(IllegalStateException.class, () -> linkedSet.iterator().remove());
+    }
+
+    @Test
+    public void onModifyingSetDuringIteration_throws_ConcurrentModificationException() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>(List.of(1, 2));
+        Iterator<Integer> iterator = linkedSet.iterator();
+        linkedSet.add(3);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    public void givenEmptySet_onIteratorNext_throws_NoSuchElementException() {
+        assertThrows(NoSuchElementException.class, () -> new LinkedCustomSet<Integer>().iterator().next());
+    }
+
+    @Test
+    public void givenSetOfType_Integer_withValues_1_2_3_onToArray_withIntArrayParameter_withSize_5_returnsCorrectArray() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>(List.of(1, 2, 3));
+        assertArrayEquals(new Integer[] {1, 2, 3, null, null}, linkedSet.toArray(new Integer[5]));
+    }
+
+    @Test
+    public void givenSetsWithSameElementsInDifferentOrder_onEquals_returnsTrue_andHashCodesMatch() {
+        LinkedCustomSet<Integer> a = new LinkedCustomSet<>(List.of(1, 2, 3));
+        LinkedCustomSet<Integer> b = new LinkedCustomSet<>(List.of(3, 2, 1));
+        CustomSet<Integer> c = new CustomSet<>(List.of(1, 2, 3));
+        assertEquals(a, b);
+        assertEquals(a, c);
+        assertEquals(c.hashCode(), a.hashCode());
+        assertNotEquals(a, new LinkedCustomSet<>(List.of(1, 2, 4)));
+    }
+
+    @Test
+    public void givenSet_onClone_returnsEqualSetWithSameOrder() {
+        LinkedCustomSet<String> linkedSet = new LinkedCustomSet<>(List.of("c", "a", "b"));
+        LinkedCustomSet<String> clone = linkedSet.clone();
+        assertEquals(linkedSet, clone);
+        assertEquals("{c, a, b}", clone.toString());
+    }
+
+    @Test
+    public void givenSetWithNegativeHashCodes_onAddAndContains_behavesCorrectly() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>(List.of(Integer.MIN_VALUE, -1, Integer.MAX_VALUE));
+        assertTrue(linkedSet.contains(Integer.MIN_VALUE));
+        assertTrue(linkedSet.remove(Integer.MIN_VALUE));
+        assertEquals(2, linkedSet.size());
+    }
+
+    @Test
+    public void onClear_returnsEmptySet_andAcceptsNewValues() {
+        LinkedCustomSet<Integer> linkedSet = new LinkedCustomSet<>(List.of(1, 2, 3));
+        linkedSet.clear();
+        assertTrue(linkedSet.isEmpty());
+        assertEquals("{}", linkedSet.toString());
+        linkedSet.add(9);
+        assertEquals("{9}", linkedSet.toString());
+    }
+}
@@ -0,0 +1,80 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHashSketchTest {
+
+    @Test
+    public void onConstructingSketch_withKBelow_2_throws_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new MinHashSketch<>(1));
+    }
+
+    @Test
+    public void givenFewerThanKElements_cardinality_isExact() {
+        MinHashSketch<String> sketch = new MinHashSketch<>(64, List.of("a", "b", "c"));
+        assertFalse(sketch.add("a"));
+        assertEquals(3L, sketch.cardinality());
+        assertEquals(0L, new MinHashSketch<>().cardinality());
+    }
+
+    @Test
+    public void givenManyElements_cardinality_isWithinThreeStandardErrors() {
+        MinHashSketch<Integer> sketch = new MinHashSketch<>(1_024);
+        IntStream.range(0, 500_000).forEach(sketch::add);
+        assertEquals(500_000.0, sketch.cardinality(), 500_000 * 3 / Math.sqrt(1_024));
+    }
+
+    @Test
+    public void givenOverlappingSets_jaccard_estimatesSimilarity() {
+        CustomSet<Integer> a = new CustomSet<>();
+        CustomSet<Integer> b = new CustomSet<>();
+        IntStream.range(0, 30_000).forEach(a::add);
+        IntStream.range(10_000, 50_000).forEach(b::add);
+        MinHashSketch<Integer> sketchA = new MinHashSketch<>(2_048, a);
+        MinHashSketch<Integer> sketchB = new MinHashSketch<>(2_048, b);
+        assertEquals(20_000 / 50_000.0, sketchA.jaccard(sketchB), 3 / Math.sqrt(2_048));
+        assertEquals(1.0, sketchA.jaccard(sketchA), 0.0);
+        assertEquals(0.0, sketchA.jaccard(new MinHashSketch<>(2_048, List.of(-1, -2))), 0.01);
+        assertEquals(1.0, new MinHashSketch<Integer>().jaccard(new MinHashSketch<>()), 0.0);
+    }
+
+    @Test
+    public void givenPartialSketches_onMerge_equalSketchOfWholeSet() {
+        MinHashSketch<Integer> whole = new MinHashSketch<>(256);
+        MinHashSketch<Integer> left = new MinHashSketch<>(256);
+        MinHashSketch<Integer> right = new MinHashSketch<>(256);
+        IntStream.range(0, 20_000).forEach(whole::add);
+        IntStream.range(0, 12_000).forEach(left::add);
+        IntStream.range(8_000, 20_000).forEach(right::add);
+        left.merge(right);
+        assertEquals(1.0, left.jaccard(whole), 0.0);
+        assertEquals(whole.cardinality(), left.cardinality());
+        assertThrows(IllegalArgumentException.class, () -> left.merge(new MinHashSketch<>(128)));
+    }
+
+    @Test
+    public void givenSketch_onSerializeAndDeserialize_preservesHashes() throws IOException {
+        MinHashSketch<Integer> sketch = new MinHashSketch<>(128);
+        IntStream.range(0, 10_000).forEach(sketch::add);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketch.serialize(new DataOutputStream(bytes));
+        MinHashSketch<Integer> copy = MinHashSketch.deserialize(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(128, copy.k());
+        assertEquals(1.0, copy.jaccard(sketch), 0.0);
+        assertEquals(sketch.cardinality(), copy.cardinality());
+        assertTrue(bytes.size() == 12 + 128 * 8);
+    }
+}
@@ -0,0 +1,114 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedCustomSetTest {
+
+    @Test
+    public void onConstructingSet_withZeroShards_throws_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedCustomSet<>(0));
+    }
+
+    @Test
+    public void onAddingNull_throws_NullPointerException() {
+        ShardedCustomSet<Integer> shardedSet = new ShardedCustomSet<>();
+        assertThrows(NullPointerException.class, () -> shardedSet.add(null));
+        assertThrows(NullPointerException.class, () -> shardedSet.addAll(new ArrayList<>(Arrays.asList(1, null))));
+    }
+
+    @Test
+    public void givenEmptySet_onAddContainsAndRemove_updatesContents() {
+        ShardedCustomSet<String> shardedSet = new ShardedCustomSet<>(4);
+        assertTrue(shardedSet.isEmpty());
+        assertTrue(shardedSet.add("a"));
+        assertFalse(shardedSet.add("a"));
+        assertTrue(shardedSet.add("b"));
+        assertTrue(shardedSet.contains("b"));
+        assertEquals(2, shardedSet.size());
+        assertTrue(shardedSet.remove("a"));
+        assertFalse(shardedSet.remove("a"));
+        assertEquals("{b}", shardedSet.toString());
+        shardedSet.clear();
+        assertTrue(shardedSet.isEmpty());
+        assertEquals("{}", shardedSet.toString());
+    }
+
+    @Test
+    public void givenLargeBulkOperations_onParallelShards_matchesHashSet() {
+        List<Integer> input = IntStream.range(-50_000, 50_000).boxed().toList();
+        ShardedCustomSet<Integer> shardedSet = new ShardedCustomSet<>(8, input);
+        Set<Integer> hashSet = new HashSet<>(input);
+        assertEquals(hashSet.size(), shardedSet.size());
+        assertEquals(hashSet.hashCode(), shardedSet.hashCode());
+
+        List<Integer> extra = IntStream.range(40_000, 80_000).boxed().toList();
+        assertEquals(hashSet.addAll(extra), shardedSet.addAll(extra));
+        Set<Integer> toRemove = IntStream.range(0, 100_000).filter(i -> i % 3 == 0).boxed().collect(Collectors.toSet());
+        assertEquals(hashSet.removeAll(toRemove), shardedSet.removeAll(toRemove));
+        Set<Integer> toRetain = IntStream.range(-60_000, 60_000).filter(i -> i % 2 == 0).boxed().collect(Collectors.toSet());
+        assertEquals(hashSet.retainAll(toRetain), shardedSet.retainAll(toRetain));
+
+        assertEquals(hashSet, shardedSet);
+        assertEquals(shardedSet, hashSet);
+        assertEquals(hashSet.hashCode(), shardedSet.hashCode());
+        Integer[] array = shardedSet.toArray(new Integer[0]);
+        assertEquals(hashSet.size(), array.length);
+        assertEquals(hashSet, new HashSet<>(List.of(array)));
+    }
+
+    @Test
+    public void givenRandomOperations_onSet_matchesHashSet() {
+        Random random = new Random(11);
+        ShardedCustomSet<Integer> shardedSet = new ShardedCustomSet<>(5);
+        Set<Integer> hashSet = new HashSet<>();
+        for(int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(2_000) - 1_000;
+            if(random.nextInt(3) == 0)
+                assertEquals(hashSet.remove(value), shardedSet.remove(value));
+            else
+                assertEquals(hashSet.add(value), shardedSet.add(value));
+        }
+        assertEquals(hashSet, shardedSet);
+        List<Integer> iterated = new ArrayList<>(shardedSet);
+        assertEquals(hashSet.size(), iterated.size());
+        assertTrue(hashSet.containsAll(iterated));
+    }
+
+    @Test
+    public void givenManyElements_shardStats_reportBalancedIndependentShards() {
+        ShardedCustomSet<Integer> shardedSet = new ShardedCustomSet<>(16, IntStream.range(0, 160_000).boxed().toList());
+        List<ShardedCustomSet.ShardStats> stats = shardedSet.shardStats();
+        assertEquals(16, stats.size());
+        assertEquals(160_000, stats.stream().mapToInt(ShardedCustomSet.ShardStats::size).sum());
+        for(ShardedCustomSet.ShardStats shard : stats) {
+            assertTrue(shard.size() > 8_000 && shard.size() < 12_000);
+            assertTrue(shard.loadFactor() <= 0.75);
+        }
+    }
+
+    @Test
+    public void givenSet_onClone_returnsEqualIndependentCopy() {
+        ShardedCustomSet<Integer> shardedSet = new ShardedCustomSet<>(3, List.of(1, 2, 3));
+        ShardedCustomSet<Integer> clone = shardedSet.clone();
+        assertEquals(shardedSet, clone);
+        assertEquals(3, clone.shardCount());
+        clone.add(4);
+        assertFalse(shardedSet.contains(4));
+        assertArrayEquals(new Object[0], new ShardedCustomSet<>().toArray());
+    }
+}
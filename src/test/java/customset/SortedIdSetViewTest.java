@@ -0,0 +1,159 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortedIdSetViewTest {
+
+    @Test
+    public void onInvalidArguments_throws() {
+        assertThrows(IllegalArgumentException.class, () -> SortedIdSetView.ofInts(new int[] { 1, 3, 2 }));
+        assertThrows(IllegalArgumentException.class, () -> SortedIdSetView.ofLongs(new long[] { 1, 1 }));
+        assertThrows(NullPointerException.class, () -> SortedIdSetView.ofInts((int[]) null));
+        assertThrows(NullPointerException.class, () -> SortedIdSetView.ofInts(new int[] { 1 }).contains(null));
+    }
+
+    @Test
+    public void givenView_onMutators_throws_UnsupportedOperationException() {
+        SortedIdSetView<Integer> view = SortedIdSetView.ofInts(new int[] { 1, 2 });
+        assertThrows(UnsupportedOperationException.class, () -> view.add(3));
+        assertThrows(UnsupportedOperationException.class, () -> view.addAll(List.of(3)));
+        assertThrows(UnsupportedOperationException.class, view::clear);
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(1));
+        assertThrows(UnsupportedOperationException.class, () -> view.removeAll(List.of(1)));
+        assertThrows(UnsupportedOperationException.class, () -> view.retainAll(List.of(1)));
+        assertThrows(UnsupportedOperationException.class, () -> view.iterator().remove());
+    }
+
+    @Test
+    public void givenSortedArray_onContains_findsEveryIdWithoutCopying() {
+        int[] ids = { Integer.MIN_VALUE, -7, 0, 3, 4, 100, Integer.MAX_VALUE };
+        SortedIdSetView<Integer> view = SortedIdSetView.ofInts(ids);
+        for(int id : ids)
+            assertTrue(view.contains(id));
+        for(int id : new int[] { Integer.MIN_VALUE + 1, -8, -1, 1, 5, 99, Integer.MAX_VALUE - 1 })
+            assertFalse(view.contains(id));
+        assertFalse(view.contains(3L));
+        assertFalse(view.contains("3"));
+        assertEquals(7, view.size());
+        assertEquals("{-2147483648, -7, 0, 3, 4, 100, 2147483647}", view.toString());
+        ids[3] = 2;
+        assertTrue(view.contains(2));
+        assertFalse(view.contains(3));
+        assertTrue(SortedIdSetView.ofInts(new int[0]).isEmpty());
+        assertFalse(SortedIdSetView.ofInts(new int[0]).contains(0));
+    }
+
+    @Test
+    public void givenBuffers_onViews_readInPlaceAndMatchHashSet() {
+        long[] ids = { Long.MIN_VALUE, -1, 5, 1L << 40, Long.MAX_VALUE };
+        ByteBuffer direct = ByteBuffer.allocateDirect(8 * (ids.length + 1)).order(ByteOrder.LITTLE_ENDIAN);
+        direct.putLong(-99);
+        for(long id : ids)
+            direct.putLong(id);
+        direct.position(8);
+        SortedIdSetView<Long> view = SortedIdSetView.ofLongs(direct);
+        assertEquals(8, direct.position());
+        Set<Long> expected = new HashSet<>(List.of(Long.MIN_VALUE, -1L, 5L, 1L << 40, Long.MAX_VALUE));
+        assertEquals(expected, view);
+        assertEquals(view, expected);
+        assertEquals(expected.hashCode(), view.hashCode());
+        assertEquals(new ArrayList<>(new TreeSet<>(expected)), new ArrayList<>(view));
+        assertArrayEquals(new TreeSet<>(expected).toArray(new Long[0]), view.toArray(new Long[0]));
+        assertFalse(view.contains(-99L));
+        assertEquals(view, SortedIdSetView.ofLongs(LongBuffer.wrap(ids)));
+        IntBuffer ints = IntBuffer.wrap(new int[] { 9, 1, 2, 3 });
+        ints.position(1);
+        SortedIdSetView<Integer> intView = SortedIdSetView.ofInts(ints);
+        assertEquals(Set.of(1, 2, 3), intView);
+        assertTrue(intView.containsAll(SortedIdSetView.ofInts(new int[] { 1, 3 })));
+        assertFalse(intView.containsAll(SortedIdSetView.ofInts(new int[] { 1, 4 })));
+        assertNotEquals(intView, SortedIdSetView.ofLongs(new long[] { 1, 2, 3 }));
+    }
+
+    @Test
+    public void givenSharedView_onConcurrentHashCode_returnsSetHashOnEveryThread() throws InterruptedException {
+        SortedIdSetView<Integer> zero = SortedIdSetView.ofInts(new int[] { -1, 1 });
+        assertEquals(0, zero.hashCode());
+        assertEquals(0, zero.hashCode());
+        for(int round = 0; round < 100; round++) {
+            SortedIdSetView<Integer> view = SortedIdSetView.ofInts(IntStream.range(0, 1_000).toArray());
+            CustomSet<Integer> customSet = new CustomSet<>(new HashSet<>(view));
+            boolean[] equal = new boolean[4];
+            Thread[] readers = new Thread[equal.length];
+            for(int t = 0; t < readers.length; t++) {
+                int reader = t;
+                readers[t] = new Thread(() -> equal[reader] = view.hashCode() == 499_500 && customSet.equals(view));
+                readers[t].start();
+            }
+            for(Thread reader : readers)
+                reader.join();
+            for(boolean result : equal)
+                assertTrue(result);
+        }
+    }
+
+    @Test
+    public void givenRandomViews_onCustomSetBulkOperations_matchesGenericPath() {
+        Random random = new Random(43);
+        for(int round = 0; round < 200; round++) {
+            int[] ids = random.ints(random.nextInt(300), -500, 500).sorted().distinct().toArray();
+            SortedIdSetView<Integer> view = SortedIdSetView.ofInts(ids);
+            Set<Integer> copy = new HashSet<>(view);
+            CustomSet<Integer> customSet = new CustomSet<>();
+            for(int i = random.nextInt(300); i > 0; i--)
+                customSet.add(random.nextInt(1_000) - 500);
+            if(round % 4 == 0)
+                customSet.addAll(copy);
+            Set<Integer> expected = new HashSet<>(customSet);
+            assertEquals(expected.containsAll(copy), customSet.containsAll(view));
+            assertEquals(expected.equals(copy), customSet.equals(view));
+            assertEquals(expected.equals(copy), view.equals(customSet));
+            assertEquals(expected.retainAll(copy), customSet.retainAll(view));
+            assertEquals(expected, customSet);
+            assertEquals(expected.hashCode(), customSet.hashCode());
+        }
+    }
+
+    @Test
+    public void givenSmallViewOfLargeSet_onCustomSetBulkOperations_looksUpEachId() {
+        CustomSet<Integer> customSet = new CustomSet<>();
+        for(int i = 0; i < 100_000; i++)
+            customSet.add(i);
+        assertTrue(customSet.containsAll(SortedIdSetView.ofInts(new int[] { 14 })));
+        assertFalse(customSet.containsAll(SortedIdSetView.ofInts(new int[] { 14, 100_000 })));
+        assertFalse(customSet.containsAll(SortedIdSetView.ofLongs(new long[] { 14 })));
+        assertTrue(customSet.retainAll(SortedIdSetView.ofInts(new int[] { -1, 7, 14 })));
+        assertEquals(Set.of(7, 14), customSet);
+        assertEquals(SortedIdSetView.ofInts(new int[] { 7, 14 }), customSet);
+    }
+
+    @Test
+    public void givenMatchingIds_onCustomSetEquals_comparesByElementType() {
+        CustomSet<Integer> customSet = new CustomSet<>(List.of(1, 2, 3));
+        assertEquals(customSet, SortedIdSetView.ofInts(new int[] { 1, 2, 3 }));
+        assertEquals(SortedIdSetView.ofInts(new int[] { 1, 2, 3 }), customSet);
+        assertNotEquals(customSet, SortedIdSetView.ofLongs(new long[] { 1, 2, 3 }));
+        assertFalse(customSet.containsAll(SortedIdSetView.ofLongs(new long[] { 1 })));
+        assertTrue(customSet.retainAll(SortedIdSetView.ofLongs(new long[] { 1, 2, 3 })));
+        assertTrue(customSet.isEmpty());
+    }
+}
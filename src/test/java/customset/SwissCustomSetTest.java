@@ -0,0 +1,142 @@
+package customset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SwissCustomSetTest {
+
+    @Test
+    public void onConstructing_withNegativeCapacity_throws_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new SwissCustomSet<>(-1));
+    }
+
+    @Test
+    public void onNullArguments_throws_NullPointerException() {
+        SwissCustomSet<Integer> swissSet = new SwissCustomSet<>();
+        assertThrows(NullPointerException.class, () -> swissSet.add(null));
+        assertThrows(NullPointerException.class, () -> swissSet.contains(null));
+        assertThrows(NullPointerException.class, () -> swissSet.remove(null));
+        assertThrows(NullPointerException.class, () -> swissSet.addAll(new ArrayList<>(Arrays.asList(1, null))));
+    }
+
+    @Test
+    public void givenEmptySet_onAddContainsAndRemove_updatesContents() {
+        SwissCustomSet<String> swissSet = new SwissCustomSet<>();
+        assertTrue(swissSet.isEmpty());
+        assertTrue(swissSet.add("a"));
+        assertFalse(swissSet.add("a"));
+        assertTrue(swissSet.add("b"));
+        assertTrue(swissSet.contains("a"));
+        assertFalse(swissSet.contains("c"));
+        assertEquals(2, swissSet.size());
+        assertEquals(Set.of("a", "b"), swissSet);
+        assertEquals(Set.of("a", "b").hashCode(), swissSet.hashCode());
+        assertTrue(swissSet.remove("a"));
+        assertFalse(swissSet.remove("a"));
+        assertEquals("{b}", swissSet.toString());
+        swissSet.clear();
+        assertEquals("{}", swissSet.toString());
+        assertEquals(0, swissSet.hashCode());
+    }
+
+    @Test
+    public void givenRandomOperations_onComparingWithHashSet_matches() {
+        SwissCustomSet<Integer> swissSet = new SwissCustomSet<>();
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(39);
+        for(int i = 0; i < 200_000; i++) {
+            int value = random.nextInt(5_000) - 2_500;
+            if(i % 50_000 == 0)
+                value = Integer.MIN_VALUE;
+            switch(random.nextInt(3)) {
+                case 0 -> assertEquals(expected.add(value), swissSet.add(value));
+                case 1 -> assertEquals(expected.remove(value), swissSet.remove(value));
+                default -> assertEquals(expected.contains(value), swissSet.contains(value));
+            }
+            assertEquals(expected.size(), swissSet.size());
+        }
+        assertEquals(expected, swissSet);
+        assertEquals(swissSet, expected);
+        assertEquals(expected.hashCode(), swissSet.hashCode());
+        assertEquals(expected.size(), swissSet.toArray().length);
+        assertTrue(swissSet.retainAll(new ArrayList<>(List.of(1, 2, 3, 4_000))));
+        expected.retainAll(List.of(1, 2, 3));
+        assertEquals(expected, swissSet);
+    }
+
+    @Test
+    public void givenCollidingHashes_onAddAndRemove_keepsEveryElementReachable() {
+        record Collider(int id) {
+            public int hashCode() {
+                return 7;
+            }
+        }
+        SwissCustomSet<Collider> swissSet = new SwissCustomSet<>();
+        for(int i = 0; i < 500; i++)
+            assertTrue(swissSet.add(new Collider(i)));
+        for(int i = 0; i < 500; i += 2)
+            assertTrue(swissSet.remove(new Collider(i)));
+        for(int i = 0; i < 500; i++)
+            assertEquals(i % 2 == 1, swissSet.contains(new Collider(i)));
+        for(int i = 0; i < 500; i += 2)
+            assertTrue(swissSet.add(new Collider(i)));
+        assertEquals(500, swissSet.size());
+    }
+
+    @Test
+    public void givenChurn_onManyAddRemoveCycles_doesNotGrowTable() {
+        SwissCustomSet<Integer> swissSet = new SwissCustomSet<>(1_000);
+        for(int i = 0; i < 1_000; i++)
+            swissSet.add(i);
+        int capacity = swissSet.capacity();
+        for(int i = 1_000; i < 200_000; i++) {
+            assertTrue(swissSet.remove(i - 1_000));
+            assertTrue(swissSet.add(i));
+        }
+        assertEquals(1_000, swissSet.size());
+        assertEquals(capacity, swissSet.capacity());
+        for(int i = 199_000; i < 200_000; i++)
+            assertTrue(swissSet.contains(i));
+    }
+
+    @Test
+    public void givenControlBytes_onSwarMatcher_agreesWithByteComparison() {
+        GroupMatcher matcher = new GroupMatcher.Swar();
+        Random random = new Random(16);
+        byte[] control = new byte[GroupMatcher.GROUP * 2];
+        for(int round = 0; round < 10_000; round++) {
+            for(int i = 0; i < control.length; i++) {
+                int kind = random.nextInt(4);
+                control[i] = kind == 0 ? GroupMatcher.EMPTY : kind == 1 ? GroupMatcher.DELETED : (byte) random.nextInt(4);
+            }
+            int offset = random.nextBoolean() ? 0 : GroupMatcher.GROUP;
+            byte h2 = (byte) random.nextInt(4);
+            int exact = 0;
+            int empty = 0;
+            int free = 0;
+            for(int i = 0; i < GroupMatcher.GROUP; i++) {
+                if(control[offset + i] == h2)
+                    exact |= 1 << i;
+                if(control[offset + i] == GroupMatcher.EMPTY)
+                    empty |= 1 << i;
+                if(control[offset + i] < 0)
+                    free |= 1 << i;
+            }
+            int match = matcher.match(control, offset, h2);
+            assertEquals(exact, match & exact);
+            assertEquals(empty != 0, matcher.hasEmpty(control, offset));
+            assertEquals(free, matcher.matchFree(control, offset));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package customset;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link GroupMatcher} comparing a whole group of control bytes in one 128-bit vector operation. Only compiled with
+ * {@code -PvectorApi}, and only used when {@code jdk.incubator.vector} is added to the running JVM; all results are exact.
+ */
+final class VectorGroupMatcher implements GroupMatcher {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_128;
+
+    public boolean hasEmpty(final byte[] control, final int offset) {
+        return ByteVector.fromArray(SPECIES, control, offset).eq(EMPTY).anyTrue();
+    }
+
+    public int match(final byte[] control, final int offset, final byte h2) {
+        return (int) ByteVector.fromArray(SPECIES, control, offset).eq(h2).toLong();
+    }
+
+    public int matchFree(final byte[] control, final int offset) {
+        return (int) ByteVector.fromArray(SPECIES, control, offset).compare(VectorOperators.LT, (byte) 0).toLong();
+    }
+}